@@ -0,0 +1,50 @@
+package graph.bench;
+
+import graph.gen.GeneratorSpec;
+import graph.gen.GraphGenerator;
+import graph.model.GraphData;
+import graph.model.GraphLoader;
+import graph.model.WeightedDirectedGraph;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Resolves benchmark graph parameters. {@code random-N} generates N vertices with
+ * {@link GeneratorSpec#defaults}; any other value names a dataset in {@code data/} without the
+ * {@code .json} suffix.
+ */
+final class BenchmarkGraphs {
+    static final String RANDOM_PREFIX = "random-";
+
+    private BenchmarkGraphs() {
+    }
+
+    static GraphData load(String spec) throws IOException {
+        if (spec.startsWith(RANDOM_PREFIX)) {
+            GeneratorSpec generator = generatorSpec(spec);
+            WeightedDirectedGraph graph = GraphGenerator.generateGraph(generator);
+            return new GraphData(graph, GraphGenerator.suggestedSource(generator), "edge", graph.freeze().edges());
+        }
+        return GraphLoader.load(Path.of("data", spec + ".json"));
+    }
+
+    /**
+     * Returns a JSON file for the parameter, writing generated graphs to a temporary file.
+     */
+    static Path jsonFile(String spec) throws IOException {
+        if (!spec.startsWith(RANDOM_PREFIX)) {
+            return Path.of("data", spec + ".json");
+        }
+        Path file = Files.createTempFile("bench-" + spec, ".json");
+        file.toFile().deleteOnExit();
+        GraphGenerator.writeJson(generatorSpec(spec), file);
+        return file;
+    }
+
+    private static GeneratorSpec generatorSpec(String spec) {
+        int vertices = Integer.parseInt(spec.substring(RANDOM_PREFIX.length()));
+        return GeneratorSpec.defaults(vertices, vertices);
+    }
+}
@@ -0,0 +1,186 @@
+package graph.bench;
+
+import graph.dagsp.DagShortestPath;
+import graph.dagsp.MultiSourceShortestPaths;
+import graph.dagsp.PathWorkspace;
+import graph.dagsp.PointToPointShortestPath;
+import graph.dagsp.SlackAnalysis;
+import graph.dagsp.WavefrontDagPaths;
+import graph.metrics.NoopMetrics;
+import graph.model.CsrGraph;
+import graph.scc.SCCResult;
+import graph.scc.StronglyConnectedComponents;
+import graph.topo.Dag;
+import graph.topo.ParallelTopologicalSorter;
+import graph.topo.ReachabilityIndex;
+import graph.topo.TopologicalLayers;
+import graph.topo.TopologicalSorter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class DagShortestPathBenchmark {
+    private static final int BATCH = 64;
+
+    @Param({"small-1", "medium-3", "large-3", "random-1000", "random-10000", "random-100000", "random-1000000", "random-10000000"})
+    public String graph;
+
+    private CsrGraph condensation;
+    private int[] order;
+    private int source;
+    private int[] batchSources;
+    private TopologicalLayers layers;
+    private PathWorkspace workspace;
+    private Dag dag;
+    private PointToPointShortestPath pointToPoint;
+    private int[] reachablePairs;
+    private int[] unreachablePairs;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        var data = BenchmarkGraphs.load(graph);
+        SCCResult scc = StronglyConnectedComponents.compute(data.graph(), NoopMetrics.INSTANCE);
+        condensation = scc.condensationGraph().freeze();
+        order = TopologicalSorter.order(condensation, NoopMetrics.INSTANCE);
+        source = scc.componentOf()[data.source()];
+        layers = ParallelTopologicalSorter.layers(condensation, NoopMetrics.INSTANCE);
+        workspace = new PathWorkspace(condensation.vertexCount());
+        dag = new Dag(condensation);
+        dag.indegrees();
+        dag.topologicalOrder();
+        batchSources = new int[Math.min(BATCH, order.length)];
+        for (int i = 0; i < batchSources.length; i++) {
+            batchSources[i] = order[(int) ((long) i * order.length / batchSources.length)];
+        }
+        pointToPoint = new PointToPointShortestPath(dag, ReachabilityIndex.of(dag), NoopMetrics.INSTANCE);
+        choosePairs();
+    }
+
+    /**
+     * One reachable target per batch source, picked at random among the vertices it reaches, and as
+     * many random pairs the index proves unreachable.
+     */
+    private void choosePairs() {
+        SplittableRandom random = new SplittableRandom(42);
+        int n = order.length;
+        reachablePairs = new int[2 * batchSources.length];
+        for (int i = 0; i < batchSources.length; i++) {
+            workspace.shortestPaths(condensation, batchSources[i], order, NoopMetrics.INSTANCE);
+            int target = batchSources[i];
+            for (int attempt = 0; attempt < 64; attempt++) {
+                int candidate = random.nextInt(n);
+                if (workspace.distance(candidate) != Double.POSITIVE_INFINITY) {
+                    target = candidate;
+                    break;
+                }
+            }
+            reachablePairs[2 * i] = batchSources[i];
+            reachablePairs[2 * i + 1] = target;
+        }
+        unreachablePairs = new int[2 * batchSources.length];
+        ReachabilityIndex index = pointToPoint.index();
+        for (int i = 0, attempt = 0; i < batchSources.length; attempt++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            if (!index.reaches(u, v) || attempt > 64 * BATCH) {
+                unreachablePairs[2 * i] = u;
+                unreachablePairs[2 * i + 1] = v;
+                i++;
+            }
+        }
+    }
+
+    @Benchmark
+    public DagShortestPath.ShortestPathResult shortestPaths() {
+        return DagShortestPath.shortestPaths(condensation, source, order, NoopMetrics.INSTANCE);
+    }
+
+    @Benchmark
+    public double workspaceShortestPaths() {
+        workspace.shortestPaths(condensation, source, order, NoopMetrics.INSTANCE);
+        return workspace.distance(order[order.length - 1]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public double pointToPointReachable() {
+        return pointToPointBatch(reachablePairs);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public double pointToPointUnreachable() {
+        return pointToPointBatch(unreachablePairs);
+    }
+
+    private double pointToPointBatch(int[] pairs) {
+        double sum = 0;
+        for (int i = 0; i < pairs.length; i += 2) {
+            sum += pointToPoint.distance(pairs[i], pairs[i + 1]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double[] singleSourceBatch() {
+        double[] last = null;
+        for (int batchSource : batchSources) {
+            last = DagShortestPath.shortestPaths(condensation, batchSource, order, NoopMetrics.INSTANCE).distances();
+        }
+        return last;
+    }
+
+    @Benchmark
+    public MultiSourceShortestPaths.DistanceMatrix multiSourceBatch() {
+        return MultiSourceShortestPaths.shortestPaths(condensation, batchSources, order, NoopMetrics.INSTANCE);
+    }
+
+    @Benchmark
+    public SlackAnalysis slackAnalysis() {
+        return SlackAnalysis.compute(condensation, order, NoopMetrics.INSTANCE);
+    }
+
+    /**
+     * Earliest/latest pass, sidetrack heap construction and 1000 ranked paths (lengths only).
+     */
+    @Benchmark
+    public SlackAnalysis.RankedPaths longestThousandPaths() {
+        return SlackAnalysis.compute(condensation, order, NoopMetrics.INSTANCE).longestPaths(1_000, NoopMetrics.INSTANCE);
+    }
+
+    @Benchmark
+    public DagShortestPath.CriticalPathResult wavefrontLongestPath() {
+        return WavefrontDagPaths.longestPath(condensation, layers, NoopMetrics.INSTANCE);
+    }
+
+    @Benchmark
+    public DagShortestPath.CriticalPathResult longestPath() {
+        return DagShortestPath.longestPath(condensation, order, NoopMetrics.INSTANCE);
+    }
+
+    @Benchmark
+    public double workspaceLongestPath() {
+        return workspace.longestPaths(condensation, order, NoopMetrics.INSTANCE);
+    }
+
+    /**
+     * Repeat query without a cached {@link Dag}: sort, count in-degrees and run the DP every time.
+     */
+    @Benchmark
+    public DagShortestPath.CriticalPathResult repeatLongestPathUncached() {
+        return DagShortestPath.longestPath(condensation, TopologicalSorter.order(condensation, NoopMetrics.INSTANCE), NoopMetrics.INSTANCE);
+    }
+
+    @Benchmark
+    public DagShortestPath.CriticalPathResult repeatLongestPathCachedDag() {
+        return DagShortestPath.longestPath(dag, NoopMetrics.INSTANCE);
+    }
+}
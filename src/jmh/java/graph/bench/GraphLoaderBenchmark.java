@@ -0,0 +1,32 @@
+package graph.bench;
+
+import graph.model.GraphData;
+import graph.model.GraphLoader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class GraphLoaderBenchmark {
+    @Param({"small-1", "medium-3", "large-3", "random-1000", "random-10000", "random-100000", "random-1000000"})
+    public String graph;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = BenchmarkGraphs.jsonFile(graph);
+    }
+
+    @Benchmark
+    public GraphData load() throws IOException {
+        return GraphLoader.load(file);
+    }
+}
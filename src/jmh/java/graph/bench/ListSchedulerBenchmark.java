@@ -0,0 +1,48 @@
+package graph.bench;
+
+import graph.metrics.NoopMetrics;
+import graph.scc.SCCResult;
+import graph.scc.StronglyConnectedComponents;
+import graph.schedule.ListScheduler;
+import graph.schedule.Schedule;
+import graph.topo.Dag;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ListSchedulerBenchmark {
+    @Param({"large-3", "random-10000", "random-100000", "random-1000000", "random-10000000"})
+    public String graph;
+
+    @Param({"8", "64"})
+    public int workers;
+
+    private Dag condensation;
+    private double[] duration;
+
+    /**
+     * Tasks are components of the condensation, each as long as it has members.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SCCResult scc = StronglyConnectedComponents.compute(BenchmarkGraphs.load(graph).graph(), NoopMetrics.INSTANCE);
+        condensation = Dag.of(scc);
+        condensation.topologicalOrder();
+        duration = new double[condensation.vertexCount()];
+        for (int c = 0; c < duration.length; c++) {
+            duration[c] = scc.componentSize(c);
+        }
+    }
+
+    @Benchmark
+    public Schedule schedule() {
+        return ListScheduler.schedule(condensation, duration, workers, NoopMetrics.INSTANCE);
+    }
+}
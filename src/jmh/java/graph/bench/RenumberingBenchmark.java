@@ -0,0 +1,88 @@
+package graph.bench;
+
+import graph.dagsp.DagShortestPath;
+import graph.dagsp.DagShortestPath.ShortestPathResult;
+import graph.metrics.NoopMetrics;
+import graph.model.CsrGraph;
+import graph.model.GraphData;
+import graph.model.VertexRenumbering;
+import graph.scc.SCCResult;
+import graph.scc.StronglyConnectedComponents;
+import graph.topo.Dag;
+import graph.topo.TopologicalSorter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tarjan SCC and the condensation shortest-path DP on the same graphs under different vertex
+ * layouts. Generated graphs have shuffled ids, so {@code original} is the arbitrary-export case;
+ * {@code topological} lists components in topological order with their members contiguous, and
+ * the condensation in topological order. Run with {@code -prof perfnorm} on a host with hardware
+ * counters to see cache misses per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class RenumberingBenchmark {
+    @Param({"random-100000", "random-1000000", "random-10000000"})
+    public String graph;
+
+    @Param({"original", "bfs", "rcm", "topological"})
+    public String layout;
+
+    private CsrGraph csr;
+    private Dag condensation;
+    private int source;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        GraphData data = BenchmarkGraphs.load(graph);
+        CsrGraph original = data.graph().freeze();
+        SCCResult scc = StronglyConnectedComponents.canonical(original, StronglyConnectedComponents.compute(original, NoopMetrics.INSTANCE));
+        CsrGraph components = scc.condensationGraph().freeze();
+        int sourceComponent = scc.componentOf()[data.source()];
+        if (layout.equals("original")) {
+            csr = original;
+            condensation = new Dag(components);
+            source = sourceComponent;
+            return;
+        }
+        VertexRenumbering vertices;
+        VertexRenumbering dag;
+        switch (layout) {
+            case "bfs" -> {
+                vertices = VertexRenumbering.breadthFirst(original);
+                dag = VertexRenumbering.breadthFirst(components);
+            }
+            case "rcm" -> {
+                vertices = VertexRenumbering.reverseCuthillMcKee(original);
+                dag = VertexRenumbering.reverseCuthillMcKee(components);
+            }
+            case "topological" -> {
+                int[] order = TopologicalSorter.order(components, NoopMetrics.INSTANCE);
+                vertices = VertexRenumbering.of(original, TopologicalSorter.expandOrder(order, scc));
+                dag = VertexRenumbering.of(components, order);
+            }
+            default -> throw new IllegalArgumentException("Unknown layout " + layout);
+        }
+        csr = vertices.graph();
+        condensation = new Dag(dag.graph());
+        condensation.topologicalOrder();
+        source = dag.toNew(sourceComponent);
+    }
+
+    @Benchmark
+    public SCCResult tarjan() {
+        return StronglyConnectedComponents.compute(csr, NoopMetrics.INSTANCE);
+    }
+
+    @Benchmark
+    public ShortestPathResult condensationShortestPaths() {
+        return DagShortestPath.shortestPaths(condensation, source, NoopMetrics.INSTANCE);
+    }
+}
@@ -0,0 +1,39 @@
+package graph.bench;
+
+import graph.metrics.NoopMetrics;
+import graph.model.CsrGraph;
+import graph.scc.SCCEngine;
+import graph.scc.SCCResult;
+import graph.scc.StronglyConnectedComponents;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SccBenchmark {
+    @Param({"small-1", "medium-3", "large-3", "random-1000", "random-10000", "random-100000", "random-1000000", "random-10000000"})
+    public String graph;
+
+    private CsrGraph csr;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        csr = BenchmarkGraphs.load(graph).graph().freeze();
+    }
+
+    @Benchmark
+    public SCCResult tarjan() {
+        return StronglyConnectedComponents.compute(csr, NoopMetrics.INSTANCE);
+    }
+
+    @Benchmark
+    public SCCResult forwardBackward() {
+        return StronglyConnectedComponents.compute(csr, NoopMetrics.INSTANCE, SCCEngine.FORWARD_BACKWARD);
+    }
+}
@@ -0,0 +1,47 @@
+package graph.bench;
+
+import graph.metrics.NoopMetrics;
+import graph.model.WeightedDirectedGraph;
+import graph.scc.StronglyConnectedComponents;
+import graph.topo.ParallelTopologicalSorter;
+import graph.topo.TopologicalLayers;
+import graph.topo.TopologicalSorter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class TopologicalSortBenchmark {
+    @Param({"small-1", "medium-3", "large-3", "random-1000", "random-10000", "random-100000", "random-1000000", "random-10000000"})
+    public String graph;
+
+    private WeightedDirectedGraph condensation;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        condensation = StronglyConnectedComponents.compute(BenchmarkGraphs.load(graph).graph(), NoopMetrics.INSTANCE).condensationGraph();
+        condensation.freeze();
+    }
+
+    @Benchmark
+    public int[] order() {
+        return TopologicalSorter.order(condensation.freeze(), NoopMetrics.INSTANCE);
+    }
+
+    @Benchmark
+    public TopologicalLayers parallelLayers() {
+        return ParallelTopologicalSorter.layers(condensation.freeze(), NoopMetrics.INSTANCE);
+    }
+
+    @Benchmark
+    public List<Integer> sortBoxed() {
+        return TopologicalSorter.sort(condensation, NoopMetrics.INSTANCE);
+    }
+}
@@ -7,14 +7,19 @@ import graph.metrics.BasicMetrics;
 import graph.metrics.Metrics;
 import graph.model.GraphData;
 import graph.model.GraphLoader;
-import graph.model.WeightedDirectedGraph;
+import graph.scc.CondensationBuilder;
+import graph.scc.EdgeMergePolicy;
 import graph.scc.SCCResult;
 import graph.scc.StronglyConnectedComponents;
+import graph.topo.Dag;
 import graph.topo.TopologicalSorter;
 
 import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -24,8 +29,15 @@ public final class App {
     private App() {
     }
 
-    public static void main(String[] args) throws IOException {
-        Path dataDirectory = Path.of("data");
+    /**
+     * Usage: {@code App [data directory]} prints a detailed analysis per dataset;
+     * {@code App --batch [data directory] [report directory] [workers] [loaders]} runs
+     * {@link BatchAnalysis} and writes {@code batch-report.json} and {@code batch-report.csv}.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        boolean batch = args.length > 0 && args[0].equals("--batch");
+        int directoryArg = batch ? 1 : 0;
+        Path dataDirectory = Path.of(args.length > directoryArg ? args[directoryArg] : "data");
         if (!Files.isDirectory(dataDirectory)) {
             System.err.println("Data directory not found: " + dataDirectory.toAbsolutePath());
             return;
@@ -45,52 +57,81 @@ public final class App {
             return;
         }
 
+        if (batch) {
+            runBatch(datasets, args);
+            return;
+        }
         for (Path datasetPath : datasets) {
-            System.out.println("==================================================");
-            System.out.println("Dataset: " + datasetPath.getFileName());
-            System.out.println("Path: " + datasetPath.toAbsolutePath());
-            System.out.println("==================================================");
-            analyzeDataset(datasetPath);
-            System.out.println();
+            StringWriter buffer = new StringWriter();
+            PrintWriter out = new PrintWriter(buffer);
+            out.println("==================================================");
+            out.println("Dataset: " + datasetPath.getFileName());
+            out.println("Path: " + datasetPath.toAbsolutePath());
+            out.println("==================================================");
+            analyzeDataset(datasetPath, out);
+            out.println();
+            out.flush();
+            System.out.print(buffer);
         }
     }
 
-    private static void analyzeDataset(Path datasetPath) throws IOException {
+    private static void runBatch(List<Path> datasets, String[] args) throws IOException, InterruptedException {
+        Path reportDirectory = Path.of(args.length > 2 ? args[2] : "reports");
+        int workers = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        int loaders = args.length > 4 ? Integer.parseInt(args[4]) : 2 * workers;
+        BatchAnalysis.Summary summary = BatchAnalysis.run(datasets, loaders, workers, 2 * workers);
+        Files.createDirectories(reportDirectory);
+        Path json = reportDirectory.resolve("batch-report.json");
+        Path csv = reportDirectory.resolve("batch-report.csv");
+        BatchAnalysis.writeJson(summary, json);
+        BatchAnalysis.writeCsv(summary, csv);
+        System.out.printf("Analyzed %d datasets (%d failed, %d edges) in %.1f ms with %d workers and %d loaders: "
+                        + "%.1f datasets/s, %.0f edges/s%nReports: %s, %s%n",
+                summary.datasets().size(), summary.failedCount(), summary.edgeCount(), summary.wallNanos() / 1e6,
+                workers, loaders, summary.datasetsPerSecond(), summary.edgesPerSecond(), json, csv);
+    }
+
+    private static void analyzeDataset(Path datasetPath, PrintWriter out) throws IOException {
         GraphData data = GraphLoader.load(datasetPath);
         Metrics metrics = new BasicMetrics();
 
-        System.out.println("Loaded graph with " + data.graph().vertexCount() + " vertices and " + data.edges().size() + " edges.");
-        System.out.println("Source vertex for shortest paths: " + data.source());
-        System.out.println("Weight model: " + data.weightModel());
+        out.println("Loaded graph with " + data.graph().vertexCount() + " vertices and " + data.edges().size() + " edges.");
+        out.println("Source vertex for shortest paths: " + data.source());
+        out.println("Weight model: " + data.weightModel());
 
         SCCResult sccResult = StronglyConnectedComponents.compute(data.graph(), metrics);
-        System.out.println("\nStrongly connected components (" + sccResult.components().size() + "):");
-        for (int i = 0; i < sccResult.components().size(); i++) {
-            List<Integer> component = sccResult.components().get(i);
-            System.out.println("Component " + i + " (size=" + component.size() + "): " + component);
+        out.println("\nStrongly connected components (" + sccResult.componentCount() + "):");
+        for (int i = 0; i < sccResult.componentCount(); i++) {
+            List<Integer> component = sccResult.component(i);
+            out.println("Component " + i + " (size=" + component.size() + "): " + component);
         }
 
-        WeightedDirectedGraph condensation = sccResult.condensationGraph();
-        List<Integer> componentOrder = TopologicalSorter.sort(condensation, metrics);
-        System.out.println("\nTopological order of components: " + componentOrder);
-        System.out.println("Expanded task order: " + TopologicalSorter.expandOrder(componentOrder, sccResult.components()));
+        // Parallel condensation edges never change the result of either DP, so each pass gets a
+        // deduplicated copy that keeps only the weight it can use. Both copies have the same edge
+        // pairs, so one topological order serves both.
+        Dag shortestCondensation = new Dag(CondensationBuilder.build(data.graph().freeze(), sccResult, EdgeMergePolicy.MIN, metrics));
+        Dag longestCondensation = new Dag(CondensationBuilder.build(data.graph().freeze(), sccResult, EdgeMergePolicy.MAX, metrics));
+        int[] order = TopologicalSorter.order(shortestCondensation, metrics);
+        List<Integer> componentOrder = Arrays.stream(order).boxed().toList();
+        out.println("\nTopological order of components: " + componentOrder);
+        out.println("Expanded task order: " + Arrays.toString(TopologicalSorter.expandOrder(order, sccResult)));
 
-        ShortestPathResult shortest = DagShortestPath.shortestPaths(condensation, sccResult.componentOf()[data.source()], componentOrder, metrics);
+        ShortestPathResult shortest = DagShortestPath.shortestPaths(shortestCondensation, sccResult.componentOf()[data.source()], metrics);
         int lastComponent = componentOrder.get(componentOrder.size() - 1);
-        System.out.println("\nShortest distances on condensation DAG from component " + sccResult.componentOf()[data.source()] + ":");
+        out.println("\nShortest distances on condensation DAG from component " + sccResult.componentOf()[data.source()] + ":");
         double[] distances = shortest.distances();
         for (int c = 0; c < distances.length; c++) {
-            System.out.printf("  to component %d = %s%n", c,
-                    distances[c] == Double.POSITIVE_INFINITY ? "INF" : String.format("%.2f", distances[c]));
+            out.printf(distances[c] == Double.POSITIVE_INFINITY ? "  to component %d = INF%n" : "  to component %d = %.2f%n",
+                    c, distances[c]);
         }
-        System.out.println("Example shortest path to last component: " + shortest.buildPath(lastComponent));
+        out.println("Example shortest path to last component: " + shortest.buildPath(lastComponent));
 
-        CriticalPathResult criticalPath = DagShortestPath.longestPath(condensation, componentOrder, metrics);
-        System.out.printf("\nCritical path length: %.2f%n", criticalPath.length());
-        System.out.println("Critical path: " + criticalPath.path());
+        CriticalPathResult criticalPath = DagShortestPath.longestPath(longestCondensation, order, metrics);
+        out.printf("\nCritical path length: %.2f%n", criticalPath.length());
+        out.println("Critical path: " + criticalPath.path());
 
-        System.out.println("\nMetrics summary:");
-        metrics.counters().forEach((k, v) -> System.out.println("  " + k + " = " + v));
-        metrics.times().forEach((k, v) -> System.out.println("  " + k + " = " + v + " ns"));
+        out.println("\nMetrics summary:");
+        metrics.counters().forEach((k, v) -> out.println("  " + k + " = " + v));
+        metrics.times().forEach((k, v) -> out.println("  " + k + " = " + v + " ns"));
     }
 }
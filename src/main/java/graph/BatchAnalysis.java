@@ -0,0 +1,297 @@
+package graph;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import graph.dagsp.DagShortestPath;
+import graph.dagsp.DagShortestPath.CriticalPathResult;
+import graph.dagsp.DagShortestPath.ShortestPathResult;
+import graph.metrics.BasicMetrics;
+import graph.metrics.Metrics;
+import graph.model.CsrGraph;
+import graph.model.GraphData;
+import graph.model.GraphLoader;
+import graph.scc.CondensationBuilder;
+import graph.scc.EdgeMergePolicy;
+import graph.scc.SCCResult;
+import graph.scc.StronglyConnectedComponents;
+import graph.topo.Dag;
+import graph.topo.TopologicalSorter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Analyzes many dataset files as a two-stage pipeline.
+ * <p>
+ * Each file is loaded on its own virtual thread, at most {@code loaders} at a time, and handed over
+ * a bounded queue to a fixed pool of {@code workers} platform threads that run SCC, condensation,
+ * topological order and both DAG path passes. A loader keeps its permit until the queue accepts its
+ * graph, so at most {@code loaders + queueCapacity + workers} graphs are in memory at once. Every
+ * dataset records into its own {@link BasicMetrics}, which are merged once the batch is done; a file
+ * that fails to load or analyze, including with an {@link Error} such as {@link OutOfMemoryError}, is
+ * reported with its error and does not stop the batch.
+ */
+public final class BatchAnalysis {
+    public static final String COUNTER_DATASETS = "batch.datasets";
+    public static final String COUNTER_FAILED = "batch.datasetsFailed";
+    public static final String TIMER_LOAD = "batch.loadTime";
+    public static final String TIMER_QUEUE = "batch.queueTime";
+    public static final String TIMER_ANALYSIS = "batch.analysisTime";
+
+    /**
+     * Outcome for one file; the numeric fields are 0 and {@code error} is set when it failed.
+     * Components are counted on the condensation, the critical path in components.
+     */
+    public record DatasetReport(String dataset, int vertices, int edges, int components, int largestComponent,
+                                int reachableComponents, double criticalPathLength, int criticalPathComponents,
+                                long loadNanos, long analysisNanos, String error) {
+        public boolean succeeded() {
+            return error == null;
+        }
+    }
+
+    /**
+     * Reports in input order, the merged metrics of all datasets and the wall time of the batch.
+     */
+    public record Summary(List<DatasetReport> datasets, Metrics metrics, long wallNanos) {
+        public int failedCount() {
+            return (int) datasets.stream().filter(report -> !report.succeeded()).count();
+        }
+
+        public long edgeCount() {
+            return datasets.stream().mapToLong(DatasetReport::edges).sum();
+        }
+
+        public double datasetsPerSecond() {
+            return datasets.size() / (wallNanos / 1e9);
+        }
+
+        public double edgesPerSecond() {
+            return edgeCount() / (wallNanos / 1e9);
+        }
+    }
+
+    private record Loaded(int index, Path path, GraphData data, Metrics metrics, long loadNanos, long queuedAt,
+                          Throwable failure) {
+    }
+
+    private BatchAnalysis() {
+    }
+
+    public static Summary run(List<Path> datasets, int workers) throws InterruptedException {
+        return run(datasets, 2 * workers, workers, 2 * workers);
+    }
+
+    public static Summary run(List<Path> datasets, int loaders, int workers, int queueCapacity)
+            throws InterruptedException {
+        if (loaders < 1 || workers < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("loaders, workers and queueCapacity must be positive");
+        }
+        int n = datasets.size();
+        DatasetReport[] reports = new DatasetReport[n];
+        Metrics[] metrics = new Metrics[n];
+        BlockingQueue<Loaded> queue = new ArrayBlockingQueue<>(queueCapacity);
+        Semaphore loading = new Semaphore(loaders, true);
+        // Every dataset puts exactly one item on the queue, failed loads included, so the workers
+        // stop after taking n items without a poison pill.
+        AtomicInteger untaken = new AtomicInteger(n);
+        long start = System.nanoTime();
+
+        ExecutorService io = Executors.newVirtualThreadPerTaskExecutor();
+        ExecutorService cpu = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<?>> consumers = new ArrayList<>();
+            for (int w = 0; w < workers; w++) {
+                consumers.add(cpu.submit(() -> {
+                    while (untaken.getAndDecrement() > 0) {
+                        Loaded loaded = queue.take();
+                        loaded.metrics().addTime(TIMER_QUEUE, System.nanoTime() - loaded.queuedAt());
+                        reports[loaded.index()] = analyze(loaded);
+                        metrics[loaded.index()] = loaded.metrics();
+                    }
+                    return null;
+                }));
+            }
+            for (int i = 0; i < n; i++) {
+                int index = i;
+                io.submit(() -> {
+                    loading.acquire();
+                    try {
+                        queue.put(load(index, datasets.get(index)));
+                    } finally {
+                        loading.release();
+                    }
+                    return null;
+                });
+            }
+            for (Future<?> consumer : consumers) {
+                try {
+                    consumer.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Batch worker failed", e.getCause());
+                }
+            }
+        } finally {
+            // A no-op once every dataset is analyzed; after a failure or interruption it unblocks
+            // loaders waiting on the queue.
+            io.shutdownNow();
+            cpu.shutdownNow();
+        }
+        long wallNanos = System.nanoTime() - start;
+
+        Metrics merged = new BasicMetrics();
+        for (Metrics datasetMetrics : metrics) {
+            merged.merge(datasetMetrics);
+        }
+        return new Summary(List.of(reports), merged, wallNanos);
+    }
+
+    private static Loaded load(int index, Path path) {
+        Metrics metrics = new BasicMetrics();
+        metrics.incrementCounter(COUNTER_DATASETS);
+        long start = System.nanoTime();
+        GraphData data = null;
+        Throwable failure = null;
+        try {
+            data = GraphLoader.load(path);
+        } catch (Throwable e) {
+            // Errors too: every dataset must put exactly one item on the queue, or the workers wait
+            // for it forever. An OutOfMemoryError from one oversized file leaves nothing reachable.
+            failure = e;
+        }
+        long loadNanos = System.nanoTime() - start;
+        metrics.addTime(TIMER_LOAD, loadNanos);
+        return new Loaded(index, path, data, metrics, loadNanos, System.nanoTime(), failure);
+    }
+
+    private static DatasetReport analyze(Loaded loaded) {
+        String name = loaded.path().getFileName().toString();
+        Metrics metrics = loaded.metrics();
+        long start = System.nanoTime();
+        try (Metrics.TimerContext ignored = metrics.time(TIMER_ANALYSIS)) {
+            if (loaded.failure() != null) {
+                throw loaded.failure();
+            }
+            GraphData data = loaded.data();
+            CsrGraph graph = data.graph().freeze();
+            SCCResult scc = StronglyConnectedComponents.compute(graph, metrics);
+            int largest = 0;
+            for (int c = 0; c < scc.componentCount(); c++) {
+                largest = Math.max(largest, scc.componentSize(c));
+            }
+            Dag shortestCondensation = new Dag(CondensationBuilder.build(graph, scc, EdgeMergePolicy.MIN, metrics));
+            Dag longestCondensation = new Dag(CondensationBuilder.build(graph, scc, EdgeMergePolicy.MAX, metrics));
+            int[] order = TopologicalSorter.order(shortestCondensation, metrics);
+            int sourceComponent = graph.vertexCount() == 0 ? 0 : scc.componentOf()[data.source()];
+            ShortestPathResult shortest = DagShortestPath.shortestPaths(shortestCondensation, sourceComponent, order, metrics);
+            CriticalPathResult critical = DagShortestPath.longestPath(longestCondensation, order, metrics);
+            int reachable = (int) Arrays.stream(shortest.distances()).filter(d -> d != Double.POSITIVE_INFINITY).count();
+            return new DatasetReport(name, graph.vertexCount(), graph.edgeCount(), scc.componentCount(), largest,
+                    reachable, critical.length(), critical.path().size(), loaded.loadNanos(),
+                    System.nanoTime() - start, null);
+        } catch (Throwable e) {
+            metrics.incrementCounter(COUNTER_FAILED);
+            // Parser messages span several lines; keep one line per report row.
+            String message = e.toString().replaceAll("\\s*\\R\\s*", " ");
+            return new DatasetReport(name, 0, 0, 0, 0, 0, 0, 0, loaded.loadNanos(), System.nanoTime() - start, message);
+        }
+    }
+
+    /**
+     * One row per dataset; text fields are quoted where needed.
+     */
+    public static void writeCsv(Summary summary, Path path) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(path)) {
+            out.write("dataset,vertices,edges,components,largestComponent,reachableComponents,"
+                    + "criticalPathLength,criticalPathComponents,loadMillis,analysisMillis,error\n");
+            StringBuilder row = new StringBuilder();
+            for (DatasetReport report : summary.datasets()) {
+                row.setLength(0);
+                appendCsv(row, report.dataset()).append(',')
+                        .append(report.vertices()).append(',')
+                        .append(report.edges()).append(',')
+                        .append(report.components()).append(',')
+                        .append(report.largestComponent()).append(',')
+                        .append(report.reachableComponents()).append(',')
+                        .append(report.criticalPathLength()).append(',')
+                        .append(report.criticalPathComponents()).append(',')
+                        .append(report.loadNanos() / 1e6).append(',')
+                        .append(report.analysisNanos() / 1e6).append(',');
+                if (report.error() != null) {
+                    appendCsv(row, report.error());
+                }
+                out.append(row).append('\n');
+            }
+        }
+    }
+
+    /**
+     * Throughput, the per-dataset reports and the merged metrics as one JSON document.
+     */
+    public static void writeJson(Summary summary, Path path) throws IOException {
+        try (JsonGenerator json = new JsonFactory().createGenerator(path.toFile(), JsonEncoding.UTF8)) {
+            json.useDefaultPrettyPrinter();
+            json.writeStartObject();
+            json.writeNumberField("datasets", summary.datasets().size());
+            json.writeNumberField("failed", summary.failedCount());
+            json.writeNumberField("edges", summary.edgeCount());
+            json.writeNumberField("wallMillis", summary.wallNanos() / 1e6);
+            json.writeNumberField("datasetsPerSecond", summary.datasetsPerSecond());
+            json.writeNumberField("edgesPerSecond", summary.edgesPerSecond());
+            json.writeArrayFieldStart("results");
+            for (DatasetReport report : summary.datasets()) {
+                json.writeStartObject();
+                json.writeStringField("dataset", report.dataset());
+                if (report.succeeded()) {
+                    json.writeNumberField("vertices", report.vertices());
+                    json.writeNumberField("edges", report.edges());
+                    json.writeNumberField("components", report.components());
+                    json.writeNumberField("largestComponent", report.largestComponent());
+                    json.writeNumberField("reachableComponents", report.reachableComponents());
+                    json.writeNumberField("criticalPathLength", report.criticalPathLength());
+                    json.writeNumberField("criticalPathComponents", report.criticalPathComponents());
+                } else {
+                    json.writeStringField("error", report.error());
+                }
+                json.writeNumberField("loadMillis", report.loadNanos() / 1e6);
+                json.writeNumberField("analysisMillis", report.analysisNanos() / 1e6);
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            writeMap(json, "counters", summary.metrics().counters());
+            writeMap(json, "timesNanos", summary.metrics().times());
+            json.writeEndObject();
+        }
+    }
+
+    private static void writeMap(JsonGenerator json, String name, Map<String, Long> values) throws IOException {
+        json.writeObjectFieldStart(name);
+        for (Map.Entry<String, Long> entry : new TreeMap<>(values).entrySet()) {
+            json.writeNumberField(entry.getKey(), entry.getValue());
+        }
+        json.writeEndObject();
+    }
+
+    private static StringBuilder appendCsv(StringBuilder row, String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return row.append(value);
+        }
+        return row.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
@@ -0,0 +1,93 @@
+package graph;
+
+import graph.dagsp.DagShortestPath;
+import graph.dagsp.DagShortestPath.CriticalPathResult;
+import graph.dagsp.DagShortestPath.ShortestPathResult;
+import graph.gen.GeneratorSpec;
+import graph.gen.GraphGenerator;
+import graph.metrics.BasicMetrics;
+import graph.model.ExternalCsrWriter;
+import graph.model.GraphBinaryFormat;
+import graph.model.MappedCsrGraph;
+import graph.scc.ExternalStronglyConnectedComponents;
+import graph.topo.TopologicalSorter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Runs the out-of-core pipeline on a generated graph: edges are streamed from the generator into
+ * sorted runs, merged into a binary CSR file, labelled by semi-external SCC, and the condensation
+ * file is ordered and searched. Run it with a heap smaller than the graph file, e.g.
+ * {@code -Xmx512m}. Usage: {@code ExternalSccReport [vertices] [averageDegree] [runEdges] [directory]}.
+ */
+public final class ExternalSccReport {
+    private ExternalSccReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        double degree = args.length > 1 ? Double.parseDouble(args[1]) : 8.0;
+        int runEdges = args.length > 2 ? Integer.parseInt(args[2]) : 1 << 20;
+        Path directory = args.length > 3 ? Files.createDirectories(Path.of(args[3])) : Files.createTempDirectory("external-scc");
+        Path graphFile = directory.resolve("graph" + GraphBinaryFormat.EXTENSION);
+        Path condensationFile = directory.resolve("condensation" + GraphBinaryFormat.EXTENSION);
+        GeneratorSpec spec = GeneratorSpec.defaults(vertices, vertices).withAverageDegree(degree);
+
+        long start = System.nanoTime();
+        try (ExternalCsrWriter writer = new ExternalCsrWriter(directory, runEdges)) {
+            IOException[] failure = new IOException[1];
+            GraphGenerator.forEachEdge(spec, (from, to, weight) -> {
+                if (failure[0] != null) {
+                    return;
+                }
+                try {
+                    writer.addEdge(from, to, weight);
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+            writer.finish(graphFile, vertices, GraphGenerator.suggestedSource(spec), "edge");
+            System.out.printf("Sorted %d edges in %d runs into %s (%.0f MB) in %.1f s%n", writer.edgeCount(), writer.runCount(),
+                    graphFile, Files.size(graphFile) / 1e6, (System.nanoTime() - start) / 1e9);
+        }
+
+        BasicMetrics metrics = new BasicMetrics();
+        start = System.nanoTime();
+        ExternalStronglyConnectedComponents.Result result = ExternalStronglyConnectedComponents.compute(
+                graphFile, condensationFile, directory, runEdges, metrics);
+        System.out.printf("%d components, condensation %s (%.0f MB) in %.1f s%n", result.componentCount(),
+                condensationFile, Files.size(condensationFile) / 1e6, (System.nanoTime() - start) / 1e9);
+
+        start = System.nanoTime();
+        MappedCsrGraph condensation = result.mapCondensation();
+        int[] order = TopologicalSorter.order(condensation, metrics);
+        ShortestPathResult shortest = DagShortestPath.shortestPaths(condensation, condensation.source(), order, metrics);
+        CriticalPathResult longest = DagShortestPath.longestPath(condensation, order, metrics);
+        long reachable = 0;
+        for (double distance : shortest.distances()) {
+            if (distance != Double.POSITIVE_INFINITY) {
+                reachable++;
+            }
+        }
+        System.out.printf("Topological order, shortest paths (%d reachable) and longest path (%.0f over %d components) in %.1f s%n",
+                reachable, longest.length(), longest.path().size(), (System.nanoTime() - start) / 1e9);
+
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        System.out.printf("Max heap %.0f MB, peak heap pools %.0f MB%n", Runtime.getRuntime().maxMemory() / 1e6, peak / 1e6);
+        metrics.counters().forEach((name, value) -> System.out.println("  " + name + " = " + value));
+        metrics.times().forEach((name, nanos) -> System.out.println("  " + name + " = " + nanos + " ns"));
+    }
+}
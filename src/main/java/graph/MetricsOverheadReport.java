@@ -0,0 +1,75 @@
+package graph;
+
+import graph.dagsp.DagShortestPath;
+import graph.gen.GraphGenerator;
+import graph.metrics.BasicMetrics;
+import graph.metrics.Metrics;
+import graph.metrics.NoopMetrics;
+import graph.metrics.StripedMetrics;
+import graph.model.CsrGraph;
+import graph.scc.SCCResult;
+import graph.scc.StronglyConnectedComponents;
+import graph.topo.TopologicalSorter;
+
+import java.util.function.Supplier;
+
+/**
+ * Times the SCC → topological order → DAG paths pipeline with each {@link Metrics} implementation.
+ * Usage: {@code MetricsOverheadReport [vertices] [clusterSize] [basic|striped|noop|all]}.
+ * Run one implementation per JVM for representative numbers: once several implementations have
+ * been used, the metrics call sites are polymorphic and the JIT can no longer elide no-op calls.
+ */
+public final class MetricsOverheadReport {
+    private static final int WARMUP = 3;
+    private static final int REPETITIONS = 7;
+
+    private MetricsOverheadReport() {
+    }
+
+    public static void main(String[] args) {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int clusterSize = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        String only = args.length > 2 ? args[2] : "all";
+
+        CsrGraph graph = GraphGenerator.generate(SCCSpeedupReport.clusteredSpec(vertices, clusterSize, 11));
+        System.out.println("Graph: " + graph.vertexCount() + " vertices, " + graph.edgeCount() + " edges");
+        System.out.printf("| Metrics | SCC (ms) | Topo (ms) | DAG paths (ms) | Total (ms) |%n");
+        System.out.printf("|---------|----------|-----------|----------------|------------|%n");
+        if (only.equals("all") || only.equals("basic")) {
+            report("BasicMetrics", graph, BasicMetrics::new);
+        }
+        if (only.equals("all") || only.equals("striped")) {
+            report("StripedMetrics", graph, StripedMetrics::new);
+        }
+        if (only.equals("all") || only.equals("noop")) {
+            report("NoopMetrics", graph, () -> NoopMetrics.INSTANCE);
+        }
+    }
+
+    private static void report(String label, CsrGraph graph, Supplier<Metrics> factory) {
+        long[] best = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE};
+        for (int i = 0; i < WARMUP + REPETITIONS; i++) {
+            long[] sample = runOnce(graph, factory.get());
+            if (i >= WARMUP) {
+                for (int k = 0; k < best.length; k++) {
+                    best[k] = Math.min(best[k], sample[k]);
+                }
+            }
+        }
+        System.out.printf("| %s | %.1f | %.1f | %.1f | %.1f |%n", label,
+                best[0] / 1e6, best[1] / 1e6, best[2] / 1e6, (best[0] + best[1] + best[2]) / 1e6);
+    }
+
+    private static long[] runOnce(CsrGraph graph, Metrics metrics) {
+        long start = System.nanoTime();
+        SCCResult scc = StronglyConnectedComponents.compute(graph, metrics);
+        long sccDone = System.nanoTime();
+        CsrGraph condensation = scc.condensationGraph().freeze();
+        int[] order = TopologicalSorter.order(condensation, metrics);
+        long topoDone = System.nanoTime();
+        DagShortestPath.shortestPaths(condensation, order[0], order, metrics);
+        DagShortestPath.longestPath(condensation, order, metrics);
+        long pathsDone = System.nanoTime();
+        return new long[]{sccDone - start, topoDone - sccDone, pathsDone - topoDone};
+    }
+}
@@ -0,0 +1,70 @@
+package graph;
+
+import graph.metrics.BasicMetrics;
+import graph.gen.Distribution;
+import graph.gen.GeneratorSpec;
+import graph.gen.GraphGenerator;
+import graph.model.CsrGraph;
+import graph.scc.ParallelStronglyConnectedComponents;
+import graph.scc.SCCResult;
+import graph.scc.StronglyConnectedComponents;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Compares Tarjan with the forward-backward engine across ForkJoinPool sizes.
+ * Usage: {@code SCCSpeedupReport [vertices] [clusterSize] [maxThreads]}.
+ */
+public final class SCCSpeedupReport {
+    private static final int REPETITIONS = 5;
+
+    private SCCSpeedupReport() {
+    }
+
+    public static void main(String[] args) {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int clusterSize = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        CsrGraph graph = GraphGenerator.generate(clusteredSpec(vertices, clusterSize, 7));
+        System.out.println("Graph: " + graph.vertexCount() + " vertices, " + graph.edgeCount() + " edges");
+
+        SCCResult expected = StronglyConnectedComponents.canonical(graph, StronglyConnectedComponents.compute(graph, new BasicMetrics()));
+        long tarjan = bestOf(() -> StronglyConnectedComponents.compute(graph, new BasicMetrics()));
+        System.out.println("Components: " + expected.componentCount());
+        System.out.printf("| Engine | Threads | Best time (ms) | Speedup vs Tarjan |%n");
+        System.out.printf("|--------|---------|----------------|-------------------|%n");
+        System.out.printf("| Tarjan | 1 | %.1f | 1.00 |%n", tarjan / 1e6);
+
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                SCCResult actual = ParallelStronglyConnectedComponents.compute(graph, new BasicMetrics(), pool);
+                if (!Arrays.equals(expected.componentStart(), actual.componentStart()) || !Arrays.equals(expected.members(), actual.members())) {
+                    throw new IllegalStateException("Forward-backward result differs from Tarjan");
+                }
+                long parallel = bestOf(() -> ParallelStronglyConnectedComponents.compute(graph, new BasicMetrics(), pool));
+                System.out.printf("| Forward-backward | %d | %.1f | %.2f |%n", threads, parallel / 1e6, (double) tarjan / parallel);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static long bestOf(Runnable run) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < REPETITIONS; i++) {
+            long start = System.nanoTime();
+            run.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    static GeneratorSpec clusteredSpec(int vertices, int clusterSize, long seed) {
+        return GeneratorSpec.defaults(vertices, seed)
+                .withClusterSizes(Distribution.constant(clusterSize))
+                .withDepth(Math.max(1, vertices / clusterSize));
+    }
+}
@@ -1,8 +1,12 @@
 package graph.dagsp;
 
 import graph.metrics.Metrics;
+import graph.model.GraphView;
+import graph.model.LongGraphView;
+import graph.model.VertexRenumbering;
 import graph.model.WeightedDirectedGraph;
-import graph.model.WeightedEdge;
+import graph.topo.Dag;
+import graph.topo.TopologicalSorter;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -22,6 +26,13 @@ public final class DagShortestPath {
                                                    int source,
                                                    List<Integer> topologicalOrder,
                                                    Metrics metrics) {
+        return shortestPaths(dag.freeze(), source, toArray(topologicalOrder), metrics);
+    }
+
+    public static ShortestPathResult shortestPaths(GraphView dag,
+                                                   int source,
+                                                   int[] topologicalOrder,
+                                                   Metrics metrics) {
         int n = dag.vertexCount();
         double[] distance = new double[n];
         int[] predecessor = new int[n];
@@ -29,17 +40,19 @@ public final class DagShortestPath {
         Arrays.fill(predecessor, -1);
         distance[source] = 0.0;
 
+        Metrics.Counter relaxations = metrics.counter(COUNTER_RELAXATIONS);
         try (Metrics.TimerContext ignored = metrics.time(TIMER_SHORTEST)) {
             for (int vertex : topologicalOrder) {
                 if (distance[vertex] == Double.POSITIVE_INFINITY) {
                     continue;
                 }
-                for (WeightedEdge edge : dag.edgesFrom(vertex)) {
-                    double candidate = distance[vertex] + edge.weight();
-                    if (candidate < distance[edge.to()]) {
-                        distance[edge.to()] = candidate;
-                        predecessor[edge.to()] = vertex;
-                        metrics.incrementCounter(COUNTER_RELAXATIONS);
+                for (int e = dag.edgeStart(vertex), end = dag.edgeEnd(vertex); e < end; e++) {
+                    int to = dag.target(e);
+                    double candidate = distance[vertex] + dag.weight(e);
+                    if (candidate < distance[to]) {
+                        distance[to] = candidate;
+                        predecessor[to] = vertex;
+                        relaxations.increment();
                     }
                 }
             }
@@ -48,46 +61,155 @@ public final class DagShortestPath {
         return new ShortestPathResult(distance, predecessor, source);
     }
 
+    /**
+     * Same as {@link #shortestPaths(GraphView, int, int[], Metrics)} over the cached order of {@code dag}.
+     */
+    public static ShortestPathResult shortestPaths(Dag dag, int source, Metrics metrics) {
+        return shortestPaths((GraphView) dag, source, TopologicalSorter.order(dag, metrics), metrics);
+    }
+
+    /**
+     * Same as {@link #longestPath(GraphView, int[], Metrics)} but reuses the cached order and in-degrees.
+     */
+    public static CriticalPathResult longestPath(Dag dag, Metrics metrics) {
+        return longestPath(dag, TopologicalSorter.order(dag, metrics), dag.indegrees(), metrics);
+    }
+
+    /**
+     * Same as {@link #longestPath(GraphView, int[], Metrics)} but reuses the cached in-degrees, e.g.
+     * with an order computed on another condensation that has the same edge pairs.
+     */
+    public static CriticalPathResult longestPath(Dag dag, int[] topologicalOrder, Metrics metrics) {
+        return longestPath(dag, topologicalOrder, dag.indegrees(), metrics);
+    }
+
     public static CriticalPathResult longestPath(WeightedDirectedGraph dag,
                                                  List<Integer> topologicalOrder,
                                                  Metrics metrics) {
+        return longestPath(dag.freeze(), toArray(topologicalOrder), metrics);
+    }
+
+    public static CriticalPathResult longestPath(GraphView dag,
+                                                 int[] topologicalOrder,
+                                                 Metrics metrics) {
+        int[] indegree = new int[dag.vertexCount()];
+        for (int e = 0, m = dag.edgeCount(); e < m; e++) {
+            indegree[dag.target(e)]++;
+        }
+        return longestPath(dag, topologicalOrder, indegree, metrics);
+    }
+
+    private static CriticalPathResult longestPath(GraphView dag,
+                                                  int[] topologicalOrder,
+                                                  int[] indegree,
+                                                  Metrics metrics) {
         int n = dag.vertexCount();
         double[] distance = new double[n];
         int[] predecessor = new int[n];
         Arrays.fill(distance, Double.NEGATIVE_INFINITY);
         Arrays.fill(predecessor, -1);
-
-        int[] indegree = new int[n];
         for (int v = 0; v < n; v++) {
-            for (WeightedEdge edge : dag.edgesFrom(v)) {
-                indegree[edge.to()]++;
+            if (indegree[v] == 0) {
+                distance[v] = 0.0;
+            }
+        }
+
+        Metrics.Counter relaxations = metrics.counter(COUNTER_RELAXATIONS);
+        try (Metrics.TimerContext ignored = metrics.time(TIMER_LONGEST)) {
+            for (int vertex : topologicalOrder) {
+                if (distance[vertex] == Double.NEGATIVE_INFINITY) {
+                    continue;
+                }
+                for (int e = dag.edgeStart(vertex), end = dag.edgeEnd(vertex); e < end; e++) {
+                    int to = dag.target(e);
+                    double candidate = distance[vertex] + dag.weight(e);
+                    if (candidate > distance[to]) {
+                        distance[to] = candidate;
+                        predecessor[to] = vertex;
+                        relaxations.increment();
+                    }
+                }
+            }
+        }
+
+        return criticalPath(distance, predecessor);
+    }
+
+    /**
+     * Same as {@link #shortestPaths(GraphView, int, int[], Metrics)} over a {@link LongGraphView}
+     * whose edge count may exceed {@code 2^31 - 1}.
+     */
+    public static ShortestPathResult shortestPaths(LongGraphView dag, int source, int[] topologicalOrder,
+                                                   Metrics metrics) {
+        int n = dag.vertexCount();
+        double[] distance = new double[n];
+        int[] predecessor = new int[n];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        Arrays.fill(predecessor, -1);
+        distance[source] = 0.0;
+
+        Metrics.Counter relaxations = metrics.counter(COUNTER_RELAXATIONS);
+        try (Metrics.TimerContext ignored = metrics.time(TIMER_SHORTEST)) {
+            for (int vertex : topologicalOrder) {
+                if (distance[vertex] == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                for (long e = dag.edgeOffset(vertex), end = dag.edgeOffset(vertex + 1); e < end; e++) {
+                    int to = dag.targetAt(e);
+                    double candidate = distance[vertex] + dag.weightAt(e);
+                    if (candidate < distance[to]) {
+                        distance[to] = candidate;
+                        predecessor[to] = vertex;
+                        relaxations.increment();
+                    }
+                }
             }
         }
+
+        return new ShortestPathResult(distance, predecessor, source);
+    }
+
+    /**
+     * Same as {@link #longestPath(GraphView, int[], Metrics)} over a {@link LongGraphView} whose
+     * edge count may exceed {@code 2^31 - 1}.
+     */
+    public static CriticalPathResult longestPath(LongGraphView dag, int[] topologicalOrder, Metrics metrics) {
+        int n = dag.vertexCount();
+        double[] distance = new double[n];
+        int[] predecessor = new int[n];
+        Arrays.fill(distance, 0.0);
+        Arrays.fill(predecessor, -1);
         for (int v = 0; v < n; v++) {
-            if (indegree[v] == 0) {
-                distance[v] = 0.0;
+            for (long e = dag.edgeOffset(v), end = dag.edgeOffset(v + 1); e < end; e++) {
+                distance[dag.targetAt(e)] = Double.NEGATIVE_INFINITY;
             }
         }
 
+        Metrics.Counter relaxations = metrics.counter(COUNTER_RELAXATIONS);
         try (Metrics.TimerContext ignored = metrics.time(TIMER_LONGEST)) {
             for (int vertex : topologicalOrder) {
                 if (distance[vertex] == Double.NEGATIVE_INFINITY) {
                     continue;
                 }
-                for (WeightedEdge edge : dag.edgesFrom(vertex)) {
-                    double candidate = distance[vertex] + edge.weight();
-                    if (candidate > distance[edge.to()]) {
-                        distance[edge.to()] = candidate;
-                        predecessor[edge.to()] = vertex;
-                        metrics.incrementCounter(COUNTER_RELAXATIONS);
+                for (long e = dag.edgeOffset(vertex), end = dag.edgeOffset(vertex + 1); e < end; e++) {
+                    int to = dag.targetAt(e);
+                    double candidate = distance[vertex] + dag.weightAt(e);
+                    if (candidate > distance[to]) {
+                        distance[to] = candidate;
+                        predecessor[to] = vertex;
+                        relaxations.increment();
                     }
                 }
             }
         }
 
+        return criticalPath(distance, predecessor);
+    }
+
+    private static CriticalPathResult criticalPath(double[] distance, int[] predecessor) {
         double bestDistance = Double.NEGATIVE_INFINITY;
         int bestVertex = -1;
-        for (int v = 0; v < n; v++) {
+        for (int v = 0; v < distance.length; v++) {
             if (distance[v] > bestDistance) {
                 bestDistance = distance[v];
                 bestVertex = v;
@@ -98,7 +220,15 @@ public final class DagShortestPath {
         return new CriticalPathResult(bestDistance, path);
     }
 
-    private static List<Integer> reconstructPath(int target, int[] predecessor) {
+    private static int[] toArray(List<Integer> order) {
+        int[] result = new int[order.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = order.get(i);
+        }
+        return result;
+    }
+
+    static List<Integer> reconstructPath(int target, int[] predecessor) {
         List<Integer> path = new ArrayList<>();
         int current = target;
         while (current != -1) {
@@ -126,8 +256,19 @@ public final class DagShortestPath {
             Collections.reverse(path);
             return path;
         }
+
+        /**
+         * Translates a result computed on {@code renumbering.graph()} to the original vertex ids.
+         */
+        public ShortestPathResult toOriginal(VertexRenumbering renumbering) {
+            return new ShortestPathResult(renumbering.valuesByOriginal(distances),
+                    renumbering.toOriginal(renumbering.valuesByOriginal(predecessors)), renumbering.toOriginal(source));
+        }
     }
 
     public record CriticalPathResult(double length, List<Integer> path) {
+        public CriticalPathResult toOriginal(VertexRenumbering renumbering) {
+            return new CriticalPathResult(length, renumbering.toOriginal(path));
+        }
     }
 }
@@ -0,0 +1,281 @@
+package graph.dagsp;
+
+import graph.dagsp.DagShortestPath.CriticalPathResult;
+import graph.metrics.Metrics;
+import graph.model.GraphView;
+import graph.topo.DynamicDag;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Longest-path (critical path) and single-source shortest-path distances kept up to date while the
+ * DAG changes.
+ * <p>
+ * Distances follow {@link DagShortestPath}: longest distances start at 0 on vertices without
+ * predecessors, shortest distances are measured from a fixed source. After an edge is added,
+ * removed or reweighted, only its target is recomputed from its in-edges; vertices whose value
+ * changes push their successors into a queue ordered by topological rank, so each affected vertex
+ * is recomputed once and unaffected parts of the DAG are never visited. The vertex with the largest
+ * longest distance is tracked in an indexed max-heap, so {@link #criticalPath()} costs only the
+ * path length.
+ * <p>
+ * When several predecessors give the same distance, any one of them may be kept, so paths can
+ * differ from the batch algorithms while having equal length. Not thread-safe.
+ */
+public final class IncrementalDagPaths {
+    public static final String COUNTER_RECOMPUTED = "dag.incrementalRecomputed";
+    public static final String TIMER_UPDATE = "dag.incrementalUpdateTime";
+
+    private final DynamicDag dag;
+    private final Metrics metrics;
+    private final int source;
+    private final double[] longest;
+    private final int[] longestPredecessor;
+    private final double[] shortest;
+    private final int[] shortestPredecessor;
+
+    private final int[] queue;
+    private int queueSize;
+    private final boolean[] queued;
+
+    private final int[] heap;
+    private final int[] heapPosition;
+
+    private final Metrics.Counter recomputed;
+
+    /**
+     * Builds the engine from a static DAG. {@code source} is the shortest-path source, or
+     * {@code -1} to track longest paths only.
+     */
+    public IncrementalDagPaths(GraphView dag, int source, Metrics metrics) {
+        this.dag = new DynamicDag(dag, metrics);
+        this.metrics = metrics;
+        this.source = source;
+        int n = dag.vertexCount();
+        this.longest = new double[n];
+        this.longestPredecessor = new int[n];
+        this.shortest = new double[n];
+        this.shortestPredecessor = new int[n];
+        this.queue = new int[n];
+        this.queued = new boolean[n];
+        this.heap = new int[n];
+        this.heapPosition = new int[n];
+        this.recomputed = metrics.counter(COUNTER_RECOMPUTED);
+
+        Arrays.fill(shortest, Double.POSITIVE_INFINITY);
+        // With every distance at 0 the identity permutation is already a valid heap.
+        for (int v = 0; v < n; v++) {
+            heap[v] = v;
+            heapPosition[v] = v;
+        }
+        for (int r = 0; r < n; r++) {
+            recompute(this.dag.vertexAt(r));
+        }
+    }
+
+    /**
+     * The current graph and order, read-only: changes go through {@link #addEdge}, {@link #removeEdge}
+     * and {@link #setWeight} so the distances follow them.
+     */
+    public DynamicDag.View dag() {
+        return dag.view();
+    }
+
+    public int source() {
+        return source;
+    }
+
+    /**
+     * Adds {@code u -> v}. Throws {@link IllegalArgumentException} if the edge would close a cycle.
+     */
+    public void addEdge(int u, int v, double weight) {
+        try (Metrics.TimerContext ignored = metrics.time(TIMER_UPDATE)) {
+            dag.addEdge(u, v, weight);
+            propagateFrom(v);
+        }
+    }
+
+    public boolean removeEdge(int u, int v) {
+        try (Metrics.TimerContext ignored = metrics.time(TIMER_UPDATE)) {
+            if (!dag.removeEdge(u, v)) {
+                return false;
+            }
+            propagateFrom(v);
+            return true;
+        }
+    }
+
+    public boolean setWeight(int u, int v, double weight) {
+        try (Metrics.TimerContext ignored = metrics.time(TIMER_UPDATE)) {
+            if (!dag.setWeight(u, v, weight)) {
+                return false;
+            }
+            propagateFrom(v);
+            return true;
+        }
+    }
+
+    public double longestDistance(int vertex) {
+        return longest[vertex];
+    }
+
+    public double shortestDistance(int vertex) {
+        return shortest[vertex];
+    }
+
+    /**
+     * Same contract as {@link DagShortestPath.ShortestPathResult#buildPath(int)} for the tracked source.
+     */
+    public List<Integer> shortestPath(int target) {
+        if (source == -1 || shortest[target] == Double.POSITIVE_INFINITY) {
+            return List.of();
+        }
+        return DagShortestPath.reconstructPath(target, shortestPredecessor);
+    }
+
+    /**
+     * Longest path in the current DAG, ending at the smallest vertex id among those with the
+     * largest distance, as in {@link DagShortestPath#longestPath(GraphView, int[], Metrics)}.
+     */
+    public CriticalPathResult criticalPath() {
+        if (heap.length == 0) {
+            return new CriticalPathResult(Double.NEGATIVE_INFINITY, List.of());
+        }
+        int end = heap[0];
+        return new CriticalPathResult(longest[end], DagShortestPath.reconstructPath(end, longestPredecessor));
+    }
+
+    private void propagateFrom(int start) {
+        push(start);
+        while (queueSize > 0) {
+            int v = pop();
+            if (recompute(v)) {
+                for (int i = 0, degree = dag.outDegree(v); i < degree; i++) {
+                    push(dag.outTarget(v, i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Pulls both distances of {@code v} from its in-edges. Returns whether either value changed.
+     */
+    private boolean recompute(int v) {
+        recomputed.increment();
+        int degree = dag.inDegree(v);
+        double bestLongest = degree == 0 ? 0.0 : Double.NEGATIVE_INFINITY;
+        int longestFrom = -1;
+        double bestShortest = v == source ? 0.0 : Double.POSITIVE_INFINITY;
+        int shortestFrom = -1;
+        for (int i = 0; i < degree; i++) {
+            int u = dag.inSource(v, i);
+            double weight = dag.inWeight(v, i);
+            if (longest[u] + weight > bestLongest) {
+                bestLongest = longest[u] + weight;
+                longestFrom = u;
+            }
+            if (v != source && shortest[u] + weight < bestShortest) {
+                bestShortest = shortest[u] + weight;
+                shortestFrom = u;
+            }
+        }
+        longestPredecessor[v] = longestFrom;
+        shortestPredecessor[v] = shortestFrom;
+        boolean changed = bestLongest != longest[v] || bestShortest != shortest[v];
+        if (bestLongest != longest[v]) {
+            longest[v] = bestLongest;
+            siftUp(heapPosition[v]);
+            siftDown(heapPosition[v]);
+        }
+        shortest[v] = bestShortest;
+        return changed;
+    }
+
+    // Pending vertices, as a binary min-heap of topological ranks.
+
+    private void push(int v) {
+        if (queued[v]) {
+            return;
+        }
+        queued[v] = true;
+        int i = queueSize++;
+        int r = dag.rank(v);
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (queue[parent] <= r) {
+                break;
+            }
+            queue[i] = queue[parent];
+            i = parent;
+        }
+        queue[i] = r;
+    }
+
+    private int pop() {
+        int top = queue[0];
+        int last = queue[--queueSize];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= queueSize) {
+                break;
+            }
+            if (child + 1 < queueSize && queue[child + 1] < queue[child]) {
+                child++;
+            }
+            if (queue[child] >= last) {
+                break;
+            }
+            queue[i] = queue[child];
+            i = child;
+        }
+        queue[i] = last;
+        int v = dag.vertexAt(top);
+        queued[v] = false;
+        return v;
+    }
+
+    // Indexed max-heap of vertices by longest distance, smaller id first on ties.
+
+    private boolean above(int a, int b) {
+        return longest[a] > longest[b] || (longest[a] == longest[b] && a < b);
+    }
+
+    private void siftUp(int i) {
+        int v = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!above(v, heap[parent])) {
+                break;
+            }
+            heap[i] = heap[parent];
+            heapPosition[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = v;
+        heapPosition[v] = i;
+    }
+
+    private void siftDown(int i) {
+        int v = heap[i];
+        int size = heap.length;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && above(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!above(heap[child], v)) {
+                break;
+            }
+            heap[i] = heap[child];
+            heapPosition[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = v;
+        heapPosition[v] = i;
+    }
+}
@@ -0,0 +1,140 @@
+package graph.dagsp;
+
+import graph.metrics.Metrics;
+import graph.model.GraphView;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
+
+/**
+ * Shortest distances from many sources over one topological order.
+ * <p>
+ * Sources are sorted by topological rank and grouped into blocks of {@link #BLOCK} sources. Each
+ * block sweeps the order once, starting at its earliest source, and keeps its distances
+ * vertex-major ({@code distance[v * BLOCK + lane]}) so that relaxing one edge is a fixed-width,
+ * branch-free min over contiguous lanes that the JIT can auto-vectorise. Blocks run in parallel.
+ */
+public final class MultiSourceShortestPaths {
+    public static final String COUNTER_BLOCKS = "dag.multiSourceBlocks";
+    public static final String TIMER_MULTI_SOURCE = "dag.multiSourceTime";
+
+    static final int BLOCK = 8;
+
+    private MultiSourceShortestPaths() {
+    }
+
+    /**
+     * Receives the distances of one source. {@code distances} is reused after the call returns and
+     * may be invoked concurrently from several worker threads.
+     */
+    @FunctionalInterface
+    public interface SourceDistancesConsumer {
+        void accept(int sourceIndex, int source, double[] distances);
+    }
+
+    public static DistanceMatrix shortestPaths(GraphView dag, int[] sources, int[] topologicalOrder, Metrics metrics) {
+        int n = dag.vertexCount();
+        if ((long) sources.length * n > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Distance matrix of " + sources.length + " x " + n
+                    + " does not fit in one array; use forEachSource");
+        }
+        double[] matrix = new double[sources.length * n];
+        forEachSource(dag, sources, topologicalOrder, metrics,
+                (sourceIndex, source, distances) -> System.arraycopy(distances, 0, matrix, sourceIndex * n, n));
+        return new DistanceMatrix(sources.clone(), n, matrix);
+    }
+
+    public static DistanceMatrix allSources(GraphView dag, int[] topologicalOrder, Metrics metrics) {
+        return shortestPaths(dag, IntStream.range(0, dag.vertexCount()).toArray(), topologicalOrder, metrics);
+    }
+
+    public static void forEachSource(GraphView dag, int[] sources, int[] topologicalOrder, Metrics metrics,
+                                     SourceDistancesConsumer consumer) {
+        forEachSource(dag, sources, topologicalOrder, metrics, consumer, ForkJoinPool.commonPool());
+    }
+
+    public static void forEachSource(GraphView dag, int[] sources, int[] topologicalOrder, Metrics metrics,
+                                     SourceDistancesConsumer consumer, ForkJoinPool pool) {
+        int n = dag.vertexCount();
+        if ((long) n * BLOCK > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Graph too large for blocked distances: " + n + " vertices");
+        }
+        try (Metrics.TimerContext ignored = metrics.time(TIMER_MULTI_SOURCE)) {
+            int[] rank = new int[n];
+            for (int i = 0; i < topologicalOrder.length; i++) {
+                rank[topologicalOrder[i]] = i;
+            }
+            long[] keyed = new long[sources.length];
+            for (int i = 0; i < sources.length; i++) {
+                keyed[i] = ((long) rank[sources[i]] << 32) | i;
+            }
+            Arrays.sort(keyed);
+            int[] byRank = new int[sources.length];
+            for (int i = 0; i < keyed.length; i++) {
+                byRank[i] = (int) keyed[i];
+            }
+
+            int blocks = (sources.length + BLOCK - 1) / BLOCK;
+            metrics.addToCounter(COUNTER_BLOCKS, blocks);
+            // Buffers are handed between block tasks for this call only, so at most one set per
+            // concurrently running task is allocated and all of them are garbage once it returns.
+            ConcurrentLinkedQueue<Buffers> free = new ConcurrentLinkedQueue<>();
+            pool.invoke(ForkJoinTask.adapt(() -> IntStream.range(0, blocks).parallel().forEach(block -> {
+                int first = block * BLOCK;
+                int width = Math.min(BLOCK, sources.length - first);
+                Buffers buffers = free.poll();
+                if (buffers == null) {
+                    buffers = new Buffers(new double[n * BLOCK], new double[n]);
+                }
+                double[] distance = buffers.distance();
+                double[] row = buffers.row();
+                sweep(dag, topologicalOrder, sources, byRank, first, width, rank[sources[byRank[first]]], distance);
+                for (int lane = 0; lane < width; lane++) {
+                    for (int v = 0; v < n; v++) {
+                        row[v] = distance[v * BLOCK + lane];
+                    }
+                    int sourceIndex = byRank[first + lane];
+                    consumer.accept(sourceIndex, sources[sourceIndex], row);
+                }
+                free.add(buffers);
+            })));
+        }
+    }
+
+    private record Buffers(double[] distance, double[] row) {
+    }
+
+    private static void sweep(GraphView dag, int[] order, int[] sources, int[] byRank, int first, int width,
+                              int startRank, double[] distance) {
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        for (int lane = 0; lane < width; lane++) {
+            distance[sources[byRank[first + lane]] * BLOCK + lane] = 0.0;
+        }
+        for (int i = startRank; i < order.length; i++) {
+            int base = order[i] * BLOCK;
+            for (int e = dag.edgeStart(order[i]), end = dag.edgeEnd(order[i]); e < end; e++) {
+                int to = dag.target(e) * BLOCK;
+                double weight = dag.weight(e);
+                for (int lane = 0; lane < BLOCK; lane++) {
+                    distance[to + lane] = Math.min(distance[to + lane], distance[base + lane] + weight);
+                }
+            }
+        }
+    }
+
+    /**
+     * Row-major distances: row {@code i} holds the distances from {@code sources[i]}.
+     */
+    public record DistanceMatrix(int[] sources, int vertexCount, double[] distances) {
+        public double distance(int sourceIndex, int vertex) {
+            return distances[sourceIndex * vertexCount + vertex];
+        }
+
+        public double[] row(int sourceIndex) {
+            return Arrays.copyOfRange(distances, sourceIndex * vertexCount, (sourceIndex + 1) * vertexCount);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package graph.dagsp;
+
+import graph.dagsp.DagShortestPath.CriticalPathResult;
+import graph.dagsp.DagShortestPath.ShortestPathResult;
+import graph.metrics.Metrics;
+import graph.topo.Dag;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Memory-bounded LRU cache of {@link DagShortestPath} results, keyed by graph version, source and
+ * query type.
+ * <p>
+ * {@link #update(Dag)} installs a new graph and bumps the version, dropping every cached result.
+ * Entries are charged an estimate of their retained size (distance and predecessor arrays, or the
+ * critical path list) and the least recently used ones are evicted once the total exceeds the
+ * budget; a result larger than the whole budget is returned but not kept. Cached results are
+ * shared between callers and must not be modified. Thread-safe: the lock covers only the map, so
+ * hits never wait for a computation. A miss installs a pending future and runs the query outside the
+ * lock; concurrent callers of the same query wait for that future instead of running it again.
+ */
+public final class PathQueryCache {
+    public static final String COUNTER_HITS = "dag.cacheHits";
+    public static final String COUNTER_MISSES = "dag.cacheMisses";
+    public static final String COUNTER_EVICTIONS = "dag.cacheEvictions";
+    public static final String COUNTER_INVALIDATIONS = "dag.cacheInvalidations";
+
+    private static final long ENTRY_OVERHEAD = 96;
+    private static final int NO_SOURCE = -1;
+
+    public enum QueryType {
+        SHORTEST,
+        LONGEST
+    }
+
+    private record Key(long version, int source, QueryType type) {
+    }
+
+    /**
+     * {@code bytes} is 0 while the result is pending, which also keeps the entry out of eviction.
+     */
+    private record Entry(CompletableFuture<Object> result, long bytes) {
+    }
+
+    private final long maxBytes;
+    private final Metrics metrics;
+    private final Metrics.Counter hits;
+    private final Metrics.Counter misses;
+    private final Metrics.Counter evictions;
+    private final Metrics.Counter invalidations;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private Dag dag;
+    private long version;
+    private long bytes;
+
+    public PathQueryCache(Dag dag, long maxBytes, Metrics metrics) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Cache budget must be positive");
+        }
+        this.dag = dag;
+        this.maxBytes = maxBytes;
+        this.metrics = metrics;
+        this.hits = metrics.counter(COUNTER_HITS);
+        this.misses = metrics.counter(COUNTER_MISSES);
+        this.evictions = metrics.counter(COUNTER_EVICTIONS);
+        this.invalidations = metrics.counter(COUNTER_INVALIDATIONS);
+    }
+
+    /**
+     * Replaces the graph and returns the new version; results for older versions are discarded.
+     */
+    public synchronized long update(Dag newDag) {
+        dag = newDag;
+        version++;
+        if (!entries.isEmpty()) {
+            invalidations.add(entries.size());
+            entries.clear();
+        }
+        bytes = 0;
+        return version;
+    }
+
+    public synchronized long version() {
+        return version;
+    }
+
+    public synchronized Dag dag() {
+        return dag;
+    }
+
+    public ShortestPathResult shortestPaths(int source) {
+        return (ShortestPathResult) lookup(source, QueryType.SHORTEST);
+    }
+
+    public CriticalPathResult longestPath() {
+        return (CriticalPathResult) lookup(NO_SOURCE, QueryType.LONGEST);
+    }
+
+    public double distance(int source, int target) {
+        return shortestPaths(source).distances()[target];
+    }
+
+    public List<Integer> path(int source, int target) {
+        return shortestPaths(source).buildPath(target);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Estimated bytes retained by cached results.
+     */
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    public long maxBytes() {
+        return maxBytes;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    private Object lookup(int source, QueryType type) {
+        Key key;
+        CompletableFuture<Object> future;
+        Dag current = null;
+        boolean owner;
+        synchronized (this) {
+            key = new Key(version, source, type);
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                hits.increment();
+                future = entry.result();
+                owner = false;
+            } else {
+                misses.increment();
+                future = new CompletableFuture<>();
+                entries.put(key, new Entry(future, 0));
+                current = dag;
+                owner = true;
+            }
+        }
+        if (!owner) {
+            // A hit, or a miss another caller is computing; wait without holding the lock.
+            return join(future);
+        }
+
+        Object result;
+        try {
+            result = type == QueryType.SHORTEST
+                    ? DagShortestPath.shortestPaths(current, source, metrics)
+                    : DagShortestPath.longestPath(current, metrics);
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                discard(key, future);
+            }
+            future.completeExceptionally(e);
+            throw e;
+        }
+        future.complete(result);
+        synchronized (this) {
+            store(key, future, result);
+        }
+        return result;
+    }
+
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Charges a finished entry to the budget, unless it was dropped meanwhile by {@link #update},
+     * {@link #clear} or eviction.
+     */
+    private void store(Key key, CompletableFuture<Object> future, Object result) {
+        Entry pending = entries.get(key);
+        if (pending == null || pending.result() != future) {
+            return;
+        }
+        long payload = result instanceof ShortestPathResult shortest
+                ? 12L * shortest.distances().length
+                : 20L * ((CriticalPathResult) result).path().size();
+        long size = payload + ENTRY_OVERHEAD;
+        if (size > maxBytes) {
+            entries.remove(key);
+            return;
+        }
+        entries.put(key, new Entry(future, size));
+        bytes += size;
+        Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+        while (bytes > maxBytes) {
+            Entry entry = eldest.next().getValue();
+            if (entry.bytes() == 0) {
+                continue;
+            }
+            bytes -= entry.bytes();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private void discard(Key key, CompletableFuture<Object> future) {
+        Entry pending = entries.get(key);
+        if (pending != null && pending.result() == future) {
+            entries.remove(key);
+        }
+    }
+}
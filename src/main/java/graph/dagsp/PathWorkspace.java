@@ -0,0 +1,182 @@
+package graph.dagsp;
+
+import graph.metrics.Metrics;
+import graph.model.GraphView;
+import graph.topo.Dag;
+import graph.topo.TopologicalSorter;
+
+import java.util.Arrays;
+
+/**
+ * Reusable buffers for repeated {@link DagShortestPath} queries.
+ * <p>
+ * Each query bumps an epoch instead of clearing the arrays: a vertex whose stamp differs from the
+ * current epoch has not been reached, so stale distances are never read and nothing is refilled.
+ * Paths are written into caller-supplied {@code int[]} buffers. With {@link graph.metrics.NoopMetrics}
+ * a query allocates nothing once the workspace is large enough for the graph; other metrics
+ * implementations may allocate their timer context.
+ * <p>
+ * Results match {@link DagShortestPath#shortestPaths(GraphView, int, int[], Metrics)} and
+ * {@link DagShortestPath#longestPath(GraphView, int[], Metrics)}, including predecessors, and stay
+ * valid until the next query. Not thread-safe; use one workspace per thread.
+ */
+public final class PathWorkspace {
+    private double[] distance;
+    private int[] predecessor;
+    private int[] stamp;
+    private int epoch;
+    private double unreached = Double.POSITIVE_INFINITY;
+    private int criticalEnd = -1;
+
+    private Metrics counterOwner;
+    private Metrics.Counter relaxations;
+
+    public PathWorkspace(int capacity) {
+        distance = new double[capacity];
+        predecessor = new int[capacity];
+        stamp = new int[capacity];
+    }
+
+    /**
+     * Shortest distances from {@code source}; read them with {@link #distance} and {@link #copyPath}.
+     */
+    public void shortestPaths(GraphView dag, int source, int[] topologicalOrder, Metrics metrics) {
+        begin(dag.vertexCount(), metrics, Double.POSITIVE_INFINITY);
+        reach(source, 0.0, -1);
+        long relaxed = 0;
+        try (Metrics.TimerContext ignored = metrics.time(DagShortestPath.TIMER_SHORTEST)) {
+            for (int vertex : topologicalOrder) {
+                if (stamp[vertex] != epoch) {
+                    continue;
+                }
+                double base = distance[vertex];
+                for (int e = dag.edgeStart(vertex), end = dag.edgeEnd(vertex); e < end; e++) {
+                    int to = dag.target(e);
+                    double candidate = base + dag.weight(e);
+                    if (stamp[to] != epoch || candidate < distance[to]) {
+                        reach(to, candidate, vertex);
+                        relaxed++;
+                    }
+                }
+            }
+        }
+        relaxations.add(relaxed);
+    }
+
+    public void shortestPaths(Dag dag, int source, Metrics metrics) {
+        shortestPaths(dag, source, TopologicalSorter.order(dag, metrics), metrics);
+    }
+
+    public double longestPaths(Dag dag, Metrics metrics) {
+        return longestPaths(dag, TopologicalSorter.order(dag, metrics), metrics);
+    }
+
+    /**
+     * Longest distances with every vertex without predecessors as a start. Returns the critical
+     * path length; {@link #criticalEnd()} is the vertex it ends at.
+     */
+    public double longestPaths(GraphView dag, int[] topologicalOrder, Metrics metrics) {
+        begin(dag.vertexCount(), metrics, Double.NEGATIVE_INFINITY);
+        long relaxed = 0;
+        double best = Double.NEGATIVE_INFINITY;
+        int bestVertex = -1;
+        try (Metrics.TimerContext ignored = metrics.time(DagShortestPath.TIMER_LONGEST)) {
+            for (int vertex : topologicalOrder) {
+                // Every predecessor comes earlier and has a finite distance, so an unreached vertex
+                // here has none and starts a path.
+                if (stamp[vertex] != epoch) {
+                    reach(vertex, 0.0, -1);
+                }
+                double base = distance[vertex];
+                if (base > best || (base == best && vertex < bestVertex)) {
+                    best = base;
+                    bestVertex = vertex;
+                }
+                for (int e = dag.edgeStart(vertex), end = dag.edgeEnd(vertex); e < end; e++) {
+                    int to = dag.target(e);
+                    double candidate = base + dag.weight(e);
+                    if (stamp[to] != epoch || candidate > distance[to]) {
+                        reach(to, candidate, vertex);
+                        relaxed++;
+                    }
+                }
+            }
+        }
+        relaxations.add(relaxed);
+        criticalEnd = bestVertex;
+        return best;
+    }
+
+    public double distance(int vertex) {
+        return stamp[vertex] == epoch ? distance[vertex] : unreached;
+    }
+
+    public int predecessor(int vertex) {
+        return stamp[vertex] == epoch ? predecessor[vertex] : -1;
+    }
+
+    /**
+     * Last vertex of the critical path found by {@link #longestPaths}, or {@code -1} for an empty graph.
+     */
+    public int criticalEnd() {
+        return criticalEnd;
+    }
+
+    /**
+     * Number of vertices on the path to {@code target}, or 0 if it was not reached.
+     */
+    public int pathLength(int target) {
+        if (stamp[target] != epoch) {
+            return 0;
+        }
+        int length = 0;
+        for (int current = target; current != -1; current = predecessor[current]) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Writes the path ending at {@code target} into {@code buffer}, first vertex first, and returns
+     * its length. {@code buffer} must hold at least {@link #pathLength} entries.
+     */
+    public int copyPath(int target, int[] buffer) {
+        int length = pathLength(target);
+        int i = length;
+        for (int current = length == 0 ? -1 : target; current != -1; current = predecessor[current]) {
+            buffer[--i] = current;
+        }
+        return length;
+    }
+
+    public int[] path(int target) {
+        int[] path = new int[pathLength(target)];
+        copyPath(target, path);
+        return path;
+    }
+
+    private void begin(int vertexCount, Metrics metrics, double unreachedValue) {
+        if (vertexCount > stamp.length) {
+            distance = new double[vertexCount];
+            predecessor = new int[vertexCount];
+            stamp = new int[vertexCount];
+            epoch = 0;
+        }
+        if (++epoch == 0) {
+            Arrays.fill(stamp, 0);
+            epoch = 1;
+        }
+        if (metrics != counterOwner) {
+            counterOwner = metrics;
+            relaxations = metrics.counter(DagShortestPath.COUNTER_RELAXATIONS);
+        }
+        unreached = unreachedValue;
+        criticalEnd = -1;
+    }
+
+    private void reach(int vertex, double value, int from) {
+        distance[vertex] = value;
+        predecessor[vertex] = from;
+        stamp[vertex] = epoch;
+    }
+}
@@ -0,0 +1,197 @@
+package graph.dagsp;
+
+import graph.metrics.Metrics;
+import graph.model.GraphView;
+import graph.scc.CondensationBuilder;
+import graph.scc.EdgeMergePolicy;
+import graph.scc.SCCResult;
+import graph.topo.Dag;
+import graph.topo.ReachabilityIndex;
+
+import java.util.Arrays;
+
+/**
+ * Point-to-point shortest paths on a DAG, usually the condensation built by {@link #forComponents}.
+ * <p>
+ * A query first asks the {@link ReachabilityIndex}; a negative answer costs a few array reads. A
+ * positive query scans only the topological slice between the source and target ranks, reaching
+ * no vertex ranked after the target or ruled out by the index, and stops at the target or as soon
+ * as no reached vertex is left to scan. Distances and predecessors on the way to the target equal
+ * those of {@link DagShortestPath#shortestPaths(GraphView, int, int[], Metrics)},
+ * because pruned vertices lie on no path to the target.
+ * <p>
+ * Buffers are reused across queries with epoch stamps, so a query does not allocate. Not
+ * thread-safe; create one engine per thread and share the index between them.
+ */
+public final class PointToPointShortestPath {
+    public static final String COUNTER_QUERIES = "dag.p2pQueries";
+    public static final String COUNTER_INDEX_REJECTS = "dag.p2pIndexRejects";
+    public static final String COUNTER_SETTLED = "dag.p2pSettled";
+
+    private final Dag dag;
+    private final ReachabilityIndex index;
+    private final int[] order;
+    private final int[] rank;
+    private final int[] componentOf;
+    private final double[] distance;
+    private final int[] predecessor;
+    private final int[] stamp;
+    private int epoch;
+    private int lastSource = -1;
+    private int lastTarget = -1;
+
+    private final Metrics.Counter queries;
+    private final Metrics.Counter rejects;
+    private final Metrics.Counter settled;
+
+    public PointToPointShortestPath(Dag dag, Metrics metrics) {
+        this(dag, ReachabilityIndex.of(dag), metrics);
+    }
+
+    public PointToPointShortestPath(Dag dag, ReachabilityIndex index, Metrics metrics) {
+        this(dag, index, null, metrics);
+    }
+
+    private PointToPointShortestPath(Dag dag, ReachabilityIndex index, int[] componentOf, Metrics metrics) {
+        int n = dag.vertexCount();
+        this.dag = dag;
+        this.index = index;
+        this.componentOf = componentOf;
+        this.order = dag.topologicalOrder();
+        this.rank = dag.ranks();
+        this.distance = new double[n];
+        this.predecessor = new int[n];
+        this.stamp = new int[n];
+        this.queries = metrics.counter(COUNTER_QUERIES);
+        this.rejects = metrics.counter(COUNTER_INDEX_REJECTS);
+        this.settled = metrics.counter(COUNTER_SETTLED);
+    }
+
+    /**
+     * Engine over the {@link EdgeMergePolicy#MIN} condensation of {@code graph}, which has the same
+     * shortest distances as keeping every edge. Enables the vertex-level queries.
+     */
+    public static PointToPointShortestPath forComponents(GraphView graph, SCCResult result, Metrics metrics) {
+        Dag condensation = new Dag(CondensationBuilder.build(graph, result, EdgeMergePolicy.MIN, metrics));
+        return new PointToPointShortestPath(condensation, ReachabilityIndex.of(condensation), result.componentOf(), metrics);
+    }
+
+    public Dag dag() {
+        return dag;
+    }
+
+    public ReachabilityIndex index() {
+        return index;
+    }
+
+    /**
+     * Shortest distance from {@code source} to {@code target}, or {@link Double#POSITIVE_INFINITY}
+     * if the target is unreachable.
+     */
+    public double distance(int source, int target) {
+        return search(source, target) ? distance[target] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Writes the shortest path into {@code buffer}, source first, and returns its length (0 if the
+     * target is unreachable).
+     */
+    public int copyPath(int source, int target, int[] buffer) {
+        if (!search(source, target)) {
+            return 0;
+        }
+        int length = 0;
+        for (int v = target; v != -1; v = predecessor[v]) {
+            length++;
+        }
+        int i = length;
+        for (int v = target; v != -1; v = predecessor[v]) {
+            buffer[--i] = v;
+        }
+        return length;
+    }
+
+    public int[] path(int source, int target) {
+        int[] buffer = new int[Math.max(0, rank[target] - rank[source] + 1)];
+        return Arrays.copyOf(buffer, copyPath(source, target, buffer));
+    }
+
+    /**
+     * Distance between the components of two original vertices; 0 inside one component. Only for
+     * engines created by {@link #forComponents}.
+     */
+    public double vertexDistance(int fromVertex, int toVertex) {
+        return distance(component(fromVertex), component(toVertex));
+    }
+
+    /**
+     * Component path between the components of two original vertices, empty if unreachable.
+     */
+    public int[] vertexPath(int fromVertex, int toVertex) {
+        return path(component(fromVertex), component(toVertex));
+    }
+
+    private int component(int vertex) {
+        if (componentOf == null) {
+            throw new IllegalStateException("Engine was not built from an SCC result");
+        }
+        return componentOf[vertex];
+    }
+
+    private boolean search(int source, int target) {
+        queries.increment();
+        if (source == lastSource && target == lastTarget && stamp[target] == epoch) {
+            return true;
+        }
+        lastSource = -1;
+        if (!index.mayReach(source, target)) {
+            rejects.increment();
+            return false;
+        }
+        if (++epoch == 0) {
+            Arrays.fill(stamp, 0);
+            epoch = 1;
+        }
+        int targetRank = rank[target];
+        distance[source] = 0.0;
+        predecessor[source] = -1;
+        stamp[source] = epoch;
+        long scanned = 0;
+        // Reached vertices below the target not scanned yet; once none are left the target is settled
+        // (or unreachable), so the target itself is never counted.
+        int pending = 1;
+        for (int r = rank[source]; r < targetRank && pending > 0; r++) {
+            int v = order[r];
+            if (stamp[v] != epoch) {
+                continue;
+            }
+            scanned++;
+            pending--;
+            double base = distance[v];
+            for (int e = dag.edgeStart(v), end = dag.edgeEnd(v); e < end; e++) {
+                int w = dag.target(e);
+                double candidate = base + dag.weight(e);
+                if (stamp[w] == epoch) {
+                    if (candidate < distance[w]) {
+                        distance[w] = candidate;
+                        predecessor[w] = v;
+                    }
+                } else if (rank[w] <= targetRank && index.mayReach(w, target)) {
+                    distance[w] = candidate;
+                    predecessor[w] = v;
+                    stamp[w] = epoch;
+                    if (w != target) {
+                        pending++;
+                    }
+                }
+            }
+        }
+        boolean found = stamp[target] == epoch;
+        settled.add(scanned);
+        if (found) {
+            lastSource = source;
+            lastTarget = target;
+        }
+        return found;
+    }
+}
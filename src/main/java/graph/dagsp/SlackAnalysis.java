@@ -0,0 +1,554 @@
+package graph.dagsp;
+
+import graph.dagsp.DagShortestPath.CriticalPathResult;
+import graph.metrics.Metrics;
+import graph.model.GraphView;
+import graph.topo.Dag;
+import graph.topo.TopologicalSorter;
+
+import java.util.Arrays;
+
+/**
+ * Earliest/latest times, slack and the K longest source-to-sink paths of a weighted DAG.
+ * <p>
+ * Times follow {@link DagShortestPath#longestPath}: vertices without predecessors start at 0 and an
+ * edge weight is the delay between its endpoints. One forward pass over the topological order gives
+ * the earliest time of every vertex, one backward pass gives the longest remaining path to a sink,
+ * and the latest time is the project length minus that remainder. Critical vertices have slack 0.
+ * <p>
+ * {@link #longestPaths} enumerates paths from a vertex without predecessors to one without
+ * successors in non-increasing length, following Eppstein: every path is the best-completion tree
+ * plus a sequence of sidetrack edges, each costing how much it shortens the remaining path. The
+ * sidetracks along each tree path are kept in a persistent leftist heap and the sidetracks of one
+ * vertex in an in-place binary heap, so every further path costs O(log K) heap work once the
+ * structure is built in O(m log n).
+ */
+public final class SlackAnalysis {
+    public static final String TIMER_SLACK = "dag.slackTime";
+    public static final String TIMER_K_PATHS = "dag.kPathsTime";
+    public static final String COUNTER_K_PATHS_EXPANDED = "dag.kPathsExpanded";
+
+    private final GraphView dag;
+    private final int[] order;
+    private final double[] earliest;
+    private final double[] remaining;
+    private final int[] next;
+    private final int[] sources;
+    private final double length;
+    private PathEnumerator enumerator;
+
+    private SlackAnalysis(GraphView dag, int[] order, double[] earliest, double[] remaining, int[] next, int[] sources,
+                          double length) {
+        this.dag = dag;
+        this.order = order;
+        this.earliest = earliest;
+        this.remaining = remaining;
+        this.next = next;
+        this.sources = sources;
+        this.length = length;
+    }
+
+    public static SlackAnalysis compute(Dag dag, Metrics metrics) {
+        return compute(dag, TopologicalSorter.order(dag, metrics), metrics);
+    }
+
+    public static SlackAnalysis compute(GraphView dag, int[] topologicalOrder, Metrics metrics) {
+        int n = dag.vertexCount();
+        double[] earliest = new double[n];
+        double[] remaining = new double[n];
+        int[] next = new int[n];
+        boolean[] hasPredecessor = new boolean[n];
+        try (Metrics.TimerContext ignored = metrics.time(TIMER_SLACK)) {
+            for (int vertex : topologicalOrder) {
+                double base = earliest[vertex];
+                for (int e = dag.edgeStart(vertex), end = dag.edgeEnd(vertex); e < end; e++) {
+                    int to = dag.target(e);
+                    double candidate = base + dag.weight(e);
+                    if (!hasPredecessor[to] || candidate > earliest[to]) {
+                        earliest[to] = candidate;
+                        hasPredecessor[to] = true;
+                    }
+                }
+            }
+            for (int i = n - 1; i >= 0; i--) {
+                int vertex = topologicalOrder[i];
+                double best = 0.0;
+                int bestEdge = -1;
+                for (int e = dag.edgeStart(vertex), end = dag.edgeEnd(vertex); e < end; e++) {
+                    double candidate = dag.weight(e) + remaining[dag.target(e)];
+                    if (bestEdge == -1 || candidate > best) {
+                        best = candidate;
+                        bestEdge = e;
+                    }
+                }
+                remaining[vertex] = best;
+                next[vertex] = bestEdge;
+            }
+        }
+        int count = 0;
+        for (boolean p : hasPredecessor) {
+            if (!p) {
+                count++;
+            }
+        }
+        int[] sources = new int[count];
+        double length = n == 0 ? Double.NEGATIVE_INFINITY : 0.0;
+        for (int v = 0, i = 0; v < n; v++) {
+            if (!hasPredecessor[v]) {
+                sources[i++] = v;
+                length = i == 1 ? remaining[v] : Math.max(length, remaining[v]);
+            }
+        }
+        return new SlackAnalysis(dag, topologicalOrder, earliest, remaining, next, sources, length);
+    }
+
+    /**
+     * Length of the critical path; {@link Double#NEGATIVE_INFINITY} for an empty graph.
+     */
+    public double projectLength() {
+        return length;
+    }
+
+    public double earliest(int vertex) {
+        return earliest[vertex];
+    }
+
+    public double latest(int vertex) {
+        return length - remaining[vertex];
+    }
+
+    public double slack(int vertex) {
+        return latest(vertex) - earliest[vertex];
+    }
+
+    /**
+     * How much the edge can be delayed without delaying the project.
+     */
+    public double edgeSlack(int vertex, int edge) {
+        return latest(dag.target(edge)) - earliest[vertex] - dag.weight(edge);
+    }
+
+    public double[] slacks() {
+        double[] result = new double[earliest.length];
+        for (int v = 0; v < result.length; v++) {
+            result[v] = slack(v);
+        }
+        return result;
+    }
+
+    /**
+     * Vertices whose slack is at most {@code maxSlack}, in ascending order. Pass a small positive
+     * tolerance rather than 0 to absorb floating-point rounding of fractional weights.
+     */
+    public int[] nearCritical(double maxSlack) {
+        int count = 0;
+        for (int v = 0; v < earliest.length; v++) {
+            if (slack(v) <= maxSlack) {
+                count++;
+            }
+        }
+        int[] result = new int[count];
+        for (int v = 0, i = 0; v < earliest.length; v++) {
+            if (slack(v) <= maxSlack) {
+                result[i++] = v;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The {@code k} longest source-to-sink paths, longest first; fewer if the DAG has fewer paths.
+     * The first one is a critical path. The sidetrack heaps are built on the first call with
+     * {@code k > 1} and reused by later calls.
+     */
+    public synchronized RankedPaths longestPaths(int k, Metrics metrics) {
+        if (k <= 0 || sources.length == 0) {
+            return new RankedPaths(new double[0], 0, new int[0], new int[0], new int[0], -1);
+        }
+        try (Metrics.TimerContext ignored = metrics.time(TIMER_K_PATHS)) {
+            if (k == 1) {
+                return new RankedPaths(new double[]{length}, 1, new int[0], new int[0], new int[0], m() + bestSource());
+            }
+            if (enumerator == null) {
+                enumerator = new PathEnumerator();
+            }
+            return enumerator.run(k, metrics.counter(COUNTER_K_PATHS_EXPANDED));
+        }
+    }
+
+    private int m() {
+        return dag.edgeCount();
+    }
+
+    private int bestSource() {
+        int best = 0;
+        for (int i = 1; i < sources.length; i++) {
+            if (remaining[sources[i]] > remaining[sources[best]]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private int edgeTarget(int edge) {
+        int m = m();
+        return edge >= m ? sources[edge - m] : dag.target(edge);
+    }
+
+    /**
+     * Result of {@link #longestPaths}. Each path is kept as its last sidetrack plus the path it
+     * branched from, so K paths take O(K) memory however long they are; {@link #path} rebuilds one
+     * in time proportional to its length.
+     */
+    public final class RankedPaths {
+        private final double[] lengths;
+        private final int count;
+        private final int[] recordEdge;
+        private final int[] recordVertex;
+        private final int[] recordParent;
+        private final int rootNext;
+
+        private RankedPaths(double[] lengths, int count, int[] recordEdge, int[] recordVertex, int[] recordParent,
+                            int rootNext) {
+            this.lengths = lengths;
+            this.count = count;
+            this.recordEdge = recordEdge;
+            this.recordVertex = recordVertex;
+            this.recordParent = recordParent;
+            this.rootNext = rootNext;
+        }
+
+        public int size() {
+            return count;
+        }
+
+        public double length(int i) {
+            return lengths[i];
+        }
+
+        /**
+         * Vertices of the {@code i}-th longest path. Path {@code i > 0} is the tree path with the
+         * sidetracks of record {@code i - 1} taken in order.
+         */
+        public int[] path(int i) {
+            int record = i - 1;
+            int sidetracks = 0;
+            for (int r = record; r != -1; r = recordParent[r]) {
+                sidetracks++;
+            }
+            int[] chain = new int[sidetracks];
+            for (int r = record; r != -1; r = recordParent[r]) {
+                chain[--sidetracks] = r;
+            }
+            int[] path = new int[16];
+            int size = 0;
+            int vertex = -1;
+            int taken = 0;
+            while (true) {
+                int edge;
+                if (taken < chain.length && recordVertex[chain[taken]] == vertex) {
+                    edge = recordEdge[chain[taken++]];
+                } else {
+                    edge = vertex == -1 ? rootNext : next[vertex];
+                }
+                if (edge == -1) {
+                    return Arrays.copyOf(path, size);
+                }
+                vertex = edgeTarget(edge);
+                if (size == path.length) {
+                    path = Arrays.copyOf(path, size * 2);
+                }
+                path[size++] = vertex;
+            }
+        }
+
+        public CriticalPathResult get(int i) {
+            return new CriticalPathResult(lengths[i], Arrays.stream(path(i)).boxed().toList());
+        }
+    }
+
+    /**
+     * Eppstein's enumeration with a virtual root {@code n} whose out-edges lead to every source.
+     * Such a pseudo-edge is numbered {@code m + i} for {@code sources[i]}.
+     */
+    private final class PathEnumerator {
+        private final int n = dag.vertexCount();
+        private final int m = dag.edgeCount();
+        private final int root = n;
+        private final int rootNext;
+
+        /** Sidetracks of vertex {@code v} in {@code side[sideStart[v]..sideStart[v + 1])}, heap-ordered by loss. */
+        private final int[] side;
+        private final int[] sideStart;
+        /** Root of the persistent heap holding the best sidetrack of every vertex on the tree path from {@code v}. */
+        private final int[] treeHeap;
+
+        private double[] nodeKey = new double[1024];
+        private int[] nodeVertex = new int[1024];
+        private int[] nodeLeft = new int[1024];
+        private int[] nodeRight = new int[1024];
+        private int[] nodeRank = new int[1024];
+        private int nodeCount;
+
+        /** An emitted path is its parent's path plus one sidetrack; -1 is the tree path itself. The virtual root is vertex -1. */
+        private int[] recordEdge;
+        private int[] recordVertex;
+        private int[] recordParent;
+        private int records;
+
+        PathEnumerator() {
+            rootNext = m + bestSource();
+            sideStart = new int[n + 2];
+            for (int v = 0; v < n; v++) {
+                sideStart[v + 1] = sideStart[v] + Math.max(0, dag.outDegree(v) - 1);
+            }
+            sideStart[n + 1] = sideStart[n] + sources.length - 1;
+            side = new int[sideStart[n + 1]];
+            for (int v = 0; v < n; v++) {
+                int i = sideStart[v];
+                for (int e = dag.edgeStart(v), end = dag.edgeEnd(v); e < end; e++) {
+                    if (e != next[v]) {
+                        side[i++] = e;
+                    }
+                }
+                heapify(v);
+            }
+            for (int s = 0, i = sideStart[n]; s < sources.length; s++) {
+                if (m + s != rootNext) {
+                    side[i++] = m + s;
+                }
+            }
+            heapify(root);
+
+            // Tree edges point forward in topological order, so the reverse order builds every
+            // tree child's heap before its parent's.
+            treeHeap = new int[n + 1];
+            for (int i = n - 1; i >= 0; i--) {
+                buildTreeHeap(order[i]);
+            }
+            buildTreeHeap(root);
+        }
+
+        RankedPaths run(int k, Metrics.Counter expanded) {
+            double[] lengths = new double[Math.min(k, 1024)];
+            lengths[0] = length;
+            recordEdge = new int[lengths.length];
+            recordVertex = new int[lengths.length];
+            recordParent = new int[lengths.length];
+            records = 0;
+            int found = 1;
+            Candidates queue = new Candidates();
+            pushNode(queue, treeHeap[root], 0.0, -1);
+            while (found < k && queue.size > 0) {
+                int c = queue.pop();
+                double loss = queue.loss[c];
+                double base = queue.base[c];
+                int node = queue.node[c];
+                int vertex = queue.vertex[c];
+                int slot = queue.slot[c];
+                int parent = queue.parent[c];
+                int edge = side[sideStart[vertex] + slot];
+                expanded.increment();
+
+                int record = addRecord(edge, vertex == root ? -1 : vertex, parent);
+                if (found == lengths.length) {
+                    lengths = Arrays.copyOf(lengths, found * 2);
+                }
+                lengths[found++] = length - loss;
+
+                // Heap children of this sidetrack: the next ones at the same vertex and, for the best
+                // sidetrack of a vertex, those of later vertices on the same tree path.
+                int size = sideStart[vertex + 1] - sideStart[vertex];
+                for (int child = 2 * slot + 1; child <= 2 * slot + 2 && child < size; child++) {
+                    queue.push(base + loss(vertex, side[sideStart[vertex] + child]), base, -1, vertex, child, parent);
+                }
+                if (node != -1) {
+                    pushNode(queue, nodeLeft[node], base, parent);
+                    pushNode(queue, nodeRight[node], base, parent);
+                }
+                // Or keep this sidetrack and add another one further along.
+                pushNode(queue, treeHeap[edgeTarget(edge)], loss, record);
+            }
+            return new RankedPaths(lengths, found, recordEdge, recordVertex, recordParent, rootNext);
+        }
+
+        private void pushNode(Candidates queue, int node, double base, int parent) {
+            if (node != -1) {
+                queue.push(base + nodeKey[node], base, node, nodeVertex[node], 0, parent);
+            }
+        }
+
+        private int addRecord(int edge, int vertex, int parent) {
+            if (records == recordEdge.length) {
+                recordEdge = Arrays.copyOf(recordEdge, records * 2);
+                recordVertex = Arrays.copyOf(recordVertex, records * 2);
+                recordParent = Arrays.copyOf(recordParent, records * 2);
+            }
+            recordEdge[records] = edge;
+            recordVertex[records] = vertex;
+            recordParent[records] = parent;
+            return records++;
+        }
+
+        /**
+         * How much shorter the longest completion becomes when {@code vertex} leaves by {@code edge}.
+         */
+        private double loss(int vertex, int edge) {
+            if (edge >= m) {
+                return length - remaining[sources[edge - m]];
+            }
+            return remaining[vertex] - dag.weight(edge) - remaining[dag.target(edge)];
+        }
+
+        private void buildTreeHeap(int v) {
+            int tree = v == root ? rootNext : next[v];
+            int below = tree == -1 ? -1 : treeHeap[edgeTarget(tree)];
+            if (sideStart[v + 1] == sideStart[v]) {
+                treeHeap[v] = below;
+                return;
+            }
+            int single = newNode(loss(v, side[sideStart[v]]), v);
+            treeHeap[v] = merge(single, below);
+        }
+
+        /** Persistent leftist merge: copies the right spine of the result and shares everything else. */
+        private int merge(int a, int b) {
+            if (a == -1) {
+                return b;
+            }
+            if (b == -1) {
+                return a;
+            }
+            if (nodeKey[b] < nodeKey[a]) {
+                int tmp = a;
+                a = b;
+                b = tmp;
+            }
+            int right = merge(nodeRight[a], b);
+            int left = nodeLeft[a];
+            int copy = newNode(nodeKey[a], nodeVertex[a]);
+            if (left == -1 || nodeRank[left] < nodeRank[right]) {
+                nodeLeft[copy] = right;
+                nodeRight[copy] = left;
+            } else {
+                nodeLeft[copy] = left;
+                nodeRight[copy] = right;
+            }
+            nodeRank[copy] = nodeRight[copy] == -1 ? 1 : nodeRank[nodeRight[copy]] + 1;
+            return copy;
+        }
+
+        private int newNode(double key, int vertex) {
+            if (nodeCount == nodeKey.length) {
+                int capacity = nodeCount * 2;
+                nodeKey = Arrays.copyOf(nodeKey, capacity);
+                nodeVertex = Arrays.copyOf(nodeVertex, capacity);
+                nodeLeft = Arrays.copyOf(nodeLeft, capacity);
+                nodeRight = Arrays.copyOf(nodeRight, capacity);
+                nodeRank = Arrays.copyOf(nodeRank, capacity);
+            }
+            int node = nodeCount++;
+            nodeKey[node] = key;
+            nodeVertex[node] = vertex;
+            nodeLeft[node] = -1;
+            nodeRight[node] = -1;
+            nodeRank[node] = 1;
+            return node;
+        }
+
+        private void heapify(int vertex) {
+            int from = sideStart[vertex];
+            int size = sideStart[vertex + 1] - from;
+            for (int i = size / 2 - 1; i >= 0; i--) {
+                int item = side[from + i];
+                double key = loss(vertex, item);
+                int at = i;
+                while (true) {
+                    int child = 2 * at + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    double childKey = loss(vertex, side[from + child]);
+                    if (child + 1 < size) {
+                        double rightKey = loss(vertex, side[from + child + 1]);
+                        if (rightKey < childKey) {
+                            child++;
+                            childKey = rightKey;
+                        }
+                    }
+                    if (childKey >= key) {
+                        break;
+                    }
+                    side[from + at] = side[from + child];
+                    at = child;
+                }
+                side[from + at] = item;
+            }
+        }
+    }
+
+    /** Binary min-heap of candidate paths in parallel arrays. */
+    private static final class Candidates {
+        double[] loss = new double[64];
+        double[] base = new double[64];
+        int[] node = new int[64];
+        int[] vertex = new int[64];
+        int[] slot = new int[64];
+        int[] parent = new int[64];
+        int[] heap = new int[64];
+        int size;
+        int count;
+
+        void push(double loss, double base, int node, int vertex, int slot, int parent) {
+            if (count == this.loss.length) {
+                int capacity = count * 2;
+                this.loss = Arrays.copyOf(this.loss, capacity);
+                this.base = Arrays.copyOf(this.base, capacity);
+                this.node = Arrays.copyOf(this.node, capacity);
+                this.vertex = Arrays.copyOf(this.vertex, capacity);
+                this.slot = Arrays.copyOf(this.slot, capacity);
+                this.parent = Arrays.copyOf(this.parent, capacity);
+                heap = Arrays.copyOf(heap, capacity);
+            }
+            int c = count++;
+            this.loss[c] = loss;
+            this.base[c] = base;
+            this.node[c] = node;
+            this.vertex[c] = vertex;
+            this.slot[c] = slot;
+            this.parent[c] = parent;
+            int i = size++;
+            while (i > 0) {
+                int up = (i - 1) >>> 1;
+                if (this.loss[heap[up]] <= loss) {
+                    break;
+                }
+                heap[i] = heap[up];
+                i = up;
+            }
+            heap[i] = c;
+        }
+
+        int pop() {
+            int top = heap[0];
+            int last = heap[--size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && loss[heap[child + 1]] < loss[heap[child]]) {
+                    child++;
+                }
+                if (loss[heap[child]] >= loss[last]) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return top;
+        }
+    }
+}
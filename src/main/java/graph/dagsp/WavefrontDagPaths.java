@@ -0,0 +1,123 @@
+package graph.dagsp;
+
+import graph.dagsp.DagShortestPath.CriticalPathResult;
+import graph.dagsp.DagShortestPath.ShortestPathResult;
+import graph.metrics.Metrics;
+import graph.model.CsrGraph;
+import graph.model.GraphView;
+import graph.topo.ParallelTopologicalSorter;
+import graph.topo.TopologicalLayers;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Layer-parallel shortest and longest path DP. Vertices of one {@link TopologicalLayers} layer only
+ * depend on earlier layers, so each vertex pulls its value from its predecessors independently.
+ * <p>
+ * Results equal {@link DagShortestPath} run over {@code layers.order()}: ties between equally good
+ * predecessors are resolved in favour of the one earliest in that order, which is the predecessor
+ * the sequential push-style sweep keeps.
+ */
+public final class WavefrontDagPaths {
+    public static final String TIMER_WAVEFRONT_SHORTEST = "dag.wavefrontShortestTime";
+    public static final String TIMER_WAVEFRONT_LONGEST = "dag.wavefrontLongestTime";
+
+    private WavefrontDagPaths() {
+    }
+
+    public static ShortestPathResult shortestPaths(GraphView dag, int source, TopologicalLayers layers, Metrics metrics) {
+        return shortestPaths(dag, source, layers, metrics, ForkJoinPool.commonPool());
+    }
+
+    public static ShortestPathResult shortestPaths(GraphView dag, int source, TopologicalLayers layers,
+                                                   Metrics metrics, ForkJoinPool pool) {
+        int n = dag.vertexCount();
+        double[] distance = new double[n];
+        int[] predecessor = new int[n];
+        try (Metrics.TimerContext ignored = metrics.time(TIMER_WAVEFRONT_SHORTEST)) {
+            CsrGraph reverse = CsrGraph.transpose(dag);
+            int[] rank = rank(layers.order());
+            int sourceRank = rank[source];
+            int[] order = layers.order();
+            for (int layer = 0; layer < layers.layerCount(); layer++) {
+                int start = layers.layerStart()[layer];
+                ParallelTopologicalSorter.run(pool, layers.layerSize(layer), i -> {
+                    int v = order[start + i];
+                    double best = Double.POSITIVE_INFINITY;
+                    int bestPredecessor = -1;
+                    if (v == source) {
+                        best = 0.0;
+                    } else if (rank[v] > sourceRank) {
+                        for (int e = reverse.edgeStart(v), end = reverse.edgeEnd(v); e < end; e++) {
+                            int u = reverse.target(e);
+                            if (distance[u] == Double.POSITIVE_INFINITY) {
+                                continue;
+                            }
+                            double candidate = distance[u] + reverse.weight(e);
+                            if (candidate < best || (candidate == best && bestPredecessor != -1 && rank[u] < rank[bestPredecessor])) {
+                                best = candidate;
+                                bestPredecessor = u;
+                            }
+                        }
+                    }
+                    distance[v] = best;
+                    predecessor[v] = bestPredecessor;
+                });
+            }
+        }
+        return new ShortestPathResult(distance, predecessor, source);
+    }
+
+    public static CriticalPathResult longestPath(GraphView dag, TopologicalLayers layers, Metrics metrics) {
+        return longestPath(dag, layers, metrics, ForkJoinPool.commonPool());
+    }
+
+    public static CriticalPathResult longestPath(GraphView dag, TopologicalLayers layers, Metrics metrics, ForkJoinPool pool) {
+        int n = dag.vertexCount();
+        double[] distance = new double[n];
+        int[] predecessor = new int[n];
+        try (Metrics.TimerContext ignored = metrics.time(TIMER_WAVEFRONT_LONGEST)) {
+            CsrGraph reverse = CsrGraph.transpose(dag);
+            int[] rank = rank(layers.order());
+            int[] order = layers.order();
+            for (int layer = 0; layer < layers.layerCount(); layer++) {
+                int start = layers.layerStart()[layer];
+                ParallelTopologicalSorter.run(pool, layers.layerSize(layer), i -> {
+                    int v = order[start + i];
+                    double best = reverse.outDegree(v) == 0 ? 0.0 : Double.NEGATIVE_INFINITY;
+                    int bestPredecessor = -1;
+                    for (int e = reverse.edgeStart(v), end = reverse.edgeEnd(v); e < end; e++) {
+                        int u = reverse.target(e);
+                        double candidate = distance[u] + reverse.weight(e);
+                        if (candidate > best || (candidate == best && bestPredecessor != -1 && rank[u] < rank[bestPredecessor])) {
+                            best = candidate;
+                            bestPredecessor = u;
+                        }
+                    }
+                    distance[v] = best;
+                    predecessor[v] = bestPredecessor;
+                });
+            }
+        }
+
+        double bestDistance = Double.NEGATIVE_INFINITY;
+        int bestVertex = -1;
+        for (int v = 0; v < n; v++) {
+            if (distance[v] > bestDistance) {
+                bestDistance = distance[v];
+                bestVertex = v;
+            }
+        }
+        List<Integer> path = bestVertex == -1 ? List.of() : DagShortestPath.reconstructPath(bestVertex, predecessor);
+        return new CriticalPathResult(bestDistance, path);
+    }
+
+    private static int[] rank(int[] order) {
+        int[] rank = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            rank[order[i]] = i;
+        }
+        return rank;
+    }
+}
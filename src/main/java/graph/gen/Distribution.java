@@ -0,0 +1,63 @@
+package graph.gen;
+
+import java.util.SplittableRandom;
+
+/**
+ * Parametric distribution used for cluster sizes and edge weights.
+ */
+public record Distribution(Kind kind, double min, double max, double shape) {
+    public enum Kind {
+        CONSTANT,
+        UNIFORM,
+        /**
+         * Bounded power law on {@code [min, max]} with density proportional to {@code x^-shape}.
+         */
+        POWER_LAW,
+        /**
+         * {@code min} plus an exponential variate with mean {@code shape}, capped at {@code max}.
+         */
+        EXPONENTIAL
+    }
+
+    public Distribution {
+        if (min > max) {
+            throw new IllegalArgumentException("min must not exceed max");
+        }
+        if (kind == Kind.POWER_LAW && min <= 0) {
+            throw new IllegalArgumentException("power law needs a positive minimum");
+        }
+    }
+
+    public static Distribution constant(double value) {
+        return new Distribution(Kind.CONSTANT, value, value, 0);
+    }
+
+    public static Distribution uniform(double min, double max) {
+        return new Distribution(Kind.UNIFORM, min, max, 0);
+    }
+
+    public static Distribution powerLaw(double min, double max, double exponent) {
+        return new Distribution(Kind.POWER_LAW, min, max, exponent);
+    }
+
+    public static Distribution exponential(double min, double mean, double max) {
+        return new Distribution(Kind.EXPONENTIAL, min, max, mean);
+    }
+
+    public double sample(SplittableRandom random) {
+        return switch (kind) {
+            case CONSTANT -> min;
+            case UNIFORM -> min + (max - min) * random.nextDouble();
+            case POWER_LAW -> {
+                double u = random.nextDouble();
+                if (Math.abs(shape - 1.0) < 1e-9) {
+                    yield min * Math.pow(max / min, u);
+                }
+                double a = Math.pow(min, 1 - shape);
+                double b = Math.pow(max, 1 - shape);
+                yield Math.pow(a + (b - a) * u, 1 / (1 - shape));
+            }
+            case EXPONENTIAL -> Math.min(max, min - shape * Math.log(1 - random.nextDouble()));
+        };
+    }
+}
@@ -0,0 +1,73 @@
+package graph.gen;
+
+/**
+ * Parameters of a synthetic graph.
+ *
+ * @param seed                 master seed; equal specs always produce identical graphs
+ * @param vertices             vertex count
+ * @param averageDegree        expected out-degree, including the cycle edge of non-trivial clusters
+ * @param clusterSizes         sizes of the planted strongly connected clusters (rounded down, at least 1)
+ * @param depth                number of DAG levels the clusters are spread over
+ * @param intraClusterFraction probability that an extra edge stays inside its cluster
+ * @param weights              edge weight distribution
+ * @param integerWeights       round sampled weights to whole numbers, as in the bundled datasets
+ * @param shuffleIds           scatter vertex ids with a random permutation instead of numbering clusters contiguously
+ */
+public record GeneratorSpec(long seed,
+                            int vertices,
+                            double averageDegree,
+                            Distribution clusterSizes,
+                            int depth,
+                            double intraClusterFraction,
+                            Distribution weights,
+                            boolean integerWeights,
+                            boolean shuffleIds) {
+    public GeneratorSpec {
+        if (vertices < 0) {
+            throw new IllegalArgumentException("vertices must be non-negative");
+        }
+        if (averageDegree < 0) {
+            throw new IllegalArgumentException("averageDegree must be non-negative");
+        }
+        if (depth < 1) {
+            throw new IllegalArgumentException("depth must be positive");
+        }
+        if (intraClusterFraction < 0 || intraClusterFraction > 1) {
+            throw new IllegalArgumentException("intraClusterFraction must be within [0, 1]");
+        }
+    }
+
+    /**
+     * Clusters of 1-8 vertices over {@code vertices / 16} levels, average degree 2 and integer
+     * weights 1-10 (uniform on [1, 10) rounded to nearest, so 1 and 10 are half as likely), with
+     * shuffled ids.
+     */
+    public static GeneratorSpec defaults(int vertices, long seed) {
+        return new GeneratorSpec(seed, vertices, 2.0, Distribution.uniform(1, 9), Math.max(1, vertices / 16),
+                0.2, Distribution.uniform(1, 10), true, true);
+    }
+
+    public GeneratorSpec withAverageDegree(double value) {
+        return new GeneratorSpec(seed, vertices, value, clusterSizes, depth, intraClusterFraction, weights, integerWeights, shuffleIds);
+    }
+
+    public GeneratorSpec withClusterSizes(Distribution value) {
+        return new GeneratorSpec(seed, vertices, averageDegree, value, depth, intraClusterFraction, weights, integerWeights, shuffleIds);
+    }
+
+    public GeneratorSpec withDepth(int value) {
+        return new GeneratorSpec(seed, vertices, averageDegree, clusterSizes, value, intraClusterFraction, weights, integerWeights, shuffleIds);
+    }
+
+    public GeneratorSpec withIntraClusterFraction(double value) {
+        return new GeneratorSpec(seed, vertices, averageDegree, clusterSizes, depth, value, weights, integerWeights, shuffleIds);
+    }
+
+    public GeneratorSpec withWeights(Distribution value, boolean integer) {
+        return new GeneratorSpec(seed, vertices, averageDegree, clusterSizes, depth, intraClusterFraction, value, integer, shuffleIds);
+    }
+
+    public GeneratorSpec withShuffleIds(boolean value) {
+        return new GeneratorSpec(seed, vertices, averageDegree, clusterSizes, depth, intraClusterFraction, weights, integerWeights, value);
+    }
+}
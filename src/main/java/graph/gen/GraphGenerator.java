@@ -0,0 +1,288 @@
+package graph.gen;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import graph.model.CsrGraph;
+import graph.model.OffHeapCsrGraph;
+import graph.model.WeightedDirectedGraph;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded synthetic graph generator.
+ * <p>
+ * Vertices are grouped into clusters whose sizes follow {@link GeneratorSpec#clusterSizes()};
+ * every cluster larger than one vertex is closed into a cycle, so it forms one strongly connected
+ * component. Clusters are spread in order over {@link GeneratorSpec#depth()} levels and extra
+ * edges either stay inside their cluster or point to a strictly later level (the first one to
+ * the next level), so the condensation is a DAG whose longest path spans every level.
+ * <p>
+ * Each vertex draws its edges from its own random stream derived from the seed, so edges can be
+ * regenerated vertex by vertex in any order. Only per-vertex and per-cluster arrays are kept in
+ * memory; JSON output and CSR construction never buffer the edge list.
+ */
+public final class GraphGenerator {
+    private final GeneratorSpec spec;
+    private final int[] clusterStart;
+    private final int clusterCount;
+    private final int[] levelStart;
+    private final int levels;
+    private final int[] idOf;
+    private final int[] internalOf;
+
+    private GraphGenerator(GeneratorSpec spec) {
+        this.spec = spec;
+        int n = spec.vertices();
+        SplittableRandom master = new SplittableRandom(spec.seed());
+
+        int[] starts = new int[16];
+        int count = 0;
+        int next = 0;
+        while (next < n) {
+            if (count + 1 >= starts.length) {
+                starts = Arrays.copyOf(starts, starts.length * 2);
+            }
+            starts[count++] = next;
+            int size = (int) Math.max(1, spec.clusterSizes().sample(master));
+            next = (int) Math.min(n, (long) next + size);
+        }
+        starts[count] = n;
+        this.clusterStart = Arrays.copyOf(starts, count + 1);
+        this.clusterCount = count;
+
+        this.levels = Math.max(1, Math.min(spec.depth(), clusterCount));
+        this.levelStart = new int[levels + 1];
+        for (int level = 0; level < levels; level++) {
+            int firstCluster = (int) (((long) level * clusterCount + levels - 1) / levels);
+            levelStart[level] = clusterStart[firstCluster];
+        }
+        levelStart[levels] = n;
+
+        if (spec.shuffleIds()) {
+            idOf = new int[n];
+            for (int i = 0; i < n; i++) {
+                idOf[i] = i;
+            }
+            for (int i = n - 1; i > 0; i--) {
+                int j = master.nextInt(i + 1);
+                int tmp = idOf[i];
+                idOf[i] = idOf[j];
+                idOf[j] = tmp;
+            }
+            internalOf = new int[n];
+            for (int i = 0; i < n; i++) {
+                internalOf[idOf[i]] = i;
+            }
+        } else {
+            idOf = null;
+            internalOf = null;
+        }
+    }
+
+    @FunctionalInterface
+    public interface EdgeSink {
+        void accept(int from, int to, double weight);
+    }
+
+    /**
+     * Emits every edge grouped by source vertex id in ascending order.
+     */
+    public static void forEachEdge(GeneratorSpec spec, EdgeSink sink) {
+        GraphGenerator generator = new GraphGenerator(spec);
+        for (int v = 0; v < spec.vertices(); v++) {
+            generator.emit(v, sink);
+        }
+    }
+
+    /**
+     * Builds the CSR arrays in two passes over the per-vertex streams: one to size the offsets, one
+     * to fill targets and weights in place.
+     */
+    public static CsrGraph generate(GeneratorSpec spec) {
+        GraphGenerator generator = new GraphGenerator(spec);
+        int n = spec.vertices();
+        int[] offsets = new int[n + 1];
+        int[] degree = new int[1];
+        EdgeSink counter = (from, to, weight) -> degree[0]++;
+        for (int v = 0; v < n; v++) {
+            degree[0] = 0;
+            generator.emit(v, counter);
+            long end = (long) offsets[v] + degree[0];
+            if (end > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Generated graph exceeds " + Integer.MAX_VALUE + " edges");
+            }
+            offsets[v + 1] = (int) end;
+        }
+
+        int[] targets = new int[offsets[n]];
+        double[] weights = new double[offsets[n]];
+        int[] cursor = new int[1];
+        EdgeSink filler = (from, to, weight) -> {
+            targets[cursor[0]] = to;
+            weights[cursor[0]] = weight;
+            cursor[0]++;
+        };
+        for (int v = 0; v < n; v++) {
+            generator.emit(v, filler);
+        }
+        return new CsrGraph(offsets, targets, weights);
+    }
+
+    /**
+     * Same graph as {@link #generate} in native memory; only the per-vertex degrees are kept on the
+     * heap while it is built.
+     */
+    public static OffHeapCsrGraph generateOffHeap(GeneratorSpec spec) {
+        GraphGenerator generator = new GraphGenerator(spec);
+        int n = spec.vertices();
+        int[] degree = new int[n];
+        EdgeSink counter = (from, to, weight) -> degree[from]++;
+        for (int v = 0; v < n; v++) {
+            generator.emit(v, counter);
+        }
+        OffHeapCsrGraph.Writer writer = OffHeapCsrGraph.allocate(degree);
+        for (int v = 0; v < n; v++) {
+            generator.emit(v, writer::addEdge);
+        }
+        return writer.build();
+    }
+
+    public static WeightedDirectedGraph generateGraph(GeneratorSpec spec) {
+        return new WeightedDirectedGraph(generate(spec));
+    }
+
+    /**
+     * Vertex id of the first vertex of the first level, which reaches every level.
+     */
+    public static int suggestedSource(GeneratorSpec spec) {
+        return spec.vertices() == 0 ? 0 : new GraphGenerator(spec).id(0);
+    }
+
+    /**
+     * Streams the graph in the JSON schema read by {@link graph.model.GraphLoader}.
+     */
+    public static void writeJson(GeneratorSpec spec, Path path) throws IOException {
+        GraphGenerator generator = new GraphGenerator(spec);
+        try (JsonGenerator json = new JsonFactory().createGenerator(path.toFile(), JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeBooleanField("directed", true);
+            json.writeNumberField("n", spec.vertices());
+            json.writeArrayFieldStart("edges");
+            IOException[] failure = new IOException[1];
+            EdgeSink writer = (from, to, weight) -> {
+                if (failure[0] != null) {
+                    return;
+                }
+                try {
+                    json.writeStartObject();
+                    json.writeNumberField("u", from);
+                    json.writeNumberField("v", to);
+                    if (weight == Math.rint(weight)) {
+                        json.writeNumberField("w", (long) weight);
+                    } else {
+                        json.writeNumberField("w", weight);
+                    }
+                    json.writeEndObject();
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            };
+            for (int v = 0; v < spec.vertices() && failure[0] == null; v++) {
+                generator.emit(v, writer);
+            }
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+            json.writeEndArray();
+            json.writeNumberField("source", spec.vertices() == 0 ? 0 : generator.id(0));
+            json.writeStringField("weight_model", "edge");
+            json.writeEndObject();
+        }
+    }
+
+    /**
+     * Usage: {@code GraphGenerator <output.json> [vertices] [averageDegree] [seed]}.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: GraphGenerator <output.json> [vertices] [averageDegree] [seed]");
+            return;
+        }
+        int vertices = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1L;
+        GeneratorSpec spec = GeneratorSpec.defaults(vertices, seed);
+        if (args.length > 2) {
+            spec = spec.withAverageDegree(Double.parseDouble(args[2]));
+        }
+        long start = System.nanoTime();
+        writeJson(spec, Path.of(args[0]));
+        System.out.printf("Wrote %s (%d vertices) in %.1f s%n", args[0], vertices, (System.nanoTime() - start) / 1e9);
+    }
+
+    private void emit(int vertexId, EdgeSink sink) {
+        int u = internal(vertexId);
+        SplittableRandom random = new SplittableRandom(mix64(spec.seed() ^ mix64(u + 1L)));
+        int cluster = clusterOf(u);
+        int first = clusterStart[cluster];
+        int size = clusterStart[cluster + 1] - first;
+        int level = levelOf(cluster);
+
+        double extra = spec.averageDegree();
+        if (size > 1) {
+            int successor = u + 1 < first + size ? u + 1 : first;
+            sink.accept(vertexId, id(successor), weight(random));
+            extra = Math.max(0, extra - 1);
+        }
+        int count = (int) extra + (random.nextDouble() < extra - Math.floor(extra) ? 1 : 0);
+        boolean crossed = false;
+        for (int i = 0; i < count; i++) {
+            boolean intra = size > 1 && (level == levels - 1 || random.nextDouble() < spec.intraClusterFraction());
+            int target;
+            if (intra) {
+                target = first + random.nextInt(size);
+                if (target == u) {
+                    target = u + 1 < first + size ? u + 1 : first;
+                }
+            } else if (level < levels - 1) {
+                int targetLevel = crossed ? level + 1 + random.nextInt(levels - 1 - level) : level + 1;
+                crossed = true;
+                target = levelStart[targetLevel] + random.nextInt(levelStart[targetLevel + 1] - levelStart[targetLevel]);
+            } else {
+                continue;
+            }
+            sink.accept(vertexId, id(target), weight(random));
+        }
+    }
+
+    private double weight(SplittableRandom random) {
+        double w = spec.weights().sample(random);
+        return spec.integerWeights() ? Math.rint(w) : w;
+    }
+
+    private int clusterOf(int u) {
+        int index = Arrays.binarySearch(clusterStart, 0, clusterCount, u);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    private int levelOf(int cluster) {
+        return (int) ((long) cluster * levels / clusterCount);
+    }
+
+    private int id(int internal) {
+        return idOf == null ? internal : idOf[internal];
+    }
+
+    private int internal(int id) {
+        return internalOf == null ? id : internalOf[id];
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -19,6 +19,31 @@ public interface Metrics {
 
     TimerContext time(String name);
 
+    /**
+     * Adds every counter and timer of {@code other} to this instance, e.g. to combine per-task
+     * metrics once the tasks are done.
+     */
+    default void merge(Metrics other) {
+        other.counters().forEach(this::addToCounter);
+        other.times().forEach(this::addTime);
+    }
+
+    /**
+     * Resolves a counter once so hot loops can update it without a name lookup. Implementations
+     * without a cheaper path fall back to {@link #addToCounter}.
+     */
+    default Counter counter(String name) {
+        return delta -> addToCounter(name, delta);
+    }
+
+    interface Counter {
+        void add(long delta);
+
+        default void increment() {
+            add(1);
+        }
+    }
+
     interface TimerContext extends AutoCloseable {
         @Override
         void close();
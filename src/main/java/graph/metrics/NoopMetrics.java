@@ -0,0 +1,61 @@
+package graph.metrics;
+
+import java.util.Map;
+
+/**
+ * Metrics sink that records nothing. Every operation is an empty method on a final class, so the
+ * JIT can inline and drop instrumentation entirely when this is the only implementation in use.
+ */
+public final class NoopMetrics implements Metrics {
+    public static final NoopMetrics INSTANCE = new NoopMetrics();
+
+    private static final Counter NOOP_COUNTER = delta -> {
+    };
+    private static final TimerContext NOOP_TIMER = () -> {
+    };
+
+    private NoopMetrics() {
+    }
+
+    @Override
+    public void incrementCounter(String name) {
+    }
+
+    @Override
+    public void addToCounter(String name, long delta) {
+    }
+
+    @Override
+    public long getCounter(String name) {
+        return 0L;
+    }
+
+    @Override
+    public Map<String, Long> counters() {
+        return Map.of();
+    }
+
+    @Override
+    public void addTime(String name, long durationNanos) {
+    }
+
+    @Override
+    public long getTime(String name) {
+        return 0L;
+    }
+
+    @Override
+    public Map<String, Long> times() {
+        return Map.of();
+    }
+
+    @Override
+    public TimerContext time(String name) {
+        return NOOP_TIMER;
+    }
+
+    @Override
+    public Counter counter(String name) {
+        return NOOP_COUNTER;
+    }
+}
@@ -0,0 +1,89 @@
+package graph.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free metrics backed by one {@link LongAdder} per name. Counter handles returned by
+ * {@link #counter} update the adder directly, so concurrent increments spread over striped cells
+ * instead of contending on a monitor.
+ */
+public class StripedMetrics implements Metrics {
+    private final ConcurrentHashMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> times = new ConcurrentHashMap<>();
+
+    @Override
+    public void incrementCounter(String name) {
+        adder(counters, name).increment();
+    }
+
+    @Override
+    public void addToCounter(String name, long delta) {
+        adder(counters, name).add(delta);
+    }
+
+    @Override
+    public long getCounter(String name) {
+        LongAdder adder = counters.get(name);
+        return adder == null ? 0L : adder.sum();
+    }
+
+    @Override
+    public Map<String, Long> counters() {
+        return snapshot(counters);
+    }
+
+    @Override
+    public void addTime(String name, long durationNanos) {
+        adder(times, name).add(durationNanos);
+    }
+
+    @Override
+    public long getTime(String name) {
+        LongAdder adder = times.get(name);
+        return adder == null ? 0L : adder.sum();
+    }
+
+    @Override
+    public Map<String, Long> times() {
+        return snapshot(times);
+    }
+
+    @Override
+    public TimerContext time(String name) {
+        LongAdder adder = adder(times, name);
+        long start = System.nanoTime();
+        return () -> adder.add(System.nanoTime() - start);
+    }
+
+    @Override
+    public Counter counter(String name) {
+        return new AdderCounter(adder(counters, name));
+    }
+
+    private static LongAdder adder(ConcurrentHashMap<String, LongAdder> map, String name) {
+        LongAdder adder = map.get(name);
+        return adder != null ? adder : map.computeIfAbsent(name, ignored -> new LongAdder());
+    }
+
+    private static Map<String, Long> snapshot(ConcurrentHashMap<String, LongAdder> map) {
+        Map<String, Long> copy = new TreeMap<>();
+        map.forEach((name, adder) -> copy.put(name, adder.sum()));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    private record AdderCounter(LongAdder adder) implements Counter {
+        @Override
+        public void add(long delta) {
+            adder.add(delta);
+        }
+
+        @Override
+        public void increment() {
+            adder.increment();
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package graph.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Immutable compressed sparse row view of a {@link WeightedDirectedGraph}.
+ * Outgoing edges of vertex {@code v} occupy {@code [offsets[v], offsets[v + 1])}
+ * in {@link #targets()} and {@link #weights()}.
+ */
+public final class CsrGraph implements GraphView {
+    private final int vertexCount;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+
+    public CsrGraph(int[] offsets, int[] targets, double[] weights) {
+        if (offsets.length == 0) {
+            throw new IllegalArgumentException("offsets must contain at least one entry");
+        }
+        int edgeCount = offsets[offsets.length - 1];
+        if (targets.length != edgeCount || weights.length != edgeCount) {
+            throw new IllegalArgumentException("targets/weights length must match offsets[n]");
+        }
+        this.vertexCount = offsets.length - 1;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    public static CsrGraph from(WeightedDirectedGraph graph) {
+        int n = graph.vertexCount();
+        int[] offsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] = offsets[v] + graph.edgesFrom(v).size();
+        }
+        int[] targets = new int[offsets[n]];
+        double[] weights = new double[offsets[n]];
+        int e = 0;
+        for (int v = 0; v < n; v++) {
+            for (WeightedEdge edge : graph.edgesFrom(v)) {
+                targets[e] = edge.to();
+                weights[e] = edge.weight();
+                e++;
+            }
+        }
+        return new CsrGraph(offsets, targets, weights);
+    }
+
+    @Override
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    @Override
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    @Override
+    public int edgeStart(int vertex) {
+        return offsets[vertex];
+    }
+
+    @Override
+    public int edgeEnd(int vertex) {
+        return offsets[vertex + 1];
+    }
+
+    @Override
+    public int outDegree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    @Override
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    @Override
+    public double weight(int edge) {
+        return weights[edge];
+    }
+
+    public int[] offsets() {
+        return offsets;
+    }
+
+    public int[] targets() {
+        return targets;
+    }
+
+    public double[] weights() {
+        return weights;
+    }
+
+    /**
+     * Copies any graph view into heap arrays.
+     */
+    public static CsrGraph copyOf(GraphView graph) {
+        if (graph instanceof CsrGraph csr) {
+            return csr;
+        }
+        int n = graph.vertexCount();
+        int[] offsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] = graph.edgeEnd(v);
+        }
+        int m = graph.edgeCount();
+        int[] targets = new int[m];
+        double[] weights = new double[m];
+        for (int e = 0; e < m; e++) {
+            targets[e] = graph.target(e);
+            weights[e] = graph.weight(e);
+        }
+        return new CsrGraph(offsets, targets, weights);
+    }
+
+    /**
+     * Returns the CSR form of the reversed graph; edges into each vertex keep their original order.
+     */
+    public CsrGraph transpose() {
+        return transpose(this);
+    }
+
+    public static CsrGraph transpose(GraphView graph) {
+        int n = graph.vertexCount();
+        int m = graph.edgeCount();
+        int[] reverseOffsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            reverseOffsets[graph.target(e) + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            reverseOffsets[v + 1] += reverseOffsets[v];
+        }
+        int[] cursor = Arrays.copyOf(reverseOffsets, n);
+        int[] reverseTargets = new int[m];
+        double[] reverseWeights = new double[m];
+        for (int v = 0; v < n; v++) {
+            for (int e = graph.edgeStart(v), end = graph.edgeEnd(v); e < end; e++) {
+                int slot = cursor[graph.target(e)]++;
+                reverseTargets[slot] = v;
+                reverseWeights[slot] = graph.weight(e);
+            }
+        }
+        return new CsrGraph(reverseOffsets, reverseTargets, reverseWeights);
+    }
+
+    public WeightedDirectedGraph toGraph() {
+        return new WeightedDirectedGraph(this);
+    }
+
+    /**
+     * Returns a read-only view of all edges grouped by source vertex. Records are created on access
+     * and are not retained.
+     */
+    public List<WeightedEdge> edges() {
+        return new EdgeView();
+    }
+
+    private final class EdgeView extends AbstractList<WeightedEdge> implements RandomAccess {
+        @Override
+        public WeightedEdge get(int index) {
+            Objects.checkIndex(index, targets.length);
+            return new WeightedEdge(sourceOf(index), targets[index], weights[index]);
+        }
+
+        @Override
+        public int size() {
+            return targets.length;
+        }
+
+        @Override
+        public Iterator<WeightedEdge> iterator() {
+            return new Iterator<>() {
+                private int vertex;
+                private int edge;
+
+                @Override
+                public boolean hasNext() {
+                    return edge < targets.length;
+                }
+
+                @Override
+                public WeightedEdge next() {
+                    if (edge >= targets.length) {
+                        throw new NoSuchElementException();
+                    }
+                    while (offsets[vertex + 1] <= edge) {
+                        vertex++;
+                    }
+                    WeightedEdge result = new WeightedEdge(vertex, targets[edge], weights[edge]);
+                    edge++;
+                    return result;
+                }
+            };
+        }
+
+        private int sourceOf(int edge) {
+            int low = 0;
+            int high = vertexCount - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (offsets[mid] <= edge) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Accumulates edges in primitive buffers and lays them out as CSR in one counting-sort pass.
+     * Edges of each source vertex keep their insertion order.
+     */
+    public static final class Builder {
+        private int[] from;
+        private int[] to;
+        private double[] weight;
+        private int size;
+
+        public Builder() {
+            this(16);
+        }
+
+        public Builder(int expectedEdges) {
+            int capacity = Math.max(expectedEdges, 1);
+            this.from = new int[capacity];
+            this.to = new int[capacity];
+            this.weight = new double[capacity];
+        }
+
+        public Builder addEdge(int u, int v, double w) {
+            if (size == from.length) {
+                int capacity = Math.max(size + 1, size + (size >> 1));
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+            }
+            from[size] = u;
+            to[size] = v;
+            weight[size] = w;
+            size++;
+            return this;
+        }
+
+        public int edgeCount() {
+            return size;
+        }
+
+        public CsrGraph build(int vertexCount) {
+            if (vertexCount < 0) {
+                throw new IllegalArgumentException("vertexCount must be non-negative");
+            }
+            int[] offsets = new int[vertexCount + 1];
+            for (int i = 0; i < size; i++) {
+                checkVertex(from[i], vertexCount);
+                checkVertex(to[i], vertexCount);
+                offsets[from[i] + 1]++;
+            }
+            for (int v = 0; v < vertexCount; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+            int[] cursor = Arrays.copyOf(offsets, vertexCount);
+            int[] targets = new int[size];
+            double[] weights = new double[size];
+            for (int i = 0; i < size; i++) {
+                int slot = cursor[from[i]]++;
+                targets[slot] = to[i];
+                weights[slot] = weight[i];
+            }
+            return new CsrGraph(offsets, targets, weights);
+        }
+
+        private static void checkVertex(int v, int vertexCount) {
+            if (v < 0 || v >= vertexCount) {
+                throw new IndexOutOfBoundsException("Vertex " + v + " is out of bounds");
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CsrGraph that = (CsrGraph) o;
+        return Arrays.equals(offsets, that.offsets)
+                && Arrays.equals(targets, that.targets)
+                && Arrays.equals(weights, that.weights);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(offsets);
+        result = 31 * result + Arrays.hashCode(targets);
+        result = 31 * result + Arrays.hashCode(weights);
+        return result;
+    }
+}
@@ -0,0 +1,258 @@
+package graph.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes a {@link GraphBinaryFormat} file from edges that arrive in any order, without holding the
+ * edge list in memory.
+ * <p>
+ * Edges are buffered in runs of {@code runEdges}; each full run is sorted by source vertex and
+ * spilled to a temporary file, and {@link #finish} merges the runs straight into the CSR sections.
+ * Only the run buffer and one out-degree counter per vertex live on the heap. Edges of the same
+ * source keep their insertion order, as with {@link CsrGraph.Builder}.
+ */
+public final class ExternalCsrWriter implements Closeable {
+    /**
+     * Default run length: 2^22 edges, about 100 MB of buffers while a run is sorted.
+     */
+    public static final int DEFAULT_RUN_EDGES = 1 << 22;
+
+    private static final int IO_BUFFER = 1 << 16;
+
+    private final Path directory;
+    private final int[] from;
+    private final int[] to;
+    private final double[] weight;
+    private final long[] keys;
+    private int size;
+    private int[] outDegree = new int[16];
+    private int vertexBound;
+    private long edgeCount;
+    private final List<Path> runs = new ArrayList<>();
+    private int runCount;
+
+    public ExternalCsrWriter(Path directory) {
+        this(directory, DEFAULT_RUN_EDGES);
+    }
+
+    /**
+     * Spills runs as temporary files in {@code directory}.
+     */
+    public ExternalCsrWriter(Path directory, int runEdges) {
+        if (runEdges < 1) {
+            throw new IllegalArgumentException("runEdges must be positive");
+        }
+        this.directory = directory;
+        this.from = new int[runEdges];
+        this.to = new int[runEdges];
+        this.weight = new double[runEdges];
+        this.keys = new long[runEdges];
+    }
+
+    public void addEdge(int from, int to, double weight) throws IOException {
+        if (from < 0 || to < 0) {
+            throw new IllegalArgumentException("Negative vertex in edge " + from + " -> " + to);
+        }
+        if (size == this.from.length) {
+            spill();
+        }
+        this.from[size] = from;
+        this.to[size] = to;
+        this.weight[size] = weight;
+        size++;
+        int bound = Math.max(from, to) + 1;
+        if (bound > outDegree.length) {
+            outDegree = Arrays.copyOf(outDegree, Math.max(bound, outDegree.length * 2));
+        }
+        vertexBound = Math.max(vertexBound, bound);
+        outDegree[from]++;
+        edgeCount++;
+    }
+
+    public long edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Runs spilled to disk so far.
+     */
+    public int runCount() {
+        return runCount;
+    }
+
+    /**
+     * Merges all edges into {@code output} and deletes the runs.
+     */
+    public void finish(Path output, int vertexCount, int source, String weightModel) throws IOException {
+        if (vertexBound > vertexCount) {
+            throw new IllegalArgumentException("Edge endpoint " + (vertexBound - 1) + " is out of range for " + vertexCount + " vertices");
+        }
+        if (size > 0) {
+            spill();
+        }
+        int[] degree = outDegree.length >= vertexCount ? outDegree : Arrays.copyOf(outDegree, vertexCount);
+        try (Merge merge = new Merge(runs)) {
+            GraphBinaryFormat.write(output, vertexCount, degree, source, weightModel, merge);
+        } finally {
+            close();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Path run : runs) {
+            Files.deleteIfExists(run);
+        }
+        runs.clear();
+    }
+
+    /**
+     * Sorts the buffered edges by source, ties in insertion order, and writes them as one run.
+     */
+    private void spill() throws IOException {
+        for (int i = 0; i < size; i++) {
+            keys[i] = (long) from[i] << 32 | i;
+        }
+        Arrays.sort(keys, 0, size);
+        Path run = Files.createTempFile(directory, "edges-", ".run");
+        runs.add(run);
+        runCount++;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), IO_BUFFER))) {
+            for (int k = 0; k < size; k++) {
+                int i = (int) keys[k];
+                out.writeInt(from[i]);
+                out.writeInt(to[i]);
+                out.writeDouble(weight[i]);
+            }
+        }
+        size = 0;
+    }
+
+    /**
+     * K-way merge of the runs by source vertex; equal sources come from earlier runs first, which
+     * keeps insertion order across runs.
+     */
+    private static final class Merge implements GraphBinaryFormat.SortedEdges, Closeable {
+        private final DataInputStream[] inputs;
+        private final int[] headFrom;
+        private final int[] headTo;
+        private final double[] headWeight;
+        private final int[] heap;
+        private int heapSize;
+        private int target;
+        private double weight;
+
+        Merge(List<Path> runs) throws IOException {
+            int k = runs.size();
+            inputs = new DataInputStream[k];
+            headFrom = new int[k];
+            headTo = new int[k];
+            headWeight = new double[k];
+            heap = new int[k];
+            try {
+                for (int r = 0; r < k; r++) {
+                    inputs[r] = new DataInputStream(new BufferedInputStream(Files.newInputStream(runs.get(r)), IO_BUFFER));
+                    if (advance(r)) {
+                        push(r);
+                    }
+                }
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            if (heapSize == 0) {
+                return false;
+            }
+            int r = heap[0];
+            target = headTo[r];
+            weight = headWeight[r];
+            if (advance(r)) {
+                siftDown(0);
+            } else {
+                heap[0] = heap[--heapSize];
+                siftDown(0);
+            }
+            return true;
+        }
+
+        @Override
+        public int target() {
+            return target;
+        }
+
+        @Override
+        public double weight() {
+            return weight;
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (DataInputStream input : inputs) {
+                if (input != null) {
+                    input.close();
+                }
+            }
+        }
+
+        private boolean advance(int r) throws IOException {
+            try {
+                headFrom[r] = inputs[r].readInt();
+            } catch (EOFException e) {
+                return false;
+            }
+            headTo[r] = inputs[r].readInt();
+            headWeight[r] = inputs[r].readDouble();
+            return true;
+        }
+
+        private boolean before(int a, int b) {
+            return headFrom[a] < headFrom[b] || (headFrom[a] == headFrom[b] && a < b);
+        }
+
+        private void push(int r) {
+            int i = heapSize++;
+            while (i > 0 && before(r, heap[(i - 1) >>> 1])) {
+                heap[i] = heap[(i - 1) >>> 1];
+                i = (i - 1) >>> 1;
+            }
+            heap[i] = r;
+        }
+
+        private void siftDown(int i) {
+            if (heapSize == 0) {
+                return;
+            }
+            int r = heap[i];
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= heapSize) {
+                    break;
+                }
+                if (child + 1 < heapSize && before(heap[child + 1], heap[child])) {
+                    child++;
+                }
+                if (!before(heap[child], r)) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = r;
+        }
+    }
+}
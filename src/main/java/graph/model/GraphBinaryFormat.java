@@ -0,0 +1,270 @@
+package graph.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Versioned little-endian CSR file format.
+ * <pre>
+ *  0  int    magic "CSRG"
+ *  4  int    version
+ *  8  int    vertex count n
+ * 12  int    source vertex
+ * 16  long   edge count m
+ * 24  int    weight model length in UTF-8 bytes
+ * 28  int    reserved (0)
+ * 32  byte[] weight model, zero-padded to a multiple of 8
+ *     int[n + 1] offsets, int[m] targets, zero-padded to a multiple of 8
+ *     double[m]  weights
+ * </pre>
+ * Usage as a converter: {@code GraphBinaryFormat <input.json|directory> [output directory]}.
+ */
+public final class GraphBinaryFormat {
+    public static final int MAGIC = 0x47525343;
+    public static final int VERSION = 1;
+    public static final String EXTENSION = ".csrg";
+    /**
+     * Default elements per mapping: 2^27, so a window of weights is 1 GiB.
+     */
+    public static final int DEFAULT_CHUNK_SHIFT = 27;
+
+    private static final int HEADER_BYTES = 32;
+    private static final int WRITE_CHUNK = 1 << 16;
+
+    private GraphBinaryFormat() {
+    }
+
+    public static void write(GraphData data, Path path) throws IOException {
+        write(data.graph().freeze(), data.source(), data.weightModel(), path);
+    }
+
+    public static void write(GraphView graph, int source, String weightModel, Path path) throws IOException {
+        int n = graph.vertexCount();
+        int m = graph.edgeCount();
+        byte[] model = weightModel.getBytes(StandardCharsets.UTF_8);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_CHUNK).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(source).putLong(m).putInt(model.length).putInt(0);
+            flush(channel, buffer);
+            ByteBuffer modelBuffer = ByteBuffer.allocate(align8(model.length));
+            modelBuffer.put(model).position(modelBuffer.capacity()).flip();
+            writeFully(channel, modelBuffer);
+
+            for (int v = 0; v <= n; v++) {
+                ensure(channel, buffer, Integer.BYTES);
+                buffer.putInt(v == n ? m : graph.edgeStart(v));
+            }
+            for (int e = 0; e < m; e++) {
+                ensure(channel, buffer, Integer.BYTES);
+                buffer.putInt(graph.target(e));
+            }
+            if ((((long) n + 1 + m) & 1) == 1) {
+                ensure(channel, buffer, Integer.BYTES);
+                buffer.putInt(0);
+            }
+            for (int e = 0; e < m; e++) {
+                ensure(channel, buffer, Double.BYTES);
+                buffer.putDouble(graph.weight(e));
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Edges in CSR order, i.e. grouped by source vertex in ascending order.
+     */
+    interface SortedEdges {
+        /**
+         * Advances to the next edge; false once all edges have been read.
+         */
+        boolean next() throws IOException;
+
+        int target();
+
+        double weight();
+    }
+
+    /**
+     * Writes a graph whose edges are streamed in CSR order rather than held in memory. Offsets are
+     * derived from {@code outDegree}; targets and weights go to their own sections side by side.
+     */
+    static void write(Path path, int vertexCount, int[] outDegree, int source, String weightModel, SortedEdges edges)
+            throws IOException {
+        long m = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            m += outDegree[v];
+        }
+        if (m > Integer.MAX_VALUE) {
+            throw new IOException("Graph with " + m + " edges exceeds the format's edge limit");
+        }
+        byte[] model = weightModel.getBytes(StandardCharsets.UTF_8);
+        long targetsStart = HEADER_BYTES + align8(model.length) + 4L * (vertexCount + 1);
+        long weightsStart = align8(targetsStart + 4L * m);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_CHUNK).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(vertexCount).putInt(source).putLong(m).putInt(model.length).putInt(0);
+            flush(channel, buffer);
+            ByteBuffer modelBuffer = ByteBuffer.allocate(align8(model.length));
+            modelBuffer.put(model).position(modelBuffer.capacity()).flip();
+            writeFully(channel, modelBuffer);
+            int offset = 0;
+            for (int v = 0; v <= vertexCount; v++) {
+                ensure(channel, buffer, Integer.BYTES);
+                buffer.putInt(offset);
+                offset += v < vertexCount ? outDegree[v] : 0;
+            }
+            flush(channel, buffer);
+            if (weightsStart != targetsStart + 4L * m) {
+                channel.write(ByteBuffer.allocate(Integer.BYTES), targetsStart + 4L * m);
+            }
+
+            ByteBuffer targets = buffer;
+            ByteBuffer weights = ByteBuffer.allocate(WRITE_CHUNK).order(ByteOrder.LITTLE_ENDIAN);
+            long targetPosition = targetsStart;
+            long weightPosition = weightsStart;
+            long written = 0;
+            while (edges.next()) {
+                if (++written > m) {
+                    throw new IOException("More edges than the out-degrees add up to");
+                }
+                if (!targets.hasRemaining()) {
+                    targetPosition += flushAt(channel, targets, targetPosition);
+                }
+                if (!weights.hasRemaining()) {
+                    weightPosition += flushAt(channel, weights, weightPosition);
+                }
+                targets.putInt(edges.target());
+                weights.putDouble(edges.weight());
+            }
+            if (written != m) {
+                throw new IOException("Expected " + m + " edges but got " + written);
+            }
+            flushAt(channel, targets, targetPosition);
+            flushAt(channel, weights, weightPosition);
+        }
+    }
+
+    /**
+     * Maps a file written by {@link #write}. Only the header is read eagerly.
+     */
+    public static MappedCsrGraph map(Path path) throws IOException {
+        return map(path, DEFAULT_CHUNK_SHIFT);
+    }
+
+    /**
+     * Maps each section in windows of {@code 2^chunkShift} elements.
+     */
+    public static MappedCsrGraph map(Path path, int chunkShift) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IOException("Truncated header in " + path);
+                }
+            }
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a graph binary file: " + path);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported graph binary version " + version + " in " + path);
+            }
+            int n = header.getInt();
+            int source = header.getInt();
+            long m = header.getLong();
+            int modelLength = header.getInt();
+            if (n < 0 || m < 0 || m > Integer.MAX_VALUE || modelLength < 0) {
+                throw new IOException("Corrupt header in " + path);
+            }
+
+            long offsetsStart = HEADER_BYTES + align8(modelLength);
+            long targetsStart = offsetsStart + 4L * (n + 1);
+            long weightsStart = align8(targetsStart + 4L * m);
+            long expectedSize = weightsStart + 8L * m;
+            if (channel.size() != expectedSize) {
+                throw new IOException("Expected " + expectedSize + " bytes but found " + channel.size() + " in " + path);
+            }
+
+            ByteBuffer modelBytes = ByteBuffer.allocate(modelLength);
+            channel.read(modelBytes, HEADER_BYTES);
+            String weightModel = new String(modelBytes.array(), StandardCharsets.UTF_8);
+
+            return new MappedCsrGraph(n, (int) m, source, weightModel,
+                    WindowedBuffer.map(channel, offsetsStart, n + 1L, 2, chunkShift),
+                    WindowedBuffer.map(channel, targetsStart, m, 2, chunkShift),
+                    WindowedBuffer.map(channel, weightsStart, m, 3, chunkShift));
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: GraphBinaryFormat <input.json|directory> [output directory]");
+            return;
+        }
+        Path input = Path.of(args[0]);
+        List<Path> sources = new ArrayList<>();
+        if (Files.isDirectory(input)) {
+            try (Stream<Path> stream = Files.list(input)) {
+                stream.filter(p -> p.getFileName().toString().toLowerCase().endsWith(".json")).sorted().forEach(sources::add);
+            }
+        } else {
+            sources.add(input);
+        }
+        for (Path json : sources) {
+            Path outputDirectory = args.length > 1 ? Path.of(args[1]) : json.toAbsolutePath().getParent();
+            Files.createDirectories(outputDirectory);
+            String name = json.getFileName().toString();
+            Path output = outputDirectory.resolve(name.substring(0, name.length() - ".json".length()) + EXTENSION);
+            write(GraphLoader.load(json), output);
+            System.out.println(json + " -> " + output);
+        }
+    }
+
+    private static long align8(long value) {
+        return (value + 7) & ~7L;
+    }
+
+    private static int align8(int value) {
+        return (value + 7) & ~7;
+    }
+
+    private static void ensure(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush(channel, buffer);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        writeFully(channel, buffer);
+        buffer.clear();
+    }
+
+    private static int flushAt(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        buffer.flip();
+        int bytes = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        buffer.clear();
+        return bytes;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -2,5 +2,9 @@ package graph.model;
 
 import java.util.List;
 
+/**
+ * Loaded dataset. {@code edges} may be a lazy view over the graph's CSR arrays (see
+ * {@link CsrGraph#edges()}), in which case it is ordered by source vertex rather than file order.
+ */
 public record GraphData(WeightedDirectedGraph graph, int source, String weightModel, List<WeightedEdge> edges) {
 }
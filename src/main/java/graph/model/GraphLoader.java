@@ -1,38 +1,122 @@
 package graph.model;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
 
+/**
+ * Streaming JSON loader. Top-level keys may appear in any order; edges are written straight into
+ * a {@link CsrGraph.Builder} without building a JSON tree or per-edge objects.
+ */
 public final class GraphLoader {
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
 
     private GraphLoader() {
     }
 
+    @FunctionalInterface
+    private interface EdgeConsumer {
+        void accept(int from, int to, double weight) throws IOException;
+    }
+
     public static GraphData load(Path path) throws IOException {
         try (InputStream stream = Files.newInputStream(path)) {
-            JsonNode root = OBJECT_MAPPER.readTree(stream);
-            int n = root.get("n").asInt();
-            WeightedDirectedGraph graph = new WeightedDirectedGraph(n);
-            List<WeightedEdge> edges = new ArrayList<>();
-            for (JsonNode edgeNode : root.withArray("edges")) {
-                int u = edgeNode.get("u").asInt();
-                int v = edgeNode.get("v").asInt();
-                double w = edgeNode.path("w").asDouble(1.0);
-                WeightedEdge edge = new WeightedEdge(u, v, w);
-                graph.addEdge(u, v, w);
-                edges.add(edge);
-            }
-            int source = root.path("source").asInt(0);
-            String weightModel = root.path("weight_model").asText("edge");
-            return new GraphData(graph, source, weightModel, List.copyOf(edges));
+            return load(stream);
+        }
+    }
+
+    public static GraphData load(InputStream stream) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(stream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object at " + parser.currentLocation());
+            }
+            int n = -1;
+            int source = 0;
+            String weightModel = "edge";
+            CsrGraph.Builder edges = new CsrGraph.Builder();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "n" -> n = parser.getValueAsInt();
+                    case "source" -> source = parser.getValueAsInt(0);
+                    case "weight_model" -> weightModel = value == JsonToken.VALUE_NULL ? weightModel : parser.getText();
+                    case "edges" -> readEdges(parser, edges::addEdge);
+                    default -> parser.skipChildren();
+                }
+            }
+            if (n < 0) {
+                throw new IOException("Missing or negative \"n\"");
+            }
+            WeightedDirectedGraph graph = new WeightedDirectedGraph(edges.build(n));
+            return new GraphData(graph, source, weightModel, graph.freeze().edges());
+        }
+    }
+
+    /**
+     * Converts a JSON graph into a {@link GraphBinaryFormat} file at {@code output} without loading
+     * it: edges are sorted out of core by {@link ExternalCsrWriter}, spilling runs of
+     * {@code runEdges} into {@code tempDirectory}.
+     */
+    public static MappedCsrGraph toBinary(Path json, Path output, Path tempDirectory, int runEdges) throws IOException {
+        try (InputStream stream = Files.newInputStream(json);
+             JsonParser parser = JSON_FACTORY.createParser(stream);
+             ExternalCsrWriter writer = new ExternalCsrWriter(tempDirectory, runEdges)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object at " + parser.currentLocation());
+            }
+            int n = -1;
+            int source = 0;
+            String weightModel = "edge";
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "n" -> n = parser.getValueAsInt();
+                    case "source" -> source = parser.getValueAsInt(0);
+                    case "weight_model" -> weightModel = value == JsonToken.VALUE_NULL ? weightModel : parser.getText();
+                    case "edges" -> readEdges(parser, writer::addEdge);
+                    default -> parser.skipChildren();
+                }
+            }
+            if (n < 0) {
+                throw new IOException("Missing or negative \"n\"");
+            }
+            writer.finish(output, n, source, weightModel);
+        }
+        return GraphBinaryFormat.map(output);
+    }
+
+    private static void readEdges(JsonParser parser, EdgeConsumer edges) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new IOException("\"edges\" must be an array at " + parser.currentLocation());
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            int u = -1;
+            int v = -1;
+            double w = 1.0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "u" -> u = parser.getValueAsInt(-1);
+                    case "v" -> v = parser.getValueAsInt(-1);
+                    case "w" -> w = parser.getValueAsDouble(1.0);
+                    default -> parser.skipChildren();
+                }
+            }
+            if (u < 0 || v < 0) {
+                throw new IOException("Edge without valid \"u\"/\"v\" before " + parser.currentLocation());
+            }
+            edges.accept(u, v, w);
+        }
+        if (parser.currentToken() != JsonToken.END_ARRAY) {
+            throw new IOException("\"edges\" must contain objects at " + parser.currentLocation());
         }
     }
 }
@@ -0,0 +1,24 @@
+package graph.model;
+
+/**
+ * Read-only CSR-style access to a directed weighted graph. Outgoing edges of vertex {@code v} are
+ * the edge indices {@code [edgeStart(v), edgeEnd(v))}. Implemented by the heap {@link CsrGraph}
+ * and by storage-backed views such as {@link MappedCsrGraph}.
+ */
+public interface GraphView {
+    int vertexCount();
+
+    int edgeCount();
+
+    int edgeStart(int vertex);
+
+    int edgeEnd(int vertex);
+
+    int target(int edge);
+
+    double weight(int edge);
+
+    default int outDegree(int vertex) {
+        return edgeEnd(vertex) - edgeStart(vertex);
+    }
+}
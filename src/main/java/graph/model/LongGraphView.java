@@ -0,0 +1,20 @@
+package graph.model;
+
+/**
+ * A {@link GraphView} whose edges are also addressed by {@code long} index, for graphs with more
+ * than {@code 2^31 - 1} edges. Outgoing edges of {@code v} are {@code [edgeOffset(v),
+ * edgeOffset(v + 1))}. The {@code int} methods may throw once the edge count no longer fits;
+ * {@code LongGraphView} overloads of Tarjan, Kahn and the DAG path passes use only the long ones.
+ */
+public interface LongGraphView extends GraphView {
+    long edgeCountLong();
+
+    /**
+     * First edge of {@code vertex}; {@code edgeOffset(vertexCount())} is the end of the last vertex.
+     */
+    long edgeOffset(int vertex);
+
+    int targetAt(long edge);
+
+    double weightAt(long edge);
+}
@@ -0,0 +1,73 @@
+package graph.model;
+
+/**
+ * {@link GraphView} that reads CSR sections straight out of a memory-mapped
+ * {@link GraphBinaryFormat} file. Nothing is copied onto the heap; pages are faulted in on access.
+ * Each section is mapped in windows, so only the format's {@code int} edge count bounds its size.
+ */
+public final class MappedCsrGraph implements GraphView {
+    private final int vertexCount;
+    private final int edgeCount;
+    private final int source;
+    private final String weightModel;
+    private final WindowedBuffer offsets;
+    private final WindowedBuffer targets;
+    private final WindowedBuffer weights;
+
+    MappedCsrGraph(int vertexCount, int edgeCount, int source, String weightModel,
+                   WindowedBuffer offsets, WindowedBuffer targets, WindowedBuffer weights) {
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.source = source;
+        this.weightModel = weightModel;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    @Override
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    @Override
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public int edgeStart(int vertex) {
+        return offsets.getInt(vertex);
+    }
+
+    @Override
+    public int edgeEnd(int vertex) {
+        return offsets.getInt(vertex + 1L);
+    }
+
+    @Override
+    public int target(int edge) {
+        return targets.getInt(edge);
+    }
+
+    @Override
+    public double weight(int edge) {
+        return weights.getDouble(edge);
+    }
+
+    public int source() {
+        return source;
+    }
+
+    public String weightModel() {
+        return weightModel;
+    }
+
+    /**
+     * Copies the mapped graph onto the heap in the shape {@link GraphLoader} returns.
+     */
+    public GraphData toGraphData() {
+        WeightedDirectedGraph graph = new WeightedDirectedGraph(CsrGraph.copyOf(this));
+        return new GraphData(graph, source, weightModel, graph.freeze().edges());
+    }
+}
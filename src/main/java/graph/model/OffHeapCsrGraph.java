@@ -0,0 +1,189 @@
+package graph.model;
+
+/**
+ * CSR graph whose offsets, targets and weights live in native memory, so the heap only holds a
+ * few buffer handles however large the graph is.
+ * <p>
+ * Storage is split into direct buffers of {@code 2^chunkShift} elements and indexed by
+ * {@code long}, so the graph is a {@link LongGraphView} and may hold more than {@code 2^31} edges.
+ * The {@code LongGraphView} overloads of SCC labelling, condensation, topological sort and the DAG
+ * path passes run on such graphs; the {@code int} {@link GraphView} methods throw
+ * {@link IllegalStateException} on them.
+ * <p>
+ * Direct buffers count against {@code -XX:MaxDirectMemorySize}, which defaults to the maximum heap
+ * size; raise it to keep a small heap for a large graph. The memory is released once the graph is
+ * unreachable.
+ */
+public final class OffHeapCsrGraph implements LongGraphView {
+    /**
+     * Default elements per buffer: 2^27, so a chunk of weights is 1 GiB.
+     */
+    public static final int DEFAULT_CHUNK_SHIFT = 27;
+
+    private final int vertexCount;
+    private final long edgeCount;
+    private final boolean intIndexed;
+    private final WindowedBuffer offsets;
+    private final WindowedBuffer targets;
+    private final WindowedBuffer weights;
+
+    private OffHeapCsrGraph(int vertexCount, long edgeCount, WindowedBuffer offsets, WindowedBuffer targets,
+                            WindowedBuffer weights) {
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.intIndexed = edgeCount <= Integer.MAX_VALUE;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Starts a graph whose vertex {@code v} has {@code outDegree[v]} edges.
+     */
+    public static Writer allocate(int[] outDegree) {
+        return allocate(outDegree, DEFAULT_CHUNK_SHIFT);
+    }
+
+    public static Writer allocate(int[] outDegree, int chunkShift) {
+        return new Writer(outDegree, chunkShift);
+    }
+
+    public static OffHeapCsrGraph copyOf(GraphView graph) {
+        int n = graph.vertexCount();
+        int[] degree = new int[n];
+        for (int v = 0; v < n; v++) {
+            degree[v] = graph.outDegree(v);
+        }
+        Writer writer = allocate(degree);
+        for (int v = 0; v < n; v++) {
+            for (int e = graph.edgeStart(v), end = graph.edgeEnd(v); e < end; e++) {
+                writer.addEdge(v, graph.target(e), graph.weight(e));
+            }
+        }
+        return writer.build();
+    }
+
+    @Override
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    @Override
+    public int edgeCount() {
+        requireIntIndexed();
+        return (int) edgeCount;
+    }
+
+    @Override
+    public int edgeStart(int vertex) {
+        requireIntIndexed();
+        return (int) offsets.getLong(vertex);
+    }
+
+    @Override
+    public int edgeEnd(int vertex) {
+        requireIntIndexed();
+        return (int) offsets.getLong(vertex + 1L);
+    }
+
+    @Override
+    public int target(int edge) {
+        return targets.getInt(edge);
+    }
+
+    @Override
+    public double weight(int edge) {
+        return weights.getDouble(edge);
+    }
+
+    @Override
+    public int outDegree(int vertex) {
+        return (int) (offsets.getLong(vertex + 1L) - offsets.getLong(vertex));
+    }
+
+    @Override
+    public long edgeCountLong() {
+        return edgeCount;
+    }
+
+    @Override
+    public long edgeOffset(int vertex) {
+        return offsets.getLong(vertex);
+    }
+
+    @Override
+    public int targetAt(long edge) {
+        return targets.getInt(edge);
+    }
+
+    @Override
+    public double weightAt(long edge) {
+        return weights.getDouble(edge);
+    }
+
+    /**
+     * Native memory held by the graph.
+     */
+    public long offHeapBytes() {
+        return offsets.bytes() + targets.bytes() + weights.bytes();
+    }
+
+    private void requireIntIndexed() {
+        if (!intIndexed) {
+            throw new IllegalStateException("Graph has " + edgeCount + " edges; use the long-indexed accessors");
+        }
+    }
+
+    /**
+     * Fills the edge arrays of an {@link #allocate allocated} graph. Edges must arrive grouped by
+     * source vertex in ascending order, as {@link graph.gen.GraphGenerator#forEachEdge} emits them.
+     */
+    public static final class Writer {
+        private final int[] outDegree;
+        private final WindowedBuffer offsets;
+        private final WindowedBuffer targets;
+        private final WindowedBuffer weights;
+        private final long edgeCount;
+        private int vertex;
+        private long next;
+
+        private Writer(int[] outDegree, int chunkShift) {
+            this.outDegree = outDegree;
+            int n = outDegree.length;
+            this.offsets = WindowedBuffer.allocate(n + 1L, 3, chunkShift);
+            long total = 0;
+            for (int v = 0; v < n; v++) {
+                offsets.putLong(v, total);
+                total += outDegree[v];
+            }
+            offsets.putLong(n, total);
+            this.edgeCount = total;
+            this.targets = WindowedBuffer.allocate(total, 2, chunkShift);
+            this.weights = WindowedBuffer.allocate(total, 3, chunkShift);
+        }
+
+        public Writer addEdge(int from, int to, double weight) {
+            if (from < vertex || from >= outDegree.length || to < 0 || to >= outDegree.length) {
+                throw new IllegalArgumentException("Edge " + from + " -> " + to + " is out of order or range");
+            }
+            vertex = from;
+            if (next >= offsets.getLong(from + 1L)) {
+                throw new IllegalArgumentException("Vertex " + from + " has more than " + outDegree[from] + " edges");
+            }
+            if (next < offsets.getLong(from)) {
+                throw new IllegalArgumentException("Vertex " + (from - 1) + " is missing edges");
+            }
+            targets.putInt(next, to);
+            weights.putDouble(next, weight);
+            next++;
+            return this;
+        }
+
+        public OffHeapCsrGraph build() {
+            if (next != edgeCount) {
+                throw new IllegalStateException("Expected " + edgeCount + " edges but got " + next);
+            }
+            return new OffHeapCsrGraph(outDegree.length, edgeCount, offsets, targets, weights);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package graph.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A graph with its vertices relabelled so that vertices visited close together in time also sit
+ * close together in the CSR arrays and in per-vertex state, plus the permutation needed to read
+ * results in the original ids.
+ * <p>
+ * {@code newId[v]} is the label of original vertex {@code v} in {@link #graph()} and
+ * {@code originalId[u]} is its inverse. Each row keeps the edge order of the original graph.
+ * Results computed on the renumbered graph are translated back with the methods here, or with
+ * {@code toOriginal} on the SCC and path result types.
+ */
+public final class VertexRenumbering {
+    private final int[] newId;
+    private final int[] originalId;
+    private final CsrGraph graph;
+
+    private VertexRenumbering(GraphView graph, int[] originalId) {
+        int n = graph.vertexCount();
+        if (originalId.length != n) {
+            throw new IllegalArgumentException("Expected an order of " + n + " vertices but got " + originalId.length);
+        }
+        int[] newId = new int[n];
+        Arrays.fill(newId, -1);
+        for (int u = 0; u < n; u++) {
+            int v = originalId[u];
+            if (v < 0 || v >= n || newId[v] != -1) {
+                throw new IllegalArgumentException("Order is not a permutation of the vertices");
+            }
+            newId[v] = u;
+        }
+        this.newId = newId;
+        this.originalId = originalId;
+        this.graph = permute(graph, newId, originalId);
+    }
+
+    /**
+     * Renumbers {@code graph} so that {@code order[i]} becomes vertex {@code i}; pass a topological
+     * order to lay a DAG out in the order its DP passes sweep it.
+     */
+    public static VertexRenumbering of(GraphView graph, int[] order) {
+        return new VertexRenumbering(graph, order.clone());
+    }
+
+    /**
+     * Breadth-first order along outgoing edges, restarting from the smallest unvisited id.
+     */
+    public static VertexRenumbering breadthFirst(GraphView graph) {
+        int n = graph.vertexCount();
+        int[] order = new int[n];
+        boolean[] visited = new boolean[n];
+        int tail = 0;
+        for (int root = 0; root < n; root++) {
+            if (visited[root]) {
+                continue;
+            }
+            visited[root] = true;
+            int head = tail;
+            order[tail++] = root;
+            while (head < tail) {
+                int v = order[head++];
+                for (int e = graph.edgeStart(v), end = graph.edgeEnd(v); e < end; e++) {
+                    int w = graph.target(e);
+                    if (!visited[w]) {
+                        visited[w] = true;
+                        order[tail++] = w;
+                    }
+                }
+            }
+        }
+        return new VertexRenumbering(graph, order);
+    }
+
+    /**
+     * Reverse Cuthill–McKee order of the graph with edge directions ignored: each connected part is
+     * searched breadth-first from a vertex of minimum degree, neighbours by ascending degree, and the
+     * whole order is reversed. Keeps every edge's endpoints within a narrow band of labels.
+     */
+    public static VertexRenumbering reverseCuthillMcKee(GraphView graph) {
+        int n = graph.vertexCount();
+        int[] offsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            for (int e = graph.edgeStart(v), end = graph.edgeEnd(v); e < end; e++) {
+                offsets[v + 1]++;
+                offsets[graph.target(e) + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] neighbours = new int[offsets[n]];
+        int[] cursor = Arrays.copyOf(offsets, n);
+        for (int v = 0; v < n; v++) {
+            for (int e = graph.edgeStart(v), end = graph.edgeEnd(v); e < end; e++) {
+                int w = graph.target(e);
+                neighbours[cursor[v]++] = w;
+                neighbours[cursor[w]++] = v;
+            }
+        }
+
+        int[] byDegree = sortByDegree(offsets);
+        int[] order = new int[n];
+        boolean[] visited = new boolean[n];
+        long[] scratch = new long[16];
+        int tail = 0;
+        for (int root : byDegree) {
+            if (visited[root]) {
+                continue;
+            }
+            visited[root] = true;
+            int head = tail;
+            order[tail++] = root;
+            while (head < tail) {
+                int v = order[head++];
+                int found = 0;
+                for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                    int w = neighbours[i];
+                    if (!visited[w]) {
+                        visited[w] = true;
+                        if (found == scratch.length) {
+                            scratch = Arrays.copyOf(scratch, found * 2);
+                        }
+                        scratch[found++] = (long) (offsets[w + 1] - offsets[w]) << 32 | w;
+                    }
+                }
+                Arrays.sort(scratch, 0, found);
+                for (int i = 0; i < found; i++) {
+                    order[tail++] = (int) scratch[i];
+                }
+            }
+        }
+        for (int i = 0, j = n - 1; i < j; i++, j--) {
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return new VertexRenumbering(graph, order);
+    }
+
+    public CsrGraph graph() {
+        return graph;
+    }
+
+    /**
+     * Renumbered label of each original vertex.
+     */
+    public int[] newId() {
+        return newId;
+    }
+
+    /**
+     * Original vertex of each renumbered label.
+     */
+    public int[] originalId() {
+        return originalId;
+    }
+
+    public int toNew(int vertex) {
+        return newId[vertex];
+    }
+
+    public int toOriginal(int vertex) {
+        return originalId[vertex];
+    }
+
+    /**
+     * Translates renumbered vertex ids, such as a path, to original ids; -1 stays -1.
+     */
+    public int[] toOriginal(int[] vertices) {
+        int[] mapped = new int[vertices.length];
+        for (int i = 0; i < vertices.length; i++) {
+            mapped[i] = vertices[i] < 0 ? vertices[i] : originalId[vertices[i]];
+        }
+        return mapped;
+    }
+
+    public List<Integer> toOriginal(List<Integer> vertices) {
+        List<Integer> mapped = new ArrayList<>(vertices.size());
+        for (int v : vertices) {
+            mapped.add(originalId[v]);
+        }
+        return mapped;
+    }
+
+    /**
+     * Reindexes a per-vertex array such as distances from renumbered to original vertex order.
+     */
+    public double[] valuesByOriginal(double[] values) {
+        double[] mapped = new double[values.length];
+        for (int v = 0; v < mapped.length; v++) {
+            mapped[v] = values[newId[v]];
+        }
+        return mapped;
+    }
+
+    /**
+     * Reindexes a per-vertex array such as {@code componentOf} from renumbered to original vertex
+     * order. The values themselves are not translated.
+     */
+    public int[] valuesByOriginal(int[] values) {
+        int[] mapped = new int[values.length];
+        for (int v = 0; v < mapped.length; v++) {
+            mapped[v] = values[newId[v]];
+        }
+        return mapped;
+    }
+
+    private static int[] sortByDegree(int[] offsets) {
+        int n = offsets.length - 1;
+        int maxDegree = 0;
+        for (int v = 0; v < n; v++) {
+            maxDegree = Math.max(maxDegree, offsets[v + 1] - offsets[v]);
+        }
+        int[] start = new int[maxDegree + 2];
+        for (int v = 0; v < n; v++) {
+            start[offsets[v + 1] - offsets[v] + 1]++;
+        }
+        for (int d = 0; d <= maxDegree; d++) {
+            start[d + 1] += start[d];
+        }
+        int[] sorted = new int[n];
+        for (int v = 0; v < n; v++) {
+            sorted[start[offsets[v + 1] - offsets[v]]++] = v;
+        }
+        return sorted;
+    }
+
+    private static CsrGraph permute(GraphView graph, int[] newId, int[] originalId) {
+        int n = originalId.length;
+        int[] offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] = offsets[u] + graph.outDegree(originalId[u]);
+        }
+        int[] targets = new int[offsets[n]];
+        double[] weights = new double[offsets[n]];
+        int i = 0;
+        for (int u = 0; u < n; u++) {
+            int v = originalId[u];
+            for (int e = graph.edgeStart(v), end = graph.edgeEnd(v); e < end; e++) {
+                targets[i] = newId[graph.target(e)];
+                weights[i] = graph.weight(e);
+                i++;
+            }
+        }
+        return new CsrGraph(offsets, targets, weights);
+    }
+}
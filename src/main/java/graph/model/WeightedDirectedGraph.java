@@ -3,12 +3,13 @@ package graph.model;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 
 
 public class WeightedDirectedGraph {
     private final int vertexCount;
-    private final List<List<WeightedEdge>> adjacency;
+    private List<List<WeightedEdge>> adjacency;
+    private int edgeCount;
+    private CsrGraph frozen;
 
     public WeightedDirectedGraph(int vertexCount) {
         if (vertexCount < 0) {
@@ -21,6 +22,16 @@ public class WeightedDirectedGraph {
         }
     }
 
+    /**
+     * Wraps an existing CSR graph. Per-edge {@link WeightedEdge} records are only materialised
+     * if {@link #edgesFrom}, {@link #adjacency} or {@link #addEdge} is called.
+     */
+    public WeightedDirectedGraph(CsrGraph csr) {
+        this.vertexCount = csr.vertexCount();
+        this.edgeCount = csr.edgeCount();
+        this.frozen = csr;
+    }
+
     public int vertexCount() {
         return vertexCount;
     }
@@ -28,16 +39,49 @@ public class WeightedDirectedGraph {
     public void addEdge(int from, int to, double weight) {
         checkVertex(from);
         checkVertex(to);
-        adjacency.get(from).add(new WeightedEdge(from, to, weight));
+        adjacencyLists().get(from).add(new WeightedEdge(from, to, weight));
+        edgeCount++;
+        frozen = null;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Returns the CSR form of this graph. The snapshot is cached until the next {@link #addEdge}.
+     */
+    public CsrGraph freeze() {
+        CsrGraph csr = frozen;
+        if (csr == null) {
+            csr = CsrGraph.from(this);
+            frozen = csr;
+        }
+        return csr;
     }
 
     public List<WeightedEdge> edgesFrom(int vertex) {
         checkVertex(vertex);
-        return Collections.unmodifiableList(adjacency.get(vertex));
+        return Collections.unmodifiableList(adjacencyLists().get(vertex));
     }
 
     public List<List<WeightedEdge>> adjacency() {
-        return Collections.unmodifiableList(adjacency);
+        return Collections.unmodifiableList(adjacencyLists());
+    }
+
+    private List<List<WeightedEdge>> adjacencyLists() {
+        if (adjacency == null) {
+            List<List<WeightedEdge>> lists = new ArrayList<>(vertexCount);
+            for (int v = 0; v < vertexCount; v++) {
+                List<WeightedEdge> edges = new ArrayList<>(frozen.outDegree(v));
+                for (int e = frozen.edgeStart(v), end = frozen.edgeEnd(v); e < end; e++) {
+                    edges.add(new WeightedEdge(v, frozen.target(e), frozen.weight(e)));
+                }
+                lists.add(edges);
+            }
+            adjacency = lists;
+        }
+        return adjacency;
     }
 
     private void checkVertex(int v) {
@@ -51,11 +95,11 @@ public class WeightedDirectedGraph {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         WeightedDirectedGraph that = (WeightedDirectedGraph) o;
-        return vertexCount == that.vertexCount && Objects.equals(adjacency, that.adjacency);
+        return vertexCount == that.vertexCount && freeze().equals(that.freeze());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(vertexCount, adjacency);
+        return freeze().hashCode();
     }
 }
@@ -0,0 +1,105 @@
+package graph.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * Fixed-width values in byte buffers of {@code 2^chunkShift} elements each, indexed by
+ * {@code long}, so a column is not limited to the 2 GB of a single buffer. Backs the direct
+ * columns of {@link OffHeapCsrGraph} and the mapped sections of {@link MappedCsrGraph}.
+ */
+final class WindowedBuffer {
+    private final ByteBuffer[] chunks;
+    // The only chunk when there is one, which skips the chunk lookup on most graphs.
+    private final ByteBuffer single;
+    private final int widthShift;
+    private final int chunkShift;
+    private final long mask;
+    private final long bytes;
+
+    private WindowedBuffer(ByteBuffer[] chunks, long length, int widthShift, int chunkShift) {
+        this.chunks = chunks;
+        this.single = chunks.length == 1 ? chunks[0] : null;
+        this.widthShift = widthShift;
+        this.chunkShift = chunkShift;
+        this.mask = (1L << chunkShift) - 1;
+        this.bytes = length << widthShift;
+    }
+
+    /**
+     * {@code length} zeroed values of {@code 2^widthShift} bytes in native-order direct buffers.
+     */
+    static WindowedBuffer allocate(long length, int widthShift, int chunkShift) {
+        ByteBuffer[] chunks = new ByteBuffer[chunkCount(length, widthShift, chunkShift)];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = ByteBuffer.allocateDirect((int) (chunkLength(length, i, chunkShift) << widthShift))
+                    .order(ByteOrder.nativeOrder());
+        }
+        return new WindowedBuffer(chunks, length, widthShift, chunkShift);
+    }
+
+    /**
+     * {@code length} little-endian values starting at byte {@code start} of {@code channel}, mapped
+     * read-only.
+     */
+    static WindowedBuffer map(FileChannel channel, long start, long length, int widthShift, int chunkShift)
+            throws IOException {
+        ByteBuffer[] chunks = new ByteBuffer[chunkCount(length, widthShift, chunkShift)];
+        for (int i = 0; i < chunks.length; i++) {
+            long first = (long) i << chunkShift;
+            chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start + (first << widthShift),
+                    chunkLength(length, i, chunkShift) << widthShift).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return new WindowedBuffer(chunks, length, widthShift, chunkShift);
+    }
+
+    private static int chunkCount(long length, int widthShift, int chunkShift) {
+        if (chunkShift < 0 || chunkShift + widthShift > 30) {
+            throw new IllegalArgumentException("chunkShift " + chunkShift + " is out of range");
+        }
+        return (int) ((length + (1L << chunkShift) - 1) >>> chunkShift);
+    }
+
+    private static long chunkLength(long length, int chunk, int chunkShift) {
+        return Math.min(1L << chunkShift, length - ((long) chunk << chunkShift));
+    }
+
+    long bytes() {
+        return bytes;
+    }
+
+    int getInt(long index) {
+        if (single != null) {
+            return single.getInt((int) index << widthShift);
+        }
+        return chunks[(int) (index >>> chunkShift)].getInt((int) (index & mask) << widthShift);
+    }
+
+    long getLong(long index) {
+        if (single != null) {
+            return single.getLong((int) index << widthShift);
+        }
+        return chunks[(int) (index >>> chunkShift)].getLong((int) (index & mask) << widthShift);
+    }
+
+    double getDouble(long index) {
+        if (single != null) {
+            return single.getDouble((int) index << widthShift);
+        }
+        return chunks[(int) (index >>> chunkShift)].getDouble((int) (index & mask) << widthShift);
+    }
+
+    void putInt(long index, int value) {
+        chunks[(int) (index >>> chunkShift)].putInt((int) (index & mask) << widthShift, value);
+    }
+
+    void putLong(long index, long value) {
+        chunks[(int) (index >>> chunkShift)].putLong((int) (index & mask) << widthShift, value);
+    }
+
+    void putDouble(long index, double value) {
+        chunks[(int) (index >>> chunkShift)].putDouble((int) (index & mask) << widthShift, value);
+    }
+}
@@ -0,0 +1,617 @@
+package graph.scc;
+
+import graph.metrics.Metrics;
+import graph.model.CsrGraph;
+import graph.model.GraphView;
+import graph.model.WeightedDirectedGraph;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.TreeMap;
+
+/**
+ * Strongly connected components and condensation maintained under edge insertions and deletions.
+ * <p>
+ * Components carry distinct {@code long} labels that always form a topological order of the
+ * condensation. Inserting a cross edge that contradicts the order runs a Pearce–Kelly search
+ * limited to components whose labels lie between the two endpoints: if the search closes a cycle,
+ * the components on it are merged; otherwise the visited components are relabelled. Deleting an
+ * intra-component edge reruns Tarjan on that component only and gives the pieces fresh labels in
+ * the gap after the old one. Each update therefore touches only the affected region, apart from a
+ * rare global relabelling when a gap is exhausted.
+ * <p>
+ * Vertices are fixed at construction. Not thread-safe.
+ */
+public final class DynamicStronglyConnectedComponents {
+    public static final String COUNTER_MERGES = "scc.dynamicMerges";
+    public static final String COUNTER_SPLITS = "scc.dynamicSplits";
+    public static final String COUNTER_VISITED = "scc.dynamicVisited";
+    public static final String COUNTER_RELABELS = "scc.dynamicRelabels";
+
+    static final long GAP = 1L << 16;
+
+    private final int n;
+    private final int[][] outTargets;
+    private final double[][] outWeights;
+    private final int[] outSize;
+    private final int[][] inSources;
+    private final int[] inSize;
+
+    private final int[] componentOf;
+    private final int[][] members;
+    private final int[] memberCount;
+    private final long[] label;
+    private final TreeMap<Long, Integer> componentByLabel = new TreeMap<>();
+    private final int[] freeIds;
+    private int freeCount;
+    private int componentCount;
+    private long crossEdges;
+
+    private final int[] forwardMark;
+    private final int[] backwardMark;
+    private final int[] cycleMark;
+    private int epoch;
+
+    private final int[] index;
+    private final int[] lowLink;
+    private final int[] edgeCursor;
+
+    private final Metrics.Counter merges;
+    private final Metrics.Counter splits;
+    private final Metrics.Counter visited;
+    private final Metrics.Counter relabels;
+
+    public DynamicStronglyConnectedComponents(GraphView graph, Metrics metrics) {
+        this.n = graph.vertexCount();
+        this.outTargets = new int[n][];
+        this.outWeights = new double[n][];
+        this.outSize = new int[n];
+        this.inSources = new int[n][];
+        this.inSize = new int[n];
+        int[] indegree = new int[n];
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            indegree[graph.target(e)]++;
+        }
+        for (int v = 0; v < n; v++) {
+            int degree = graph.outDegree(v);
+            outTargets[v] = new int[Math.max(2, degree)];
+            outWeights[v] = new double[Math.max(2, degree)];
+            inSources[v] = new int[Math.max(2, indegree[v])];
+        }
+        for (int v = 0; v < n; v++) {
+            for (int e = graph.edgeStart(v), end = graph.edgeEnd(v); e < end; e++) {
+                int w = graph.target(e);
+                outTargets[v][outSize[v]] = w;
+                outWeights[v][outSize[v]++] = graph.weight(e);
+                inSources[w][inSize[w]++] = v;
+            }
+        }
+
+        this.componentOf = new int[n];
+        this.members = new int[n][];
+        this.memberCount = new int[n];
+        this.label = new long[n];
+        this.freeIds = new int[n];
+        this.forwardMark = new int[n];
+        this.backwardMark = new int[n];
+        this.cycleMark = new int[n];
+        this.index = new int[n];
+        this.lowLink = new int[n];
+        this.edgeCursor = new int[n];
+
+        this.merges = metrics.counter(COUNTER_MERGES);
+        this.splits = metrics.counter(COUNTER_SPLITS);
+        this.visited = metrics.counter(COUNTER_VISITED);
+        this.relabels = metrics.counter(COUNTER_RELABELS);
+
+        SCCResult initial = StronglyConnectedComponents.compute(graph, metrics);
+        int k = initial.componentCount();
+        for (int c = 0; c < k; c++) {
+            int[] list = initial.membersOf(c);
+            members[c] = list.length == 0 ? new int[1] : list;
+            memberCount[c] = list.length;
+            for (int v : list) {
+                componentOf[v] = c;
+            }
+            // Tarjan emits sinks first, so reversed emission order is topological.
+            setLabel(c, (k - 1 - c) * GAP);
+        }
+        componentCount = k;
+        for (int c = n - 1; c >= k; c--) {
+            freeIds[freeCount++] = c;
+        }
+        crossEdges = initial.condensationGraph().edgeCount();
+    }
+
+    public int vertexCount() {
+        return n;
+    }
+
+    public int componentCount() {
+        return componentCount;
+    }
+
+    /**
+     * Current component id of {@code vertex}. Ids are stable until the component is merged or split.
+     */
+    public int componentOf(int vertex) {
+        return componentOf[vertex];
+    }
+
+    public boolean sameComponent(int u, int v) {
+        return componentOf[u] == componentOf[v];
+    }
+
+    public int[] members(int component) {
+        return Arrays.copyOf(members[component], memberCount[component]);
+    }
+
+    /**
+     * Number of edges whose endpoints lie in different components, i.e. condensation edges
+     * including parallel ones.
+     */
+    public long crossEdgeCount() {
+        return crossEdges;
+    }
+
+    /**
+     * Distinct successor components of {@code component} in the condensation.
+     */
+    public int[] successors(int component) {
+        epoch++;
+        int[] result = new int[4];
+        int size = 0;
+        for (int i = 0; i < memberCount[component]; i++) {
+            int v = members[component][i];
+            for (int j = 0; j < outSize[v]; j++) {
+                int c = componentOf[outTargets[v][j]];
+                if (c != component && forwardMark[c] != epoch) {
+                    forwardMark[c] = epoch;
+                    if (size == result.length) {
+                        result = Arrays.copyOf(result, size * 2);
+                    }
+                    result[size++] = c;
+                }
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Component ids in the maintained topological order of the condensation.
+     */
+    public int[] topologicalOrder() {
+        return componentByLabel.values().stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public CsrGraph graph() {
+        CsrGraph.Builder builder = new CsrGraph.Builder();
+        for (int v = 0; v < n; v++) {
+            for (int j = 0; j < outSize[v]; j++) {
+                builder.addEdge(v, outTargets[v][j], outWeights[v][j]);
+            }
+        }
+        return builder.build(n);
+    }
+
+    /**
+     * Materialises the current state as a canonical {@link SCCResult} (see
+     * {@link StronglyConnectedComponents#canonical}). Costs O(n + m).
+     */
+    public SCCResult snapshot() {
+        return StronglyConnectedComponents.fromLabels(graph(), componentOf);
+    }
+
+    public WeightedDirectedGraph condensation() {
+        return snapshot().condensationGraph();
+    }
+
+    public void addEdge(int u, int v, double weight) {
+        checkVertex(u);
+        checkVertex(v);
+        appendOut(u, v, weight);
+        appendIn(v, u);
+        int cu = componentOf[u];
+        int cv = componentOf[v];
+        if (cu == cv) {
+            return;
+        }
+        crossEdges++;
+        if (label[cu] < label[cv]) {
+            return;
+        }
+
+        epoch++;
+        long lower = label[cv];
+        long upper = label[cu];
+        int[] forward = search(cv, upper, true);
+        int[] backward = search(cu, lower, false);
+        if (forwardMark[cu] != epoch) {
+            assignLabels(labels(backward, forward), backward, -1, forward);
+            return;
+        }
+
+        int survivor = -1;
+        int cycleSize = 0;
+        for (int c : forward) {
+            if (backwardMark[c] == epoch) {
+                cycleMark[c] = epoch;
+                cycleSize++;
+                if (survivor == -1 || memberCount[c] > memberCount[survivor]) {
+                    survivor = c;
+                }
+            }
+        }
+        int[] cycle = new int[cycleSize];
+        int[] backwardOnly = new int[backward.length - cycleSize];
+        int[] forwardOnly = new int[forward.length - cycleSize];
+        int ci = 0;
+        int bi = 0;
+        int fi = 0;
+        for (int c : forward) {
+            if (cycleMark[c] == epoch) {
+                cycle[ci++] = c;
+            } else {
+                forwardOnly[fi++] = c;
+            }
+        }
+        for (int c : backward) {
+            if (cycleMark[c] != epoch) {
+                backwardOnly[bi++] = c;
+            }
+        }
+
+        long[] pool = labels(backwardOnly, forwardOnly, cycle);
+        merge(cycle, survivor);
+        assignLabels(pool, backwardOnly, survivor, forwardOnly);
+    }
+
+    /**
+     * Removes one {@code u -> v} edge. Returns {@code false} if no such edge exists.
+     */
+    public boolean removeEdge(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        int position = -1;
+        for (int j = 0; j < outSize[u]; j++) {
+            if (outTargets[u][j] == v) {
+                position = j;
+                break;
+            }
+        }
+        if (position == -1) {
+            return false;
+        }
+        int last = --outSize[u];
+        outTargets[u][position] = outTargets[u][last];
+        outWeights[u][position] = outWeights[u][last];
+        for (int j = 0; j < inSize[v]; j++) {
+            if (inSources[v][j] == u) {
+                inSources[v][j] = inSources[v][--inSize[v]];
+                break;
+            }
+        }
+
+        int c = componentOf[u];
+        if (c != componentOf[v]) {
+            crossEdges--;
+        } else {
+            split(c);
+        }
+        return true;
+    }
+
+    /**
+     * Depth-first search over components within the label window. Forward searches follow
+     * out-edges and stay at or below {@code bound}; backward searches follow in-edges and stay at
+     * or above it.
+     */
+    private int[] search(int start, long bound, boolean forward) {
+        int[] mark = forward ? forwardMark : backwardMark;
+        int[] stack = new int[8];
+        int[] found = new int[8];
+        int stackSize = 0;
+        int foundSize = 0;
+        mark[start] = epoch;
+        stack[stackSize++] = start;
+        while (stackSize > 0) {
+            int c = stack[--stackSize];
+            if (foundSize == found.length) {
+                found = Arrays.copyOf(found, foundSize * 2);
+            }
+            found[foundSize++] = c;
+            visited.increment();
+            for (int i = 0; i < memberCount[c]; i++) {
+                int x = members[c][i];
+                int degree = forward ? outSize[x] : inSize[x];
+                int[] neighbours = forward ? outTargets[x] : inSources[x];
+                for (int j = 0; j < degree; j++) {
+                    int d = componentOf[neighbours[j]];
+                    if (mark[d] == epoch || (forward ? label[d] > bound : label[d] < bound)) {
+                        continue;
+                    }
+                    mark[d] = epoch;
+                    if (stackSize == stack.length) {
+                        stack = Arrays.copyOf(stack, stackSize * 2);
+                    }
+                    stack[stackSize++] = d;
+                }
+            }
+        }
+        return Arrays.copyOf(found, foundSize);
+    }
+
+    private long[] labels(int[]... groups) {
+        int total = 0;
+        for (int[] group : groups) {
+            total += group.length;
+        }
+        long[] pool = new long[total];
+        int p = 0;
+        for (int[] group : groups) {
+            for (int c : group) {
+                pool[p++] = label[c];
+            }
+        }
+        Arrays.sort(pool);
+        return pool;
+    }
+
+    /**
+     * Hands out the sorted {@code pool}: {@code before} takes the lowest labels, {@code after} the
+     * highest and {@code middle} (if any) the next one after {@code before}. Groups keep their
+     * relative order, so labels in {@code before} only decrease and labels in {@code after} only
+     * increase, which keeps every edge to or from a component outside the search window ordered.
+     */
+    private void assignLabels(long[] pool, int[] before, int middle, int[] after) {
+        sortByLabel(before);
+        sortByLabel(after);
+        int p = 0;
+        for (int c : before) {
+            setLabel(c, pool[p++]);
+        }
+        if (middle != -1) {
+            setLabel(middle, pool[p]);
+        }
+        p = pool.length - after.length;
+        for (int c : after) {
+            setLabel(c, pool[p++]);
+        }
+    }
+
+    private void merge(int[] cycle, int survivor) {
+        merges.increment();
+        long internal = 0;
+        for (int c : cycle) {
+            for (int i = 0; i < memberCount[c]; i++) {
+                int x = members[c][i];
+                for (int j = 0; j < outSize[x]; j++) {
+                    int d = componentOf[outTargets[x][j]];
+                    if (d != c && cycleMark[d] == epoch) {
+                        internal++;
+                    }
+                }
+            }
+        }
+        crossEdges -= internal;
+
+        for (int c : cycle) {
+            componentByLabel.remove(label[c]);
+            if (c == survivor) {
+                continue;
+            }
+            for (int i = 0; i < memberCount[c]; i++) {
+                int x = members[c][i];
+                componentOf[x] = survivor;
+                appendMember(survivor, x);
+            }
+            members[c] = null;
+            memberCount[c] = 0;
+            freeIds[freeCount++] = c;
+            componentCount--;
+        }
+    }
+
+    private void split(int c) {
+        int size = memberCount[c];
+        int[] vertices = Arrays.copyOf(members[c], size);
+        for (int v : vertices) {
+            index[v] = -1;
+        }
+        int[] callStack = new int[size];
+        int[] stack = new int[size];
+        int[] pieceOf = new int[size];
+        int[] pieceStart = new int[size + 1];
+        int[] pieceMembers = new int[size];
+        int pieces = 0;
+        int emitted = 0;
+        int stackSize = 0;
+        int counter = 0;
+        for (int root : vertices) {
+            if (index[root] != -1) {
+                continue;
+            }
+            int depth = 0;
+            index[root] = lowLink[root] = counter++;
+            edgeCursor[root] = 0;
+            stack[stackSize++] = root;
+            callStack[depth++] = root;
+            while (depth > 0) {
+                int v = callStack[depth - 1];
+                if (edgeCursor[v] < outSize[v]) {
+                    int w = outTargets[v][edgeCursor[v]++];
+                    if (componentOf[w] != c) {
+                        continue;
+                    }
+                    if (index[w] == -1) {
+                        index[w] = lowLink[w] = counter++;
+                        edgeCursor[w] = 0;
+                        stack[stackSize++] = w;
+                        callStack[depth++] = w;
+                    } else if (index[w] >= 0) {
+                        lowLink[v] = Math.min(lowLink[v], index[w]);
+                    }
+                    continue;
+                }
+                depth--;
+                if (lowLink[v] == index[v]) {
+                    pieceStart[pieces] = emitted;
+                    int w;
+                    do {
+                        w = stack[--stackSize];
+                        // Negative index marks "popped" so later back edges to w are ignored.
+                        index[w] = -2 - pieces;
+                        pieceMembers[emitted++] = w;
+                    } while (w != v);
+                    pieces++;
+                }
+                if (depth > 0) {
+                    int parent = callStack[depth - 1];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[v]);
+                }
+            }
+        }
+        pieceStart[pieces] = emitted;
+        if (pieces == 1) {
+            for (int v : vertices) {
+                index[v] = 0;
+            }
+            return;
+        }
+        splits.increment();
+
+        Long next = componentByLabel.higherKey(label[c]);
+        long limit = next == null ? label[c] + GAP * pieces : next;
+        boolean fits = limit - label[c] >= pieces;
+        long step = fits ? (limit - label[c]) / pieces : 0;
+        long base = label[c];
+        componentByLabel.remove(base);
+
+        // Tarjan emits pieces in reverse topological order; the last piece keeps the old id.
+        for (int piece = pieces - 1; piece >= 0; piece--) {
+            int id = piece == pieces - 1 ? c : freeIds[--freeCount];
+            if (piece != pieces - 1) {
+                componentCount++;
+            }
+            int from = pieceStart[piece];
+            int to = pieceStart[piece + 1];
+            members[id] = Arrays.copyOfRange(pieceMembers, from, Math.max(to, from + 1));
+            memberCount[id] = to - from;
+            for (int i = from; i < to; i++) {
+                componentOf[pieceMembers[i]] = id;
+            }
+            pieceOf[piece] = id;
+        }
+        for (int i = 0; i < size; i++) {
+            int v = vertices[i];
+            for (int j = 0; j < outSize[v]; j++) {
+                int w = outTargets[v][j];
+                if (index[w] < -1 && componentOf[w] != componentOf[v]) {
+                    crossEdges++;
+                }
+            }
+        }
+        for (int v : vertices) {
+            index[v] = 0;
+        }
+
+        if (fits) {
+            for (int piece = pieces - 1, slot = 0; piece >= 0; piece--, slot++) {
+                setLabel(pieceOf[piece], base + slot * step);
+            }
+        } else {
+            for (int piece = 0; piece < pieces; piece++) {
+                label[pieceOf[piece]] = Long.MIN_VALUE;
+            }
+            relabelAll();
+        }
+    }
+
+    /**
+     * Recomputes evenly spaced labels from a Kahn order of the whole condensation.
+     */
+    private void relabelAll() {
+        relabels.increment();
+        componentByLabel.clear();
+        int[] indegree = new int[n];
+        boolean[] live = new boolean[n];
+        for (int v = 0; v < n; v++) {
+            live[componentOf[v]] = true;
+            for (int j = 0; j < outSize[v]; j++) {
+                int w = outTargets[v][j];
+                if (componentOf[w] != componentOf[v]) {
+                    indegree[componentOf[w]]++;
+                }
+            }
+        }
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int c = 0; c < n; c++) {
+            if (live[c] && indegree[c] == 0) {
+                queue[tail++] = c;
+            }
+        }
+        long next = 0;
+        while (head < tail) {
+            int c = queue[head++];
+            setLabel(c, next);
+            next += GAP;
+            for (int i = 0; i < memberCount[c]; i++) {
+                int x = members[c][i];
+                for (int j = 0; j < outSize[x]; j++) {
+                    int d = componentOf[outTargets[x][j]];
+                    if (d != c && --indegree[d] == 0) {
+                        queue[tail++] = d;
+                    }
+                }
+            }
+        }
+    }
+
+    private void setLabel(int component, long value) {
+        componentByLabel.remove(label[component], component);
+        label[component] = value;
+        componentByLabel.put(value, component);
+    }
+
+    private void sortByLabel(int[] components) {
+        Integer[] boxed = new Integer[components.length];
+        for (int i = 0; i < components.length; i++) {
+            boxed[i] = components[i];
+        }
+        Arrays.sort(boxed, Comparator.comparingLong(c -> label[c]));
+        for (int i = 0; i < components.length; i++) {
+            components[i] = boxed[i];
+        }
+    }
+
+    private void appendOut(int u, int v, double weight) {
+        if (outSize[u] == outTargets[u].length) {
+            outTargets[u] = Arrays.copyOf(outTargets[u], outSize[u] * 2);
+            outWeights[u] = Arrays.copyOf(outWeights[u], outSize[u] * 2);
+        }
+        outTargets[u][outSize[u]] = v;
+        outWeights[u][outSize[u]++] = weight;
+    }
+
+    private void appendIn(int v, int u) {
+        if (inSize[v] == inSources[v].length) {
+            inSources[v] = Arrays.copyOf(inSources[v], inSize[v] * 2);
+        }
+        inSources[v][inSize[v]++] = u;
+    }
+
+    private void appendMember(int component, int vertex) {
+        if (memberCount[component] == members[component].length) {
+            members[component] = Arrays.copyOf(members[component], Math.max(1, memberCount[component] * 2));
+        }
+        members[component][memberCount[component]++] = vertex;
+    }
+
+    private void checkVertex(int v) {
+        if (v < 0 || v >= n) {
+            throw new IndexOutOfBoundsException("Vertex " + v + " is out of bounds");
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package graph.scc;
+
+/**
+ * How {@link CondensationBuilder} combines parallel edges between the same pair of components.
+ */
+public enum EdgeMergePolicy {
+    /**
+     * One edge per pair with the smallest weight; shortest paths over the condensation are unchanged.
+     */
+    MIN,
+    /**
+     * One edge per pair with the largest weight; longest (critical) paths are unchanged.
+     */
+    MAX,
+    /**
+     * One edge per pair whose weight is the sum of the merged weights, e.g. for aggregate traffic.
+     */
+    SUM,
+    /**
+     * Every cross-component edge is kept, as in {@link SCCResult#condensationGraph()}.
+     */
+    KEEP_ALL;
+
+    double merge(double current, double weight) {
+        return switch (this) {
+            case MIN -> Math.min(current, weight);
+            case MAX -> Math.max(current, weight);
+            case SUM -> current + weight;
+            case KEEP_ALL -> throw new IllegalStateException("KEEP_ALL does not merge edges");
+        };
+    }
+}
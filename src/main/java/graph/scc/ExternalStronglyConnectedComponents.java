@@ -0,0 +1,81 @@
+package graph.scc;
+
+import graph.metrics.Metrics;
+import graph.model.ExternalCsrWriter;
+import graph.model.GraphBinaryFormat;
+import graph.model.MappedCsrGraph;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Semi-external SCC for graphs stored in a {@link GraphBinaryFormat} file: per-vertex state lives on
+ * the heap, edges stay on disk.
+ * <p>
+ * The file is memory-mapped and Tarjan's DFS runs over it directly; the edges of a vertex are
+ * contiguous in the file, so each visit reads one run of pages, and the OS page cache rather than
+ * the Java heap holds whatever part of the graph is hot. Cross-component edges are then streamed in
+ * vertex order through an {@link ExternalCsrWriter} into a second file holding the condensation,
+ * with every cross edge kept as in {@link SCCResult#condensationGraph()}. Mapping that file gives a
+ * {@link graph.model.GraphView} for {@link graph.topo.TopologicalSorter} and
+ * {@link graph.dagsp.DagShortestPath}.
+ * <p>
+ * The graph may be much larger than the heap: sections are mapped in windows, so the file is
+ * bounded only by the format's {@code int} edge count, while the heap needs about 40 bytes per
+ * vertex. It should still fit the page cache; a DFS over a file several times larger than RAM
+ * turns into random page reads.
+ */
+public final class ExternalStronglyConnectedComponents {
+    public static final String COUNTER_CROSS_EDGES = "scc.externalCrossEdges";
+    public static final String COUNTER_RUNS = "scc.externalRuns";
+    public static final String TIMER_CONDENSATION = "scc.externalCondensationTime";
+
+    /**
+     * Component labels in Tarjan emission order and the file holding the condensation, whose source
+     * vertex is the component of the input's source.
+     */
+    public record Result(int componentCount, int[] componentOf, Path condensation) {
+        public MappedCsrGraph mapCondensation() throws IOException {
+            return GraphBinaryFormat.map(condensation);
+        }
+    }
+
+    private ExternalStronglyConnectedComponents() {
+    }
+
+    public static Result compute(Path graph, Path condensation, Path tempDirectory, Metrics metrics) throws IOException {
+        return compute(graph, condensation, tempDirectory, ExternalCsrWriter.DEFAULT_RUN_EDGES, metrics);
+    }
+
+    /**
+     * Labels the components of the graph in {@code graph} and writes its condensation to
+     * {@code condensation}, sorting cross edges in runs of {@code runEdges} under
+     * {@code tempDirectory}.
+     */
+    public static Result compute(Path graph, Path condensation, Path tempDirectory, int runEdges, Metrics metrics)
+            throws IOException {
+        MappedCsrGraph mapped = GraphBinaryFormat.map(graph);
+        int[] componentOf = StronglyConnectedComponents.componentLabels(mapped, metrics);
+        int componentCount = 0;
+        for (int c : componentOf) {
+            componentCount = Math.max(componentCount, c + 1);
+        }
+        try (Metrics.TimerContext ignored = metrics.time(TIMER_CONDENSATION);
+             ExternalCsrWriter writer = new ExternalCsrWriter(tempDirectory, runEdges)) {
+            for (int u = 0, n = mapped.vertexCount(); u < n; u++) {
+                int from = componentOf[u];
+                for (int e = mapped.edgeStart(u), end = mapped.edgeEnd(u); e < end; e++) {
+                    int to = componentOf[mapped.target(e)];
+                    if (from != to) {
+                        writer.addEdge(from, to, mapped.weight(e));
+                    }
+                }
+            }
+            metrics.addToCounter(COUNTER_CROSS_EDGES, writer.edgeCount());
+            int source = mapped.vertexCount() == 0 ? 0 : componentOf[mapped.source()];
+            writer.finish(condensation, componentCount, source, mapped.weightModel());
+            metrics.addToCounter(COUNTER_RUNS, writer.runCount());
+        }
+        return new Result(componentCount, componentOf, condensation);
+    }
+}
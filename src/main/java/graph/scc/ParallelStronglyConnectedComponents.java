@@ -0,0 +1,353 @@
+package graph.scc;
+
+import graph.metrics.Metrics;
+import graph.model.CsrGraph;
+import graph.model.GraphView;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Forward-backward SCC decomposition with trimming.
+ * <p>
+ * Vertices that have no live predecessor or successor are peeled off as singleton components,
+ * frontier by frontier. The remaining vertices form subproblems identified by a colour; each
+ * subproblem picks a pivot, colours its forward and backward reachable sets, emits their
+ * intersection as one component and splits into three independent subproblems. Subproblems of at least
+ * {@link #FORK_THRESHOLD} vertices are solved concurrently, round by round, so no recursion depth
+ * depends on the graph shape.
+ * <p>
+ * Forward-backward alone is quadratic on graphs with many small components, because each pivot
+ * may peel off only a few vertices. Subproblems below the threshold, and the dominant child of a
+ * split that removed less than {@link #MIN_SPLIT_GAIN} of its parent, are therefore finished by an
+ * iterative Tarjan restricted to the subproblem.
+ */
+public final class ParallelStronglyConnectedComponents {
+    public static final String COUNTER_TRIMMED = "scc.fbTrimmed";
+    public static final String COUNTER_PIVOTS = "scc.fbPivots";
+    public static final String COUNTER_ROUNDS = "scc.fbRounds";
+
+    static final int FORK_THRESHOLD = 4096;
+    static final double MIN_SPLIT_GAIN = 0.125;
+    private static final int DONE = -1;
+
+    private final GraphView forward;
+    private final CsrGraph backward;
+    private final int[] color;
+    private final int[] label;
+    private final int[] index;
+    private final int[] lowLink;
+    private final int[] edgeCursor;
+    private final AtomicInteger nextColor = new AtomicInteger(1);
+    private final LongAdder pivots = new LongAdder();
+
+    private ParallelStronglyConnectedComponents(GraphView graph) {
+        this.forward = graph;
+        this.backward = CsrGraph.transpose(graph);
+        this.color = new int[graph.vertexCount()];
+        this.label = new int[graph.vertexCount()];
+        this.index = new int[graph.vertexCount()];
+        this.lowLink = new int[graph.vertexCount()];
+        this.edgeCursor = new int[graph.vertexCount()];
+    }
+
+    public static SCCResult compute(GraphView graph, Metrics metrics, ForkJoinPool pool) {
+        ParallelStronglyConnectedComponents engine;
+        try (Metrics.TimerContext ignored = metrics.time(StronglyConnectedComponents.TIMER_SCC)) {
+            engine = new ParallelStronglyConnectedComponents(graph);
+            metrics.addToCounter(COUNTER_TRIMMED, engine.trim(pool));
+
+            List<Part> round = new ArrayList<>();
+            int[] remaining = IntStream.range(0, graph.vertexCount()).filter(v -> engine.color[v] != DONE).toArray();
+            if (remaining.length > 0) {
+                round.add(new Part(0, remaining));
+            }
+            while (!round.isEmpty()) {
+                metrics.incrementCounter(COUNTER_ROUNDS);
+                Queue<Part> next = new ConcurrentLinkedQueue<>();
+                List<Solve> tasks = new ArrayList<>(round.size());
+                for (Part part : round) {
+                    tasks.add(engine.new Solve(part, next));
+                }
+                pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+                round = new ArrayList<>(next);
+            }
+            metrics.addToCounter(COUNTER_PIVOTS, engine.pivots.sum());
+        }
+        return StronglyConnectedComponents.fromLabels(graph, engine.label);
+    }
+
+    /**
+     * Removes vertices without a live in- or out-neighbour, then every vertex that loses its last
+     * one, until none is left. The live in- and out-degree of each vertex are packed into one
+     * {@code long}, starting from the CSR degrees. Trimming a vertex decrements its neighbours, and
+     * the decrement that first brings either half to zero claims the neighbour, so each vertex is
+     * trimmed once and each edge released once whatever the vertex order. A self-loop is never
+     * released, which leaves such vertices to the forward-backward phase. Frontiers of at least
+     * {@link #FORK_THRESHOLD} vertices are released in parallel; smaller ones are drained on the
+     * calling thread.
+     */
+    private long trim(ForkJoinPool pool) {
+        int n = forward.vertexCount();
+        AtomicLongArray live = new AtomicLongArray(n);
+        int[] frontier = pool.invoke(ForkJoinTask.adapt(() -> IntStream.range(0, n).parallel().filter(v -> {
+            int in = backward.outDegree(v);
+            int out = forward.outDegree(v);
+            live.set(v, (long) in << 32 | out);
+            if (in == 0 || out == 0) {
+                color[v] = DONE;
+                label[v] = v;
+                return true;
+            }
+            return false;
+        }).toArray()));
+        long total = frontier.length;
+        while (frontier.length >= FORK_THRESHOLD) {
+            int[] current = frontier;
+            int chunks = (current.length + FORK_THRESHOLD - 1) / FORK_THRESHOLD;
+            frontier = pool.invoke(ForkJoinTask.adapt(() -> IntStream.range(0, chunks).parallel().mapToObj(chunk -> {
+                int[][] claimed = {new int[FORK_THRESHOLD]};
+                int[] size = {0};
+                for (int i = chunk * FORK_THRESHOLD, end = Math.min(current.length, i + FORK_THRESHOLD); i < end; i++) {
+                    release(current[i], live, w -> {
+                        if (size[0] == claimed[0].length) {
+                            claimed[0] = Arrays.copyOf(claimed[0], size[0] * 2);
+                        }
+                        claimed[0][size[0]++] = w;
+                    });
+                }
+                return Arrays.copyOf(claimed[0], size[0]);
+            }).flatMapToInt(Arrays::stream).toArray()));
+            total += frontier.length;
+        }
+        // Every vertex is pushed at most once, so n slots are enough.
+        int[] stack = Arrays.copyOf(frontier, n);
+        int[] size = {frontier.length};
+        while (size[0] > 0) {
+            int before = size[0] - 1;
+            release(stack[--size[0]], live, w -> stack[size[0]++] = w);
+            total += size[0] - before;
+        }
+        return total;
+    }
+
+    private void release(int v, AtomicLongArray live, IntConsumer claimed) {
+        for (int e = forward.edgeStart(v), end = forward.edgeEnd(v); e < end; e++) {
+            int w = forward.target(e);
+            if (w != v) {
+                long degrees = live.addAndGet(w, -(1L << 32));
+                if ((int) (degrees >>> 32) == 0 && (int) degrees != 0) {
+                    claim(w, claimed);
+                }
+            }
+        }
+        for (int e = backward.edgeStart(v), end = backward.edgeEnd(v); e < end; e++) {
+            int w = backward.target(e);
+            if (w != v) {
+                long degrees = live.addAndGet(w, -1);
+                if ((int) degrees == 0 && (int) (degrees >>> 32) != 0) {
+                    claim(w, claimed);
+                }
+            }
+        }
+    }
+
+    private void claim(int v, IntConsumer claimed) {
+        color[v] = DONE;
+        label[v] = v;
+        claimed.accept(v);
+    }
+
+    private record Part(int color, int[] vertices) {
+    }
+
+    // Tasks only live inside one compute() call and are never serialized.
+    @SuppressWarnings("serial")
+    private final class Solve extends RecursiveAction {
+        private final Part initial;
+        private final Queue<Part> deferred;
+
+        Solve(Part initial, Queue<Part> deferred) {
+            this.initial = initial;
+            this.deferred = deferred;
+        }
+
+        @Override
+        protected void compute() {
+            ArrayDeque<Part> local = new ArrayDeque<>();
+            local.push(initial);
+            int[] queue = new int[initial.vertices().length];
+            while (!local.isEmpty()) {
+                Part part = local.pop();
+                if (part.vertices().length < FORK_THRESHOLD) {
+                    tarjan(part);
+                    continue;
+                }
+                int limit = part.vertices().length - (int) (part.vertices().length * MIN_SPLIT_GAIN);
+                for (Part child : split(part, queue)) {
+                    if (child.vertices().length > limit) {
+                        tarjan(child);
+                    } else if (child.vertices().length >= FORK_THRESHOLD) {
+                        deferred.add(child);
+                    } else {
+                        local.push(child);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Tarjan over the vertices still coloured {@code part.color()}. Vertices on the Tarjan stack
+         * are recoloured with a fresh colour so that only subproblem members are followed.
+         */
+        private void tarjan(Part part) {
+            int c = part.color();
+            int visiting = nextColor.getAndIncrement();
+            int[] vertices = part.vertices();
+            int[] callStack = new int[vertices.length];
+            int[] stack = new int[vertices.length];
+            int stackSize = 0;
+            int counter = 0;
+            for (int root : vertices) {
+                if (color[root] != c) {
+                    continue;
+                }
+                int depth = 0;
+                color[root] = visiting;
+                index[root] = lowLink[root] = counter++;
+                edgeCursor[root] = forward.edgeStart(root);
+                stack[stackSize++] = root;
+                callStack[depth++] = root;
+                while (depth > 0) {
+                    int v = callStack[depth - 1];
+                    int e = edgeCursor[v];
+                    if (e < forward.edgeEnd(v)) {
+                        edgeCursor[v] = e + 1;
+                        int w = forward.target(e);
+                        if (color[w] == c) {
+                            color[w] = visiting;
+                            index[w] = lowLink[w] = counter++;
+                            edgeCursor[w] = forward.edgeStart(w);
+                            stack[stackSize++] = w;
+                            callStack[depth++] = w;
+                        } else if (color[w] == visiting) {
+                            lowLink[v] = Math.min(lowLink[v], index[w]);
+                        }
+                        continue;
+                    }
+                    depth--;
+                    if (lowLink[v] == index[v]) {
+                        int w;
+                        do {
+                            w = stack[--stackSize];
+                            color[w] = DONE;
+                            label[w] = v;
+                        } while (w != v);
+                    }
+                    if (depth > 0) {
+                        int parent = callStack[depth - 1];
+                        lowLink[parent] = Math.min(lowLink[parent], lowLink[v]);
+                    }
+                }
+            }
+        }
+
+        private List<Part> split(Part part, int[] queue) {
+            int c = part.color();
+            int[] vertices = part.vertices();
+            int pivot = vertices[vertices.length >>> 1];
+            int forwardColor = nextColor.getAndIncrement();
+            int backwardColor = nextColor.getAndIncrement();
+            pivots.increment();
+
+            int head = 0;
+            int tail = 0;
+            color[pivot] = forwardColor;
+            queue[tail++] = pivot;
+            while (head < tail) {
+                int v = queue[head++];
+                for (int e = forward.edgeStart(v), end = forward.edgeEnd(v); e < end; e++) {
+                    int w = forward.target(e);
+                    if (color[w] == c) {
+                        color[w] = forwardColor;
+                        queue[tail++] = w;
+                    }
+                }
+            }
+
+            head = 0;
+            tail = 0;
+            color[pivot] = DONE;
+            label[pivot] = pivot;
+            queue[tail++] = pivot;
+            while (head < tail) {
+                int v = queue[head++];
+                for (int e = backward.edgeStart(v), end = backward.edgeEnd(v); e < end; e++) {
+                    int w = backward.target(e);
+                    if (color[w] == forwardColor) {
+                        color[w] = DONE;
+                        label[w] = pivot;
+                        queue[tail++] = w;
+                    } else if (color[w] == c) {
+                        color[w] = backwardColor;
+                        queue[tail++] = w;
+                    }
+                }
+            }
+
+            int forwardOnly = 0;
+            int backwardOnly = 0;
+            int rest = 0;
+            for (int v : vertices) {
+                int cv = color[v];
+                if (cv == forwardColor) {
+                    forwardOnly++;
+                } else if (cv == backwardColor) {
+                    backwardOnly++;
+                } else if (cv == c) {
+                    rest++;
+                }
+            }
+            int[] forwardPart = new int[forwardOnly];
+            int[] backwardPart = new int[backwardOnly];
+            int[] restPart = new int[rest];
+            forwardOnly = 0;
+            backwardOnly = 0;
+            rest = 0;
+            for (int v : vertices) {
+                int cv = color[v];
+                if (cv == forwardColor) {
+                    forwardPart[forwardOnly++] = v;
+                } else if (cv == backwardColor) {
+                    backwardPart[backwardOnly++] = v;
+                } else if (cv == c) {
+                    restPart[rest++] = v;
+                }
+            }
+
+            List<Part> children = new ArrayList<>(3);
+            if (forwardPart.length > 0) {
+                children.add(new Part(forwardColor, forwardPart));
+            }
+            if (backwardPart.length > 0) {
+                children.add(new Part(backwardColor, backwardPart));
+            }
+            if (restPart.length > 0) {
+                children.add(new Part(c, restPart));
+            }
+            return children;
+        }
+    }
+}
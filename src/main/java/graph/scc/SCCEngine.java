@@ -0,0 +1,16 @@
+package graph.scc;
+
+/**
+ * Algorithm used by {@link StronglyConnectedComponents#compute(graph.model.GraphView, graph.metrics.Metrics, SCCEngine)}.
+ */
+public enum SCCEngine {
+    /**
+     * Sequential Tarjan DFS; components are emitted in reverse topological order.
+     */
+    TARJAN,
+    /**
+     * Parallel forward-backward decomposition with trimming on the common {@link java.util.concurrent.ForkJoinPool};
+     * the result is in canonical form (see {@link StronglyConnectedComponents#canonical}).
+     */
+    FORWARD_BACKWARD
+}
@@ -1,8 +1,102 @@
 package graph.scc;
 
+import graph.model.VertexRenumbering;
 import graph.model.WeightedDirectedGraph;
 
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.RandomAccess;
 
-public record SCCResult(List<List<Integer>> components, int[] componentOf, WeightedDirectedGraph condensationGraph) {
+/**
+ * Components in counting-sort layout: the members of component {@code c} are
+ * {@code members[componentStart[c] .. componentStart[c + 1])}, and {@code componentOf[v]} is the
+ * component of vertex {@code v}. {@link #components()} and {@link #component(int)} are boxed views
+ * over the same arrays, built on access.
+ */
+public record SCCResult(int[] componentOf, int[] componentStart, int[] members, WeightedDirectedGraph condensationGraph) {
+    public int componentCount() {
+        return componentStart.length - 1;
+    }
+
+    public int componentSize(int component) {
+        return componentStart[component + 1] - componentStart[component];
+    }
+
+    public int[] membersOf(int component) {
+        return Arrays.copyOfRange(members, componentStart[component], componentStart[component + 1]);
+    }
+
+    public List<Integer> component(int component) {
+        return new Members(members, componentStart[component], componentStart[component + 1]);
+    }
+
+    public List<List<Integer>> components() {
+        return new Components();
+    }
+
+    /**
+     * Translates a result computed on {@code renumbering.graph()} to the original vertex ids.
+     * Component ids and the condensation are unchanged.
+     */
+    public SCCResult toOriginal(VertexRenumbering renumbering) {
+        return new SCCResult(renumbering.valuesByOriginal(componentOf), componentStart, renumbering.toOriginal(members),
+                condensationGraph);
+    }
+
+    /**
+     * Groups vertices by {@code componentOf} with a counting sort, members ascending.
+     */
+    static SCCResult fromComponentOf(int[] componentOf, int componentCount, WeightedDirectedGraph condensationGraph) {
+        int[] componentStart = new int[componentCount + 1];
+        for (int c : componentOf) {
+            componentStart[c + 1]++;
+        }
+        for (int c = 0; c < componentCount; c++) {
+            componentStart[c + 1] += componentStart[c];
+        }
+        int[] cursor = Arrays.copyOf(componentStart, componentCount);
+        int[] members = new int[componentOf.length];
+        for (int v = 0; v < componentOf.length; v++) {
+            members[cursor[componentOf[v]]++] = v;
+        }
+        return new SCCResult(componentOf, componentStart, members, condensationGraph);
+    }
+
+    private final class Components extends AbstractList<List<Integer>> implements RandomAccess {
+        @Override
+        public List<Integer> get(int index) {
+            return component(index);
+        }
+
+        @Override
+        public int size() {
+            return componentCount();
+        }
+    }
+
+    private static final class Members extends AbstractList<Integer> implements RandomAccess {
+        private final int[] members;
+        private final int from;
+        private final int to;
+
+        Members(int[] members, int from, int to) {
+            this.members = members;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Integer get(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return members[from + index];
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
 }
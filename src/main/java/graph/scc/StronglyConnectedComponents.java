@@ -1,10 +1,13 @@
 package graph.scc;
 
 import graph.metrics.Metrics;
+import graph.metrics.NoopMetrics;
+import graph.model.GraphView;
+import graph.model.LongGraphView;
 import graph.model.WeightedDirectedGraph;
-import graph.model.WeightedEdge;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 
 public class StronglyConnectedComponents {
@@ -13,29 +16,144 @@ public class StronglyConnectedComponents {
     public static final String TIMER_SCC = "scc.totalTime";
 
     private int index;
-    private final List<List<Integer>> components = new ArrayList<>();
-    private final Deque<Integer> stack = new ArrayDeque<>();
+    private final int[] members;
+    private int memberCount;
+    private final int[] componentStart;
+    private int componentCount;
+    private final int[] stack;
+    private int stackSize;
+    private final int[] callStack;
+    private final int[] edgeCursor;
     private final boolean[] onStack;
     private final int[] indices;
     private final int[] lowLink;
     private final int[] componentOf;
 
-    private final WeightedDirectedGraph graph;
-    private final Metrics metrics;
+    private final GraphView graph;
+    private final Metrics.Counter visits;
+    private final Metrics.Counter edges;
 
-    private StronglyConnectedComponents(WeightedDirectedGraph graph, Metrics metrics) {
+    private StronglyConnectedComponents(GraphView graph, Metrics metrics) {
         this.graph = graph;
-        this.metrics = metrics;
+        this.visits = metrics.counter(COUNTER_DFS_VISITS);
+        this.edges = metrics.counter(COUNTER_DFS_EDGES);
         int n = graph.vertexCount();
+        this.stack = new int[n];
+        this.callStack = new int[n];
+        this.edgeCursor = new int[n];
         this.onStack = new boolean[n];
         this.indices = new int[n];
         Arrays.fill(this.indices, -1);
         this.lowLink = new int[n];
         this.componentOf = new int[n];
         Arrays.fill(this.componentOf, -1);
+        this.members = new int[n];
+        this.componentStart = new int[n + 1];
     }
 
     public static SCCResult compute(WeightedDirectedGraph graph, Metrics metrics) {
+        return compute(graph.freeze(), metrics);
+    }
+
+    public static SCCResult compute(WeightedDirectedGraph graph, Metrics metrics, SCCEngine engine) {
+        return compute(graph.freeze(), metrics, engine);
+    }
+
+    public static SCCResult compute(GraphView graph, Metrics metrics, SCCEngine engine) {
+        return switch (engine) {
+            case TARJAN -> compute(graph, metrics);
+            case FORWARD_BACKWARD -> ParallelStronglyConnectedComponents.compute(graph, metrics, ForkJoinPool.commonPool());
+        };
+    }
+
+    public static SCCResult compute(GraphView graph, Metrics metrics) {
+        StronglyConnectedComponents tarjan = run(graph, metrics);
+        int count = tarjan.componentCount;
+        WeightedDirectedGraph condensation = buildCondensationGraph(graph, tarjan.componentOf, count);
+        return new SCCResult(tarjan.componentOf, Arrays.copyOf(tarjan.componentStart, count + 1), tarjan.members, condensation);
+    }
+
+    /**
+     * Component of every vertex in Tarjan emission order (sinks first), without the condensation.
+     */
+    static int[] componentLabels(GraphView graph, Metrics metrics) {
+        return run(graph, metrics).componentOf;
+    }
+
+    /**
+     * Tarjan over a {@link LongGraphView} whose edge count may exceed {@code 2^31 - 1}: the same
+     * traversal with {@code long} edge cursors, returning components numbered in emission order as
+     * {@link #compute} does; the component count is the largest label plus one. The condensation
+     * of such a graph may not fit the heap either; build it with
+     * {@link CondensationBuilder#buildOffHeap}.
+     */
+    public static int[] componentLabels(LongGraphView graph, Metrics metrics) {
+        Metrics.Counter visits = metrics.counter(COUNTER_DFS_VISITS);
+        Metrics.Counter edges = metrics.counter(COUNTER_DFS_EDGES);
+        int n = graph.vertexCount();
+        int[] stack = new int[n];
+        int[] callStack = new int[n];
+        long[] edgeCursor = new long[n];
+        boolean[] onStack = new boolean[n];
+        int[] indices = new int[n];
+        int[] lowLink = new int[n];
+        int[] componentOf = new int[n];
+        Arrays.fill(indices, -1);
+        int index = 0;
+        int stackSize = 0;
+        int componentCount = 0;
+        try (Metrics.TimerContext ignored = metrics.time(TIMER_SCC)) {
+            for (int root = 0; root < n; root++) {
+                if (indices[root] != -1) {
+                    continue;
+                }
+                int depth = 0;
+                visits.increment();
+                indices[root] = lowLink[root] = index++;
+                edgeCursor[root] = graph.edgeOffset(root);
+                stack[stackSize++] = root;
+                onStack[root] = true;
+                callStack[depth++] = root;
+                while (depth > 0) {
+                    int v = callStack[depth - 1];
+                    long e = edgeCursor[v];
+                    if (e < graph.edgeOffset(v + 1)) {
+                        edgeCursor[v] = e + 1;
+                        edges.increment();
+                        int w = graph.targetAt(e);
+                        if (indices[w] == -1) {
+                            visits.increment();
+                            indices[w] = lowLink[w] = index++;
+                            edgeCursor[w] = graph.edgeOffset(w);
+                            stack[stackSize++] = w;
+                            onStack[w] = true;
+                            callStack[depth++] = w;
+                        } else if (onStack[w]) {
+                            lowLink[v] = Math.min(lowLink[v], indices[w]);
+                        }
+                        continue;
+                    }
+                    depth--;
+                    if (lowLink[v] == indices[v]) {
+                        int w;
+                        do {
+                            w = stack[--stackSize];
+                            onStack[w] = false;
+                            componentOf[w] = componentCount;
+                        } while (w != v);
+                        componentCount++;
+                    }
+                    if (depth > 0) {
+                        int parent = callStack[depth - 1];
+                        lowLink[parent] = Math.min(lowLink[parent], lowLink[v]);
+                    }
+                }
+            }
+        }
+        return componentOf;
+    }
+
+    private static StronglyConnectedComponents run(GraphView graph, Metrics metrics) {
         StronglyConnectedComponents tarjan = new StronglyConnectedComponents(graph, metrics);
         try (Metrics.TimerContext ignored = metrics.time(TIMER_SCC)) {
             for (int v = 0; v < graph.vertexCount(); v++) {
@@ -44,53 +162,93 @@ public class StronglyConnectedComponents {
                 }
             }
         }
-        WeightedDirectedGraph condensation = tarjan.buildCondensationGraph();
-        return new SCCResult(List.copyOf(tarjan.components), tarjan.componentOf, condensation);
+        return tarjan;
     }
 
-    private void strongConnect(int v) {
-        metrics.incrementCounter(COUNTER_DFS_VISITS);
+    /**
+     * Iterative Tarjan DFS. Each frame is a vertex on {@code callStack} plus its next edge in
+     * {@code edgeCursor}, so native stack depth stays constant regardless of path length.
+     */
+    private void strongConnect(int root) {
+        int depth = 0;
+        enter(root);
+        callStack[depth++] = root;
+
+        while (depth > 0) {
+            int v = callStack[depth - 1];
+            int e = edgeCursor[v];
+            if (e < graph.edgeEnd(v)) {
+                edgeCursor[v] = e + 1;
+                edges.increment();
+                int w = graph.target(e);
+                if (indices[w] == -1) {
+                    enter(w);
+                    callStack[depth++] = w;
+                } else if (onStack[w]) {
+                    lowLink[v] = Math.min(lowLink[v], indices[w]);
+                }
+                continue;
+            }
+
+            depth--;
+            if (lowLink[v] == indices[v]) {
+                int w;
+                do {
+                    w = stack[--stackSize];
+                    onStack[w] = false;
+                    componentOf[w] = componentCount;
+                    members[memberCount++] = w;
+                } while (w != v);
+                componentStart[++componentCount] = memberCount;
+            }
+            if (depth > 0) {
+                int parent = callStack[depth - 1];
+                lowLink[parent] = Math.min(lowLink[parent], lowLink[v]);
+            }
+        }
+    }
+
+    private void enter(int v) {
+        visits.increment();
         indices[v] = index;
         lowLink[v] = index;
         index++;
-        stack.push(v);
+        edgeCursor[v] = graph.edgeStart(v);
+        stack[stackSize++] = v;
         onStack[v] = true;
+    }
 
-        for (WeightedEdge edge : graph.edgesFrom(v)) {
-            metrics.incrementCounter(COUNTER_DFS_EDGES);
-            int w = edge.to();
-            if (indices[w] == -1) {
-                strongConnect(w);
-                lowLink[v] = Math.min(lowLink[v], lowLink[w]);
-            } else if (onStack[w]) {
-                lowLink[v] = Math.min(lowLink[v], indices[w]);
-            }
-        }
-
-        if (lowLink[v] == indices[v]) {
-            List<Integer> component = new ArrayList<>();
-            int w;
-            do {
-                w = stack.pop();
-                onStack[w] = false;
-                componentOf[w] = components.size();
-                component.add(w);
-            } while (w != v);
-            components.add(component);
-        }
+    /**
+     * Renumbers an SCC result into canonical form: components ordered by their smallest vertex,
+     * members listed in ascending order. Results from every {@link SCCEngine} agree in this form.
+     */
+    public static SCCResult canonical(GraphView graph, SCCResult result) {
+        return fromLabels(graph, result.componentOf());
     }
 
-    private WeightedDirectedGraph buildCondensationGraph() {
-        WeightedDirectedGraph condensation = new WeightedDirectedGraph(components.size());
-        for (int v = 0; v < graph.vertexCount(); v++) {
-            int fromComponent = componentOf[v];
-            for (WeightedEdge edge : graph.edgesFrom(v)) {
-                int toComponent = componentOf[edge.to()];
-                if (fromComponent != toComponent) {
-                    condensation.addEdge(fromComponent, toComponent, edge.weight());
-                }
+    /**
+     * Builds a canonical result from any per-vertex labelling in {@code [0, n)} where equal labels
+     * mean the same component.
+     */
+    static SCCResult fromLabels(GraphView graph, int[] labels) {
+        int n = graph.vertexCount();
+        int[] componentOfLabel = new int[n];
+        Arrays.fill(componentOfLabel, -1);
+        int[] componentOf = new int[n];
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            int label = labels[v];
+            if (componentOfLabel[label] == -1) {
+                componentOfLabel[label] = count++;
             }
+            componentOf[v] = componentOfLabel[label];
         }
-        return condensation;
+        WeightedDirectedGraph condensation = buildCondensationGraph(graph, componentOf, count);
+        return SCCResult.fromComponentOf(componentOf, count, condensation);
+    }
+
+    private static WeightedDirectedGraph buildCondensationGraph(GraphView graph, int[] componentOf, int componentCount) {
+        return new WeightedDirectedGraph(CondensationBuilder.build(graph, componentOf, componentCount,
+                EdgeMergePolicy.KEEP_ALL, NoopMetrics.INSTANCE));
     }
 }
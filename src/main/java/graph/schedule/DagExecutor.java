@@ -0,0 +1,267 @@
+package graph.schedule;
+
+import graph.metrics.Metrics;
+import graph.model.GraphView;
+import graph.model.WeightedDirectedGraph;
+import graph.scc.SCCResult;
+import graph.topo.TopologicalSorter;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs one task per vertex of a DAG on virtual threads, each as soon as all its predecessors are done.
+ * <p>
+ * Remaining predecessor counts live in an {@link AtomicIntegerArray}; the thread that finishes the
+ * last predecessor of a task makes it ready. At most {@code maxConcurrency} virtual threads run at a
+ * time: a thread keeps taking ready tasks, preferring a successor it just released, and only a
+ * released permit lets a new one start. After the first failure no further task starts, running
+ * ones are interrupted, and the rest are reported as cancelled.
+ * <p>
+ * Per-task wall time is returned in the report and summed into {@link #TIMER_TASK}; counters and the
+ * sum are flushed whenever a thread runs out of ready work rather than per task.
+ */
+public final class DagExecutor {
+    public static final String COUNTER_COMPLETED = "exec.tasksCompleted";
+    public static final String COUNTER_CANCELLED = "exec.tasksCancelled";
+    public static final String COUNTER_FAILED = "exec.tasksFailed";
+    public static final String COUNTER_THREADS = "exec.threadsStarted";
+    public static final String TIMER_TASK = "exec.taskTime";
+    public static final String TIMER_RUN = "exec.totalTime";
+
+    /**
+     * Work for one vertex of the original graph.
+     */
+    @FunctionalInterface
+    public interface Task {
+        void run(int vertex) throws Exception;
+    }
+
+    /**
+     * Outcome of a run. {@code taskNanos[v]} is the wall time of task {@code v}, or -1 if it did not
+     * complete; {@code failedVertex} is -1 when every task succeeded.
+     */
+    public record Report(int completed, int cancelled, int failedVertex, Throwable failure, long[] taskNanos) {
+        public boolean succeeded() {
+            return failure == null;
+        }
+    }
+
+    private DagExecutor() {
+    }
+
+    public static Report run(WeightedDirectedGraph graph, Task task, int maxConcurrency, Metrics metrics)
+            throws InterruptedException {
+        return run(graph.freeze(), task, maxConcurrency, metrics);
+    }
+
+    /**
+     * Runs {@code task} for every vertex of {@code dag}; throws {@link IllegalStateException} before
+     * starting anything if the graph has a cycle.
+     */
+    public static Report run(GraphView dag, Task task, int maxConcurrency, Metrics metrics)
+            throws InterruptedException {
+        TopologicalSorter.order(dag, metrics);
+        return new Run(dag, null, null, dag.vertexCount(), task, maxConcurrency, metrics).execute();
+    }
+
+    /**
+     * Runs the condensation of {@code scc}: a component starts once every component it depends on
+     * is done, and runs the tasks of its members one after another in component order. Works for
+     * graphs with cycles; per-task times are still reported per original vertex.
+     */
+    public static Report runComponents(SCCResult scc, Task task, int maxConcurrency, Metrics metrics)
+            throws InterruptedException {
+        GraphView condensation = scc.condensationGraph().freeze();
+        return new Run(condensation, scc.componentStart(), scc.members(), scc.members().length, task, maxConcurrency,
+                metrics).execute();
+    }
+
+    private static final class Run {
+        private final GraphView dag;
+        private final int[] memberStart;
+        private final int[] members;
+        private final Task task;
+        private final int maxConcurrency;
+        private final Metrics metrics;
+
+        private final AtomicIntegerArray pending;
+        private final ConcurrentLinkedQueue<Integer> ready = new ConcurrentLinkedQueue<>();
+        private final Semaphore permits;
+        private final AtomicInteger remaining;
+        private final CountDownLatch finished = new CountDownLatch(1);
+        private final AtomicBoolean failed = new AtomicBoolean();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private volatile int failedVertex = -1;
+        private final Set<Thread> running = ConcurrentHashMap.newKeySet();
+        private final long[] taskNanos;
+
+        Run(GraphView dag, int[] memberStart, int[] members, int taskCount, Task task, int maxConcurrency,
+            Metrics metrics) {
+            if (maxConcurrency < 1) {
+                throw new IllegalArgumentException("maxConcurrency must be positive");
+            }
+            this.dag = dag;
+            this.memberStart = memberStart;
+            this.members = members;
+            this.task = task;
+            this.maxConcurrency = maxConcurrency;
+            this.metrics = metrics;
+            int n = dag.vertexCount();
+            int[] indegree = new int[n];
+            for (int e = 0, m = dag.edgeCount(); e < m; e++) {
+                indegree[dag.target(e)]++;
+            }
+            this.pending = new AtomicIntegerArray(indegree);
+            this.permits = new Semaphore(maxConcurrency);
+            this.remaining = new AtomicInteger(n);
+            this.taskNanos = new long[taskCount];
+            Arrays.fill(taskNanos, -1L);
+        }
+
+        Report execute() throws InterruptedException {
+            try (Metrics.TimerContext ignored = metrics.time(TIMER_RUN)) {
+                int n = dag.vertexCount();
+                if (n == 0) {
+                    return new Report(0, 0, -1, null, taskNanos);
+                }
+                for (int v = 0; v < n; v++) {
+                    if (pending.get(v) == 0) {
+                        ready.add(v);
+                    }
+                }
+                for (int i = 0; i < maxConcurrency && !ready.isEmpty(); i++) {
+                    trySpawn();
+                }
+                try {
+                    finished.await();
+                } catch (InterruptedException e) {
+                    fail(-1, e);
+                    throw e;
+                } finally {
+                    // Every worker holds a permit until it exits, so taking all of them waits for the
+                    // interrupted ones to wind down.
+                    permits.acquireUninterruptibly(maxConcurrency);
+                }
+                int completed = 0;
+                for (long nanos : taskNanos) {
+                    if (nanos >= 0) {
+                        completed++;
+                    }
+                }
+                int cancelled = taskNanos.length - completed - (failedVertex >= 0 ? 1 : 0);
+                metrics.addToCounter(COUNTER_CANCELLED, cancelled);
+                return new Report(completed, cancelled, failedVertex, failure.get(), taskNanos);
+            }
+        }
+
+        private void trySpawn() {
+            if (!failed.get() && permits.tryAcquire()) {
+                metrics.incrementCounter(COUNTER_THREADS);
+                Thread.ofVirtual().start(this::work);
+            }
+        }
+
+        private void work() {
+            Thread self = Thread.currentThread();
+            running.add(self);
+            long busy = 0;
+            long done = 0;
+            while (true) {
+                Integer next = ready.poll();
+                if (next == null) {
+                    // Flush before giving the permit back: the caller reads the metrics once it holds
+                    // every permit.
+                    running.remove(self);
+                    metrics.addToCounter(COUNTER_COMPLETED, done);
+                    metrics.addTime(TIMER_TASK, busy);
+                    busy = 0;
+                    done = 0;
+                    permits.release();
+                    // A task may have become ready after the poll; take the permit back for it.
+                    if (ready.isEmpty() || failed.get() || !permits.tryAcquire()) {
+                        return;
+                    }
+                    running.add(self);
+                    continue;
+                }
+                int vertex = next;
+                while (vertex != -1 && !failed.get()) {
+                    long start = System.nanoTime();
+                    if (!runUnit(vertex)) {
+                        break;
+                    }
+                    busy += System.nanoTime() - start;
+                    done += memberStart == null ? 1 : memberStart[vertex + 1] - memberStart[vertex];
+                    vertex = release(vertex);
+                }
+            }
+        }
+
+        /**
+         * Runs the task (or the member tasks) of {@code vertex}; false if one of them failed.
+         */
+        private boolean runUnit(int vertex) {
+            int from = memberStart == null ? vertex : memberStart[vertex];
+            int to = memberStart == null ? vertex + 1 : memberStart[vertex + 1];
+            for (int i = from; i < to; i++) {
+                int original = members == null ? i : members[i];
+                long start = System.nanoTime();
+                try {
+                    task.run(original);
+                } catch (Throwable t) {
+                    fail(original, t);
+                    return false;
+                }
+                taskNanos[original] = System.nanoTime() - start;
+            }
+            return true;
+        }
+
+        /**
+         * Counts down the successors of a finished vertex. Returns one newly ready successor for the
+         * calling thread to run next and queues the others.
+         */
+        private int release(int vertex) {
+            int keep = -1;
+            for (int e = dag.edgeStart(vertex), end = dag.edgeEnd(vertex); e < end; e++) {
+                int to = dag.target(e);
+                if (pending.decrementAndGet(to) == 0) {
+                    if (keep == -1) {
+                        keep = to;
+                    } else {
+                        ready.add(to);
+                        trySpawn();
+                    }
+                }
+            }
+            if (remaining.decrementAndGet() == 0) {
+                finished.countDown();
+            }
+            return keep;
+        }
+
+        private void fail(int vertex, Throwable t) {
+            if (failure.compareAndSet(null, t)) {
+                failedVertex = vertex;
+                failed.set(true);
+                metrics.incrementCounter(COUNTER_FAILED);
+                Thread self = Thread.currentThread();
+                for (Thread thread : running) {
+                    if (thread != self) {
+                        thread.interrupt();
+                    }
+                }
+                finished.countDown();
+            }
+        }
+    }
+}
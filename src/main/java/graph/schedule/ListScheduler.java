@@ -0,0 +1,309 @@
+package graph.schedule;
+
+import graph.metrics.Metrics;
+import graph.model.GraphView;
+import graph.topo.Dag;
+import graph.topo.TopologicalSorter;
+
+import java.util.Arrays;
+
+/**
+ * Critical-path-first list scheduling of a task DAG on {@code P} identical workers.
+ * <p>
+ * Vertex {@code v} is a task of length {@code duration[v]}; an edge {@code u -> v} of weight
+ * {@code w} lets {@code v} start no earlier than {@code w} after {@code u} finishes (a hand-off
+ * cost; 0 for a plain dependency). Whenever a worker becomes free it takes the released task with
+ * the longest remaining path to a sink, counting durations and hand-offs, which is the
+ * {@link graph.dagsp.DagShortestPath#longestPath} DP run backwards with the task lengths added.
+ * Ties go to the smaller vertex id, so schedules are deterministic. If no task is released yet the
+ * worker idles until the earliest one is.
+ * <p>
+ * Durations are known up front, so a task's successors are released as soon as it is placed; the
+ * run is a simulation and never waits on real time. Tasks are ranked by priority once, and the ready
+ * queue is a bitmap indexed by rank, because on wide DAGs it holds a large share of the graph and a
+ * comparison heap of that size spends most of its time on cache misses. Tasks waiting for a
+ * hand-off and idle workers sit in small binary heaps keyed by time.
+ */
+public final class ListScheduler {
+    public static final String TIMER_SCHEDULE = "schedule.listTime";
+    public static final String COUNTER_IDLE_WAITS = "schedule.idleWaits";
+
+    private ListScheduler() {
+    }
+
+    public static Schedule schedule(Dag dag, double[] duration, int workers, Metrics metrics) {
+        return schedule(dag, TopologicalSorter.order(dag, metrics), duration, workers, metrics);
+    }
+
+    public static Schedule schedule(GraphView dag, int[] topologicalOrder, double[] duration, int workers, Metrics metrics) {
+        int n = dag.vertexCount();
+        if (workers < 1) {
+            throw new IllegalArgumentException("At least one worker is required");
+        }
+        if (duration.length != n) {
+            throw new IllegalArgumentException("Expected " + n + " durations but got " + duration.length);
+        }
+        try (Metrics.TimerContext ignored = metrics.time(TIMER_SCHEDULE)) {
+            double[] priority = bottomLevels(dag, topologicalOrder, duration);
+            int[] remainingPredecessors = new int[n];
+            for (int e = 0, m = dag.edgeCount(); e < m; e++) {
+                remainingPredecessors[dag.target(e)]++;
+            }
+
+            double[] releaseTime = new double[n];
+            int[] byRank = rankByPriority(priority);
+            int[] rank = new int[n];
+            for (int r = 0; r < n; r++) {
+                rank[byRank[r]] = r;
+            }
+            TaskHeap released = new TaskHeap(n);
+            RankQueue ready = new RankQueue(n);
+            for (int v = 0; v < n; v++) {
+                if (remainingPredecessors[v] == 0) {
+                    ready.add(rank[v]);
+                }
+            }
+            TaskHeap idle = new TaskHeap(workers);
+            for (int k = 0; k < workers; k++) {
+                idle.push(k, 0.0);
+            }
+
+            int[] worker = new int[n];
+            double[] start = new double[n];
+            double[] finish = new double[n];
+            int[] placed = new int[n];
+            int[] perWorker = new int[workers];
+            double makespan = 0.0;
+            long idleWaits = 0;
+            // Decision times never go backwards: a worker idle since earlier still cannot start a task
+            // before the moment that task was moved to the ready queue.
+            double now = 0.0;
+            for (int count = 0; count < n; count++) {
+                now = Math.max(now, idle.peekKey());
+                int k = idle.pop();
+                promote(released, ready, rank, now);
+                if (ready.isEmpty()) {
+                    if (released.size() == 0) {
+                        throw new IllegalStateException("Graph contains a cycle");
+                    }
+                    idleWaits++;
+                    now = released.peekKey();
+                    promote(released, ready, rank, now);
+                }
+                int task = byRank[ready.pollFirst()];
+                worker[task] = k;
+                start[task] = now;
+                finish[task] = now + duration[task];
+                placed[count] = task;
+                perWorker[k]++;
+                makespan = Math.max(makespan, finish[task]);
+                idle.push(k, finish[task]);
+                for (int e = dag.edgeStart(task), end = dag.edgeEnd(task); e < end; e++) {
+                    int next = dag.target(e);
+                    releaseTime[next] = Math.max(releaseTime[next], finish[task] + dag.weight(e));
+                    if (--remainingPredecessors[next] == 0) {
+                        released.push(next, releaseTime[next]);
+                    }
+                }
+            }
+            metrics.addToCounter(COUNTER_IDLE_WAITS, idleWaits);
+
+            int[] timelineStart = new int[workers + 1];
+            for (int k = 0; k < workers; k++) {
+                timelineStart[k + 1] = timelineStart[k] + perWorker[k];
+            }
+            int[] cursor = timelineStart.clone();
+            int[] timeline = new int[n];
+            for (int task : placed) {
+                timeline[cursor[worker[task]]++] = task;
+            }
+            return new Schedule(workers, makespan, worker, start, finish, timelineStart, timeline);
+        }
+    }
+
+    private static void promote(TaskHeap released, RankQueue ready, int[] rank, double now) {
+        while (released.size() > 0 && released.peekKey() <= now) {
+            ready.add(rank[released.pop()]);
+        }
+    }
+
+    /**
+     * Tasks by descending priority, ties by ascending id: a stable LSD radix sort of the priorities
+     * mapped to order-preserving unsigned bits, skipping bytes that are equal for every task.
+     */
+    static int[] rankByPriority(double[] priority) {
+        int n = priority.length;
+        long[] keys = new long[n];
+        int[] ids = new int[n];
+        for (int v = 0; v < n; v++) {
+            long bits = Double.doubleToLongBits(priority[v] + 0.0);
+            // Flip so larger priorities get smaller unsigned keys.
+            keys[v] = bits < 0 ? bits : ~(bits ^ Long.MIN_VALUE);
+            ids[v] = v;
+        }
+        long[] keyBuffer = new long[n];
+        int[] idBuffer = new int[n];
+        int[] count = new int[257];
+        for (int shift = 0; shift < 64; shift += 8) {
+            Arrays.fill(count, 0);
+            for (long key : keys) {
+                count[(int) (key >>> shift & 0xFF) + 1]++;
+            }
+            if (n == 0 || count[(int) (keys[0] >>> shift & 0xFF) + 1] == n) {
+                continue;
+            }
+            for (int b = 0; b < 256; b++) {
+                count[b + 1] += count[b];
+            }
+            for (int i = 0; i < n; i++) {
+                int slot = count[(int) (keys[i] >>> shift & 0xFF)]++;
+                keyBuffer[slot] = keys[i];
+                idBuffer[slot] = ids[i];
+            }
+            long[] k = keys;
+            keys = keyBuffer;
+            keyBuffer = k;
+            int[] d = ids;
+            ids = idBuffer;
+            idBuffer = d;
+        }
+        return ids;
+    }
+
+    /**
+     * Longest path from each task to the end of the schedule with unlimited workers.
+     */
+    static double[] bottomLevels(GraphView dag, int[] topologicalOrder, double[] duration) {
+        double[] level = new double[dag.vertexCount()];
+        for (int i = topologicalOrder.length - 1; i >= 0; i--) {
+            int v = topologicalOrder[i];
+            double tail = 0.0;
+            for (int e = dag.edgeStart(v), end = dag.edgeEnd(v); e < end; e++) {
+                tail = Math.max(tail, dag.weight(e) + level[dag.target(e)]);
+            }
+            level[v] = duration[v] + tail;
+        }
+        return level;
+    }
+
+    /**
+     * Set of ranks in {@code [0, n)} as a bitmap with one summary level per factor of 64, so adding
+     * a rank and taking the smallest both touch one word per level.
+     */
+    static final class RankQueue {
+        private final long[][] levels;
+
+        RankQueue(int n) {
+            int depth = 1;
+            for (long span = 64; span < n; span *= 64) {
+                depth++;
+            }
+            levels = new long[depth][];
+            long size = Math.max(n, 1);
+            for (int level = 0; level < depth; level++) {
+                size = (size + 63) >>> 6;
+                levels[level] = new long[(int) size];
+            }
+        }
+
+        boolean isEmpty() {
+            return levels[levels.length - 1][0] == 0;
+        }
+
+        void add(int rank) {
+            for (long[] words : levels) {
+                int word = rank >>> 6;
+                boolean wasEmpty = words[word] == 0;
+                words[word] |= 1L << rank;
+                if (!wasEmpty) {
+                    return;
+                }
+                rank = word;
+            }
+        }
+
+        int pollFirst() {
+            int index = 0;
+            for (int level = levels.length - 1; level >= 0; level--) {
+                index = (index << 6) + Long.numberOfTrailingZeros(levels[level][index]);
+            }
+            int rank = index;
+            for (long[] words : levels) {
+                int word = index >>> 6;
+                words[word] &= ~(1L << index);
+                if (words[word] != 0) {
+                    break;
+                }
+                index = word;
+            }
+            return rank;
+        }
+    }
+
+    /**
+     * Binary heap of ids ordered by ascending key, ties by smaller id. Keys are stored next to the
+     * ids so sifting does not chase them through a vertex-indexed array.
+     */
+    static final class TaskHeap {
+        private final int[] ids;
+        private final double[] keys;
+        private int size;
+
+        TaskHeap(int capacity) {
+            this.ids = new int[capacity];
+            this.keys = new double[capacity];
+        }
+
+        int size() {
+            return size;
+        }
+
+        double peekKey() {
+            return keys[0];
+        }
+
+        void push(int id, double key) {
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!before(key, id, keys[parent], ids[parent])) {
+                    break;
+                }
+                ids[i] = ids[parent];
+                keys[i] = keys[parent];
+                i = parent;
+            }
+            ids[i] = id;
+            keys[i] = key;
+        }
+
+        int pop() {
+            int top = ids[0];
+            int id = ids[--size];
+            double key = keys[size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && before(keys[child + 1], ids[child + 1], keys[child], ids[child])) {
+                    child++;
+                }
+                if (!before(keys[child], ids[child], key, id)) {
+                    break;
+                }
+                ids[i] = ids[child];
+                keys[i] = keys[child];
+                i = child;
+            }
+            ids[i] = id;
+            keys[i] = key;
+            return top;
+        }
+
+        private static boolean before(double ka, int a, double kb, int b) {
+            return ka < kb || (ka == kb && a < b);
+        }
+    }
+}
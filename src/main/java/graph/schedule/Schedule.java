@@ -0,0 +1,31 @@
+package graph.schedule;
+
+import java.util.Arrays;
+
+/**
+ * Task placement produced by {@link ListScheduler}. Worker {@code k} runs
+ * {@code timeline[timelineStart[k] .. timelineStart[k + 1])} in start order.
+ */
+public record Schedule(int workers,
+                       double makespan,
+                       int[] worker,
+                       double[] start,
+                       double[] finish,
+                       int[] timelineStart,
+                       int[] timeline) {
+    public int[] tasksOf(int workerIndex) {
+        return Arrays.copyOfRange(timeline, timelineStart[workerIndex], timelineStart[workerIndex + 1]);
+    }
+
+    /**
+     * Time worker {@code workerIndex} spends running tasks.
+     */
+    public double busyTime(int workerIndex) {
+        double busy = 0.0;
+        for (int i = timelineStart[workerIndex]; i < timelineStart[workerIndex + 1]; i++) {
+            int task = timeline[i];
+            busy += finish[task] - start[task];
+        }
+        return busy;
+    }
+}
@@ -0,0 +1,172 @@
+package graph.topo;
+
+import graph.metrics.Metrics;
+import graph.metrics.NoopMetrics;
+import graph.model.CsrGraph;
+import graph.model.GraphView;
+import graph.scc.SCCResult;
+
+/**
+ * Immutable DAG over a {@link CsrGraph} that computes its topological order, ranks, degree arrays,
+ * sources and sinks on first use and keeps them for every later query.
+ * <p>
+ * Acyclicity is checked when the order is first needed; a cycle then raises
+ * {@link IllegalStateException}, as in {@link TopologicalSorter#order(GraphView, Metrics)}.
+ * Returned arrays are shared and must not be modified. Safe to share between threads: derived
+ * arrays are published through volatile fields and at worst computed twice.
+ */
+public final class Dag implements GraphView {
+    private final CsrGraph graph;
+    private volatile int[] order;
+    private volatile int[] rank;
+    private volatile int[] indegrees;
+    private volatile int[] outdegrees;
+    private volatile int[] sources;
+    private volatile int[] sinks;
+
+    public Dag(CsrGraph graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * The condensation of {@code result}, with every cross-component edge kept.
+     */
+    public static Dag of(SCCResult result) {
+        return new Dag(result.condensationGraph().freeze());
+    }
+
+    public CsrGraph graph() {
+        return graph;
+    }
+
+    @Override
+    public int vertexCount() {
+        return graph.vertexCount();
+    }
+
+    @Override
+    public int edgeCount() {
+        return graph.edgeCount();
+    }
+
+    @Override
+    public int edgeStart(int vertex) {
+        return graph.edgeStart(vertex);
+    }
+
+    @Override
+    public int edgeEnd(int vertex) {
+        return graph.edgeEnd(vertex);
+    }
+
+    @Override
+    public int outDegree(int vertex) {
+        return graph.outDegree(vertex);
+    }
+
+    @Override
+    public int target(int edge) {
+        return graph.target(edge);
+    }
+
+    @Override
+    public double weight(int edge) {
+        return graph.weight(edge);
+    }
+
+    public int[] topologicalOrder() {
+        return topologicalOrder(NoopMetrics.INSTANCE);
+    }
+
+    /**
+     * Position of every vertex in {@link #topologicalOrder()}.
+     */
+    public int[] ranks() {
+        int[] result = rank;
+        if (result == null) {
+            int[] sorted = topologicalOrder();
+            result = new int[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                result[sorted[i]] = i;
+            }
+            rank = result;
+        }
+        return result;
+    }
+
+    public int[] indegrees() {
+        int[] result = indegrees;
+        if (result == null) {
+            result = new int[graph.vertexCount()];
+            for (int target : graph.targets()) {
+                result[target]++;
+            }
+            indegrees = result;
+        }
+        return result;
+    }
+
+    public int[] outdegrees() {
+        int[] result = outdegrees;
+        if (result == null) {
+            result = new int[graph.vertexCount()];
+            for (int v = 0; v < result.length; v++) {
+                result[v] = graph.outDegree(v);
+            }
+            outdegrees = result;
+        }
+        return result;
+    }
+
+    /**
+     * Vertices without incoming edges, in ascending order.
+     */
+    public int[] sources() {
+        int[] result = sources;
+        if (result == null) {
+            result = zeros(indegrees());
+            sources = result;
+        }
+        return result;
+    }
+
+    /**
+     * Vertices without outgoing edges, in ascending order.
+     */
+    public int[] sinks() {
+        int[] result = sinks;
+        if (result == null) {
+            result = zeros(outdegrees());
+            sinks = result;
+        }
+        return result;
+    }
+
+    /**
+     * Computes the order with {@code metrics} recording the Kahn pass if it is not cached yet.
+     */
+    int[] topologicalOrder(Metrics metrics) {
+        int[] result = order;
+        if (result == null) {
+            result = TopologicalSorter.order(graph, metrics);
+            order = result;
+        }
+        return result;
+    }
+
+    private static int[] zeros(int[] degrees) {
+        int count = 0;
+        for (int degree : degrees) {
+            if (degree == 0) {
+                count++;
+            }
+        }
+        int[] result = new int[count];
+        for (int v = 0, i = 0; v < degrees.length; v++) {
+            if (degrees[v] == 0) {
+                result[i++] = v;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,330 @@
+package graph.topo;
+
+import graph.metrics.Metrics;
+import graph.model.GraphView;
+
+import java.util.Arrays;
+
+/**
+ * Mutable weighted DAG that keeps a topological order up to date (Pearce–Kelly).
+ * <p>
+ * Ranks form a permutation of {@code [0, n)}. Adding an edge {@code u -> v} with
+ * {@code rank(u) > rank(v)} searches forward from {@code v} and backward from {@code u}, visiting
+ * only vertices ranked between the two, and then redistributes the ranks of the visited vertices.
+ * Removing an edge or changing a weight never invalidates the order. Not thread-safe.
+ */
+public final class DynamicDag {
+    public static final String COUNTER_REORDERS = "topo.dynamicReorders";
+    public static final String COUNTER_VISITED = "topo.dynamicVisited";
+
+    private final int n;
+    private final int[][] outTargets;
+    private final double[][] outWeights;
+    private final int[] outSize;
+    private final int[][] inSources;
+    private final double[][] inWeights;
+    private final int[] inSize;
+    private final int[] rank;
+    private final int[] vertexAt;
+
+    private final int[] mark;
+    private int epoch;
+    private final Metrics.Counter reorders;
+    private final Metrics.Counter visited;
+    private final View view = new View(this);
+
+    /**
+     * Copies {@code dag}; throws {@link IllegalStateException} if it contains a cycle.
+     */
+    public DynamicDag(GraphView dag, Metrics metrics) {
+        this.n = dag.vertexCount();
+        this.outTargets = new int[n][];
+        this.outWeights = new double[n][];
+        this.outSize = new int[n];
+        this.inSources = new int[n][];
+        this.inWeights = new double[n][];
+        this.inSize = new int[n];
+        int[] indegree = new int[n];
+        for (int e = 0, m = dag.edgeCount(); e < m; e++) {
+            indegree[dag.target(e)]++;
+        }
+        for (int v = 0; v < n; v++) {
+            int capacity = Math.max(2, dag.outDegree(v));
+            outTargets[v] = new int[capacity];
+            outWeights[v] = new double[capacity];
+            inSources[v] = new int[Math.max(2, indegree[v])];
+            inWeights[v] = new double[Math.max(2, indegree[v])];
+        }
+        for (int v = 0; v < n; v++) {
+            for (int e = dag.edgeStart(v), end = dag.edgeEnd(v); e < end; e++) {
+                append(v, dag.target(e), dag.weight(e));
+            }
+        }
+
+        this.vertexAt = TopologicalSorter.order(dag, metrics);
+        this.rank = new int[n];
+        for (int i = 0; i < n; i++) {
+            rank[vertexAt[i]] = i;
+        }
+        this.mark = new int[n];
+        this.reorders = metrics.counter(COUNTER_REORDERS);
+        this.visited = metrics.counter(COUNTER_VISITED);
+    }
+
+    public int vertexCount() {
+        return n;
+    }
+
+    public int rank(int vertex) {
+        return rank[vertex];
+    }
+
+    public int vertexAt(int rank) {
+        return vertexAt[rank];
+    }
+
+    public int[] order() {
+        return vertexAt.clone();
+    }
+
+    public int outDegree(int vertex) {
+        return outSize[vertex];
+    }
+
+    public int outTarget(int vertex, int i) {
+        return outTargets[vertex][i];
+    }
+
+    public double outWeight(int vertex, int i) {
+        return outWeights[vertex][i];
+    }
+
+    public int inDegree(int vertex) {
+        return inSize[vertex];
+    }
+
+    public int inSource(int vertex, int i) {
+        return inSources[vertex][i];
+    }
+
+    public double inWeight(int vertex, int i) {
+        return inWeights[vertex][i];
+    }
+
+    /**
+     * Read-only view of this graph, for owners that must see every change to it.
+     */
+    public View view() {
+        return view;
+    }
+
+    /**
+     * Adds {@code u -> v}, reordering if needed. Throws {@link IllegalArgumentException} and leaves
+     * the graph unchanged if the edge would close a cycle.
+     */
+    public void addEdge(int u, int v, double weight) {
+        checkVertex(u);
+        checkVertex(v);
+        if (u == v) {
+            throw new IllegalArgumentException("Edge " + u + " -> " + v + " would create a cycle");
+        }
+        if (rank[u] > rank[v]) {
+            reorder(u, v);
+        }
+        append(u, v, weight);
+    }
+
+    /**
+     * Removes one {@code u -> v} edge. Returns {@code false} if no such edge exists.
+     */
+    public boolean removeEdge(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        int out = find(outTargets[u], outSize[u], v);
+        if (out == -1) {
+            return false;
+        }
+        int in = findIn(v, u, outWeights[u][out]);
+        int lastOut = --outSize[u];
+        outTargets[u][out] = outTargets[u][lastOut];
+        outWeights[u][out] = outWeights[u][lastOut];
+        int lastIn = --inSize[v];
+        inSources[v][in] = inSources[v][lastIn];
+        inWeights[v][in] = inWeights[v][lastIn];
+        return true;
+    }
+
+    /**
+     * Sets the weight of one {@code u -> v} edge. Returns {@code false} if no such edge exists.
+     */
+    public boolean setWeight(int u, int v, double weight) {
+        checkVertex(u);
+        checkVertex(v);
+        int out = find(outTargets[u], outSize[u], v);
+        if (out == -1) {
+            return false;
+        }
+        inWeights[v][findIn(v, u, outWeights[u][out])] = weight;
+        outWeights[u][out] = weight;
+        return true;
+    }
+
+    private void reorder(int u, int v) {
+        epoch++;
+        int[] forward = search(v, rank[u], true);
+        if (mark[u] == epoch) {
+            throw new IllegalArgumentException("Edge " + u + " -> " + v + " would create a cycle");
+        }
+        int[] backward = search(u, rank[v], false);
+        reorders.increment();
+
+        long[] byRank = new long[backward.length + forward.length];
+        int[] pool = new int[byRank.length];
+        int p = 0;
+        for (int x : backward) {
+            byRank[p] = ((long) rank[x] << 32) | x;
+            pool[p++] = rank[x];
+        }
+        for (int x : forward) {
+            byRank[p] = ((long) rank[x] << 32) | x;
+            pool[p++] = rank[x];
+        }
+        Arrays.sort(byRank, 0, backward.length);
+        Arrays.sort(byRank, backward.length, byRank.length);
+        Arrays.sort(pool);
+        for (int i = 0; i < byRank.length; i++) {
+            int x = (int) byRank[i];
+            rank[x] = pool[i];
+            vertexAt[pool[i]] = x;
+        }
+    }
+
+    /**
+     * Depth-first search that stays at or below {@code bound} going forward and at or above it
+     * going backward. Both directions share one epoch, which is sound because a vertex reached from
+     * both sides would mean a cycle, and that is rejected after the forward pass.
+     */
+    private int[] search(int start, int bound, boolean forward) {
+        int[] stack = new int[8];
+        int[] found = new int[8];
+        int stackSize = 0;
+        int foundSize = 0;
+        mark[start] = epoch;
+        stack[stackSize++] = start;
+        while (stackSize > 0) {
+            int x = stack[--stackSize];
+            if (foundSize == found.length) {
+                found = Arrays.copyOf(found, foundSize * 2);
+            }
+            found[foundSize++] = x;
+            visited.increment();
+            int degree = forward ? outSize[x] : inSize[x];
+            int[] neighbours = forward ? outTargets[x] : inSources[x];
+            for (int i = 0; i < degree; i++) {
+                int y = neighbours[i];
+                if (mark[y] == epoch || (forward ? rank[y] > bound : rank[y] < bound)) {
+                    continue;
+                }
+                mark[y] = epoch;
+                if (stackSize == stack.length) {
+                    stack = Arrays.copyOf(stack, stackSize * 2);
+                }
+                stack[stackSize++] = y;
+            }
+        }
+        return Arrays.copyOf(found, foundSize);
+    }
+
+    private void append(int u, int v, double weight) {
+        if (outSize[u] == outTargets[u].length) {
+            outTargets[u] = Arrays.copyOf(outTargets[u], outSize[u] * 2);
+            outWeights[u] = Arrays.copyOf(outWeights[u], outSize[u] * 2);
+        }
+        outTargets[u][outSize[u]] = v;
+        outWeights[u][outSize[u]++] = weight;
+        if (inSize[v] == inSources[v].length) {
+            inSources[v] = Arrays.copyOf(inSources[v], inSize[v] * 2);
+            inWeights[v] = Arrays.copyOf(inWeights[v], inSize[v] * 2);
+        }
+        inSources[v][inSize[v]] = u;
+        inWeights[v][inSize[v]++] = weight;
+    }
+
+    private static int find(int[] values, int size, int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Position of the in-edge mirroring an out-edge; parallel edges are told apart by weight.
+     */
+    private int findIn(int v, int u, double weight) {
+        for (int i = 0; i < inSize[v]; i++) {
+            if (inSources[v][i] == u && Double.compare(inWeights[v][i], weight) == 0) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Adjacency lists out of sync for edge " + u + " -> " + v);
+    }
+
+    private void checkVertex(int v) {
+        if (v < 0 || v >= n) {
+            throw new IndexOutOfBoundsException("Vertex " + v + " is out of bounds");
+        }
+    }
+
+    /**
+     * The order and adjacency of a {@link DynamicDag} without its mutators.
+     */
+    public static final class View {
+        private final DynamicDag dag;
+
+        private View(DynamicDag dag) {
+            this.dag = dag;
+        }
+
+        public int vertexCount() {
+            return dag.vertexCount();
+        }
+
+        public int rank(int vertex) {
+            return dag.rank(vertex);
+        }
+
+        public int vertexAt(int rank) {
+            return dag.vertexAt(rank);
+        }
+
+        public int[] order() {
+            return dag.order();
+        }
+
+        public int outDegree(int vertex) {
+            return dag.outDegree(vertex);
+        }
+
+        public int outTarget(int vertex, int i) {
+            return dag.outTarget(vertex, i);
+        }
+
+        public double outWeight(int vertex, int i) {
+            return dag.outWeight(vertex, i);
+        }
+
+        public int inDegree(int vertex) {
+            return dag.inDegree(vertex);
+        }
+
+        public int inSource(int vertex, int i) {
+            return dag.inSource(vertex, i);
+        }
+
+        public double inWeight(int vertex, int i) {
+            return dag.inWeight(vertex, i);
+        }
+    }
+}
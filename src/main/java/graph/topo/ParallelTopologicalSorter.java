@@ -0,0 +1,94 @@
+package graph.topo;
+
+import graph.metrics.Metrics;
+import graph.model.GraphView;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Level-synchronous Kahn sort. In-degrees are counted in parallel, then each frontier is expanded
+ * in parallel with atomic in-degree countdowns; a vertex whose counter reaches zero joins the
+ * next frontier. Frontiers are sorted so that the output does not depend on scheduling.
+ */
+public final class ParallelTopologicalSorter {
+    public static final String COUNTER_LAYERS = "topo.layers";
+    public static final String TIMER_PARALLEL_SORT = "topo.parallelTime";
+
+    static final int PARALLEL_THRESHOLD = 2048;
+
+    private ParallelTopologicalSorter() {
+    }
+
+    public static TopologicalLayers layers(GraphView dag, Metrics metrics) {
+        return layers(dag, metrics, ForkJoinPool.commonPool());
+    }
+
+    public static TopologicalLayers layers(GraphView dag, Metrics metrics, ForkJoinPool pool) {
+        try (Metrics.TimerContext ignored = metrics.time(TIMER_PARALLEL_SORT)) {
+            int n = dag.vertexCount();
+            AtomicIntegerArray indegree = new AtomicIntegerArray(n);
+            run(pool, n, v -> {
+                for (int e = dag.edgeStart(v), end = dag.edgeEnd(v); e < end; e++) {
+                    indegree.incrementAndGet(dag.target(e));
+                }
+            });
+
+            int[] order = new int[n];
+            AtomicInteger tail = new AtomicInteger();
+            run(pool, n, v -> {
+                if (indegree.get(v) == 0) {
+                    order[tail.getAndIncrement()] = v;
+                }
+            });
+
+            int[] layerStart = new int[16];
+            int layers = 0;
+            int head = 0;
+            while (head < tail.get()) {
+                int from = head;
+                int to = tail.get();
+                Arrays.sort(order, from, to);
+                if (layers + 1 >= layerStart.length) {
+                    layerStart = Arrays.copyOf(layerStart, layerStart.length * 2);
+                }
+                layerStart[layers++] = from;
+                run(pool, to - from, i -> {
+                    int v = order[from + i];
+                    for (int e = dag.edgeStart(v), end = dag.edgeEnd(v); e < end; e++) {
+                        int w = dag.target(e);
+                        if (indegree.decrementAndGet(w) == 0) {
+                            order[tail.getAndIncrement()] = w;
+                        }
+                    }
+                });
+                head = to;
+            }
+            if (tail.get() != n) {
+                throw new IllegalStateException("Graph contains a cycle");
+            }
+            layerStart[layers] = n;
+            metrics.addToCounter(COUNTER_LAYERS, layers);
+            return new TopologicalLayers(order, Arrays.copyOf(layerStart, layers + 1));
+        }
+    }
+
+    /**
+     * Runs {@code body} for {@code 0..count-1}, in parallel on {@code pool} once the range is large
+     * enough to amortise the fork.
+     */
+    public static void run(ForkJoinPool pool, int count, IntConsumer body) {
+        if (count < PARALLEL_THRESHOLD) {
+            for (int i = 0; i < count; i++) {
+                body.accept(i);
+            }
+        } else {
+            pool.invoke(ForkJoinTask.adapt(() -> IntStream.range(0, count).parallel().forEach(body)));
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package graph.topo;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Reachability labels for a {@link Dag}.
+ * <p>
+ * Small DAGs (up to {@link #BITSET_LIMIT} vertices) store the full transitive closure as one bitset
+ * row per vertex, so every answer is exact and O(1). Larger DAGs store topological ranks plus
+ * {@code k} GRAIL-style interval labels: each label is a depth-first post-order number with the
+ * smallest number found below the vertex, and {@code u} can only reach {@code v} if every interval
+ * of {@code v} nests inside the one of {@code u} and {@code u} comes first in topological order.
+ * {@link #mayReach} never reports a reachable pair as unreachable; {@link #reaches} confirms
+ * positives with a depth-first search pruned by the same labels.
+ * <p>
+ * Immutable and safe to share between threads.
+ */
+public final class ReachabilityIndex {
+    public static final int BITSET_LIMIT = 1 << 13;
+    public static final int DEFAULT_LABELS = 3;
+
+    private final Dag dag;
+    private final int[] rank;
+    private final long[] closure;
+    private final int words;
+    private final int labels;
+    /** Per vertex, {@code labels} pairs of (low, post), so one query touches one cache line per vertex. */
+    private final int[] intervals;
+    private final ThreadLocal<Search> searches;
+
+    private ReachabilityIndex(Dag dag, long[] closure, int labels, int[] intervals) {
+        this.dag = dag;
+        this.rank = dag.ranks();
+        this.closure = closure;
+        this.words = (dag.vertexCount() + 63) >>> 6;
+        this.labels = labels;
+        this.intervals = intervals;
+        this.searches = ThreadLocal.withInitial(() -> new Search(dag.vertexCount()));
+    }
+
+    /**
+     * Bitset closure for small DAGs, {@link #DEFAULT_LABELS} interval labels otherwise.
+     */
+    public static ReachabilityIndex of(Dag dag) {
+        return dag.vertexCount() <= BITSET_LIMIT ? closure(dag) : intervals(dag, DEFAULT_LABELS, 1L);
+    }
+
+    public static ReachabilityIndex closure(Dag dag) {
+        int n = dag.vertexCount();
+        int words = (n + 63) >>> 6;
+        long[] bits = new long[n * words];
+        int[] order = dag.topologicalOrder();
+        for (int i = n - 1; i >= 0; i--) {
+            int v = order[i];
+            int row = v * words;
+            bits[row + (v >>> 6)] |= 1L << v;
+            for (int e = dag.edgeStart(v), end = dag.edgeEnd(v); e < end; e++) {
+                int child = dag.target(e) * words;
+                for (int w = 0; w < words; w++) {
+                    bits[row + w] |= bits[child + w];
+                }
+            }
+        }
+        return new ReachabilityIndex(dag, bits, 0, null);
+    }
+
+    /**
+     * Interval labels from {@code labels} depth-first traversals with seeded random root and child
+     * orders.
+     */
+    public static ReachabilityIndex intervals(Dag dag, int labels, long seed) {
+        int n = dag.vertexCount();
+        int[] post = new int[labels * n];
+        int[] low = new int[labels * n];
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] roots = new int[n];
+        int[] stack = new int[n];
+        int[] cursor = new int[n];
+        boolean[] visited = new boolean[n];
+        for (int label = 0; label < labels; label++) {
+            for (int i = 0; i < n; i++) {
+                roots[i] = i;
+            }
+            for (int i = n - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = roots[i];
+                roots[i] = roots[j];
+                roots[j] = tmp;
+            }
+            Arrays.fill(visited, false);
+            boolean reversed = (label & 1) == 1;
+            int base = label * n;
+            int counter = 0;
+            for (int root : roots) {
+                if (visited[root]) {
+                    continue;
+                }
+                int depth = 0;
+                visited[root] = true;
+                stack[depth++] = root;
+                cursor[root] = 0;
+                low[base + root] = Integer.MAX_VALUE;
+                while (depth > 0) {
+                    int v = stack[depth - 1];
+                    int degree = dag.outDegree(v);
+                    if (cursor[v] < degree) {
+                        int offset = cursor[v]++;
+                        int w = dag.target(reversed ? dag.edgeEnd(v) - 1 - offset : dag.edgeStart(v) + offset);
+                        if (!visited[w]) {
+                            visited[w] = true;
+                            cursor[w] = 0;
+                            low[base + w] = Integer.MAX_VALUE;
+                            stack[depth++] = w;
+                        } else {
+                            low[base + v] = Math.min(low[base + v], low[base + w]);
+                        }
+                        continue;
+                    }
+                    depth--;
+                    post[base + v] = counter++;
+                    low[base + v] = Math.min(low[base + v], post[base + v]);
+                    if (depth > 0) {
+                        int parent = stack[depth - 1];
+                        low[base + parent] = Math.min(low[base + parent], low[base + v]);
+                    }
+                }
+            }
+        }
+        int[] intervals = new int[2 * labels * n];
+        for (int v = 0; v < n; v++) {
+            for (int label = 0; label < labels; label++) {
+                intervals[2 * (v * labels + label)] = low[label * n + v];
+                intervals[2 * (v * labels + label) + 1] = post[label * n + v];
+            }
+        }
+        return new ReachabilityIndex(dag, null, labels, intervals);
+    }
+
+    public boolean isExact() {
+        return closure != null;
+    }
+
+    /**
+     * {@code false} only if {@code to} is certainly unreachable from {@code from}.
+     */
+    public boolean mayReach(int from, int to) {
+        if (closure != null) {
+            return (closure[from * words + (to >>> 6)] & (1L << to)) != 0;
+        }
+        if (from == to) {
+            return true;
+        }
+        if (rank[from] > rank[to]) {
+            return false;
+        }
+        int a = 2 * labels * from;
+        int b = 2 * labels * to;
+        for (int end = b + 2 * labels; b < end; a += 2, b += 2) {
+            if (intervals[b] < intervals[a] || intervals[b + 1] > intervals[a + 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Exact reachability. Costs O(1) with a closure; otherwise a label-pruned search when the labels
+     * cannot rule the pair out.
+     */
+    public boolean reaches(int from, int to) {
+        if (!mayReach(from, to)) {
+            return false;
+        }
+        return closure != null || from == to || searches.get().run(from, to);
+    }
+
+    private final class Search {
+        private final int[] stamp;
+        private int[] stack = new int[16];
+        private int epoch;
+
+        Search(int n) {
+            stamp = new int[n];
+        }
+
+        boolean run(int from, int to) {
+            if (++epoch == 0) {
+                Arrays.fill(stamp, 0);
+                epoch = 1;
+            }
+            int size = 0;
+            stamp[from] = epoch;
+            stack[size++] = from;
+            while (size > 0) {
+                int v = stack[--size];
+                for (int e = dag.edgeStart(v), end = dag.edgeEnd(v); e < end; e++) {
+                    int w = dag.target(e);
+                    if (w == to) {
+                        return true;
+                    }
+                    if (stamp[w] == epoch || !mayReach(w, to)) {
+                        continue;
+                    }
+                    stamp[w] = epoch;
+                    if (size == stack.length) {
+                        stack = Arrays.copyOf(stack, size * 2);
+                    }
+                    stack[size++] = w;
+                }
+            }
+            return false;
+        }
+    }
+}
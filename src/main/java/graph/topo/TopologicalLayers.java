@@ -0,0 +1,16 @@
+package graph.topo;
+
+/**
+ * Topological order partitioned into frontier layers. Layer {@code i} is
+ * {@code order[layerStart[i] .. layerStart[i + 1])}, sorted by vertex id; every edge goes from a
+ * lower layer to a strictly higher one, so vertices within a layer are independent.
+ */
+public record TopologicalLayers(int[] order, int[] layerStart) {
+    public int layerCount() {
+        return layerStart.length - 1;
+    }
+
+    public int layerSize(int layer) {
+        return layerStart[layer + 1] - layerStart[layer];
+    }
+}
@@ -1,12 +1,13 @@
 package graph.topo;
 
 import graph.metrics.Metrics;
+import graph.model.GraphView;
+import graph.model.LongGraphView;
 import graph.model.WeightedDirectedGraph;
-import graph.model.WeightedEdge;
+import graph.scc.SCCResult;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Deque;
+import java.util.Arrays;
 import java.util.List;
 
 public final class TopologicalSorter {
@@ -18,50 +19,121 @@ public final class TopologicalSorter {
     }
 
     public static List<Integer> sort(WeightedDirectedGraph dag, Metrics metrics) {
+        int[] order = order(dag.freeze(), metrics);
+        List<Integer> boxed = new ArrayList<>(order.length);
+        for (int v : order) {
+            boxed.add(v);
+        }
+        return boxed;
+    }
+
+    /**
+     * Cached order of {@code dag}; only the first call runs Kahn's algorithm and records metrics.
+     */
+    public static int[] order(Dag dag, Metrics metrics) {
+        return dag.topologicalOrder(metrics);
+    }
+
+    public static int[] order(GraphView dag, Metrics metrics) {
         try (Metrics.TimerContext ignored = metrics.time(TIMER_TOPO_SORT)) {
+            Metrics.Counter pushes = metrics.counter(COUNTER_QUEUE_PUSH);
+            Metrics.Counter pops = metrics.counter(COUNTER_QUEUE_POP);
             int n = dag.vertexCount();
             int[] indegree = new int[n];
-            for (int v = 0; v < n; v++) {
-                for (WeightedEdge edge : dag.edgesFrom(v)) {
-                    indegree[edge.to()]++;
-                }
+            for (int e = 0, m = dag.edgeCount(); e < m; e++) {
+                indegree[dag.target(e)]++;
             }
 
-            Deque<Integer> queue = new ArrayDeque<>();
+            // Kahn's queue never holds more than n vertices, so the output array doubles as the queue.
+            int[] queue = new int[n];
+            int head = 0;
+            int tail = 0;
             for (int v = 0; v < n; v++) {
                 if (indegree[v] == 0) {
-                    queue.add(v);
-                    metrics.incrementCounter(COUNTER_QUEUE_PUSH);
+                    queue[tail++] = v;
+                    pushes.increment();
                 }
             }
 
-            List<Integer> order = new ArrayList<>(n);
-            while (!queue.isEmpty()) {
-                int v = queue.remove();
-                metrics.incrementCounter(COUNTER_QUEUE_POP);
-                order.add(v);
-                for (WeightedEdge edge : dag.edgesFrom(v)) {
-                    int to = edge.to();
+            while (head < tail) {
+                int v = queue[head++];
+                pops.increment();
+                for (int e = dag.edgeStart(v), end = dag.edgeEnd(v); e < end; e++) {
+                    int to = dag.target(e);
                     indegree[to]--;
                     if (indegree[to] == 0) {
-                        queue.add(to);
-                        metrics.incrementCounter(COUNTER_QUEUE_PUSH);
+                        queue[tail++] = to;
+                        pushes.increment();
+                    }
+                }
+            }
+
+            if (tail != n) {
+                throw new IllegalStateException("Graph contains a cycle");
+            }
+            return queue;
+        }
+    }
+
+    /**
+     * Kahn's algorithm over a {@link LongGraphView}, whose edge count may exceed {@code 2^31 - 1};
+     * in-degrees are counted per vertex range, so only the long accessors are used.
+     */
+    public static int[] order(LongGraphView dag, Metrics metrics) {
+        try (Metrics.TimerContext ignored = metrics.time(TIMER_TOPO_SORT)) {
+            Metrics.Counter pushes = metrics.counter(COUNTER_QUEUE_PUSH);
+            Metrics.Counter pops = metrics.counter(COUNTER_QUEUE_POP);
+            int n = dag.vertexCount();
+            int[] indegree = new int[n];
+            for (int v = 0; v < n; v++) {
+                for (long e = dag.edgeOffset(v), end = dag.edgeOffset(v + 1); e < end; e++) {
+                    indegree[dag.targetAt(e)]++;
+                }
+            }
+
+            int[] queue = new int[n];
+            int head = 0;
+            int tail = 0;
+            for (int v = 0; v < n; v++) {
+                if (indegree[v] == 0) {
+                    queue[tail++] = v;
+                    pushes.increment();
+                }
+            }
+
+            while (head < tail) {
+                int v = queue[head++];
+                pops.increment();
+                for (long e = dag.edgeOffset(v), end = dag.edgeOffset(v + 1); e < end; e++) {
+                    int to = dag.targetAt(e);
+                    if (--indegree[to] == 0) {
+                        queue[tail++] = to;
+                        pushes.increment();
                     }
                 }
             }
 
-            if (order.size() != n) {
+            if (tail != n) {
                 throw new IllegalStateException("Graph contains a cycle");
             }
-            return order;
+            return queue;
         }
     }
 
-    public static List<Integer> expandOrder(List<Integer> componentOrder, List<List<Integer>> components) {
-        List<Integer> order = new ArrayList<>();
-        for (int componentIndex : componentOrder) {
-            order.addAll(components.get(componentIndex));
+    /**
+     * Vertex order obtained by listing the members of each component in {@code componentOrder}.
+     */
+    public static int[] expandOrder(int[] componentOrder, SCCResult scc) {
+        int[] componentStart = scc.componentStart();
+        int[] members = scc.members();
+        int[] order = new int[members.length];
+        int size = 0;
+        for (int c : componentOrder) {
+            int from = componentStart[c];
+            int length = componentStart[c + 1] - from;
+            System.arraycopy(members, from, order, size, length);
+            size += length;
         }
-        return order;
+        return size == order.length ? order : Arrays.copyOf(order, size);
     }
 }
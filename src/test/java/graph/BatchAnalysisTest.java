@@ -0,0 +1,89 @@
+package graph;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graph.dagsp.DagShortestPath;
+import graph.gen.GeneratorSpec;
+import graph.gen.GraphGenerator;
+import graph.metrics.BasicMetrics;
+import graph.model.CsrGraph;
+import graph.model.GraphData;
+import graph.model.GraphLoader;
+import graph.scc.CondensationBuilder;
+import graph.scc.EdgeMergePolicy;
+import graph.scc.SCCResult;
+import graph.scc.StronglyConnectedComponents;
+import graph.topo.Dag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchAnalysisTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void analyzesEveryDatasetAndReportsFailures() throws IOException, InterruptedException {
+        List<Path> datasets = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            Path json = tempDir.resolve("graph-" + i + ".json");
+            GraphGenerator.writeJson(GeneratorSpec.defaults(200 + 50 * i, i), json);
+            datasets.add(json);
+        }
+        Path broken = tempDir.resolve("broken,1.json");
+        Files.writeString(broken, "{\"directed\": true, \"n\": ");
+        datasets.add(5, broken);
+        // Loading throws OutOfMemoryError (array size beyond the VM limit) whatever the heap size.
+        Path oversized = tempDir.resolve("oversized.json");
+        Files.writeString(oversized, "{\"n\": " + (Integer.MAX_VALUE - 1) + ", \"edges\": []}");
+        datasets.add(oversized);
+
+        BatchAnalysis.Summary summary = BatchAnalysis.run(datasets, 3, 2, 1);
+        assertEquals(datasets.size(), summary.datasets().size());
+        assertEquals(2, summary.failedCount());
+        assertFalse(summary.datasets().get(5).succeeded());
+        assertTrue(summary.datasets().get(13).error().startsWith(OutOfMemoryError.class.getName()));
+
+        long visits = 0;
+        for (int i = 0; i < datasets.size(); i++) {
+            BatchAnalysis.DatasetReport report = summary.datasets().get(i);
+            assertEquals(datasets.get(i).getFileName().toString(), report.dataset());
+            if (i == 5 || i == 13) {
+                continue;
+            }
+            GraphData data = GraphLoader.load(datasets.get(i));
+            CsrGraph graph = data.graph().freeze();
+            SCCResult scc = StronglyConnectedComponents.compute(graph, new BasicMetrics());
+            Dag longest = new Dag(CondensationBuilder.build(graph, scc, EdgeMergePolicy.MAX));
+            assertTrue(report.succeeded(), report.error());
+            assertEquals(graph.vertexCount(), report.vertices());
+            assertEquals(graph.edgeCount(), report.edges());
+            assertEquals(scc.componentCount(), report.components());
+            assertEquals(DagShortestPath.longestPath(longest, new BasicMetrics()).length(), report.criticalPathLength());
+            visits += graph.vertexCount();
+        }
+        assertEquals(visits, summary.metrics().getCounter(StronglyConnectedComponents.COUNTER_DFS_VISITS));
+        assertEquals(datasets.size(), summary.metrics().getCounter(BatchAnalysis.COUNTER_DATASETS));
+        assertEquals(2, summary.metrics().getCounter(BatchAnalysis.COUNTER_FAILED));
+        assertTrue(summary.datasetsPerSecond() > 0);
+
+        Path json = tempDir.resolve("report.json");
+        Path csv = tempDir.resolve("report.csv");
+        BatchAnalysis.writeJson(summary, json);
+        BatchAnalysis.writeCsv(summary, csv);
+        JsonNode root = new ObjectMapper().readTree(json.toFile());
+        assertEquals(datasets.size(), root.get("results").size());
+        assertTrue(root.get("results").get(5).has("error"));
+        assertEquals(visits, root.get("counters").get(StronglyConnectedComponents.COUNTER_DFS_VISITS).asLong());
+        List<String> lines = Files.readAllLines(csv);
+        assertEquals(datasets.size() + 1, lines.size());
+        assertTrue(lines.get(6).startsWith("\"broken,1.json\",0,"));
+    }
+}
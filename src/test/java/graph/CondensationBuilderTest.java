@@ -0,0 +1,65 @@
+package graph;
+
+import graph.dagsp.DagShortestPath;
+import graph.metrics.BasicMetrics;
+import graph.model.CsrGraph;
+import graph.scc.CondensationBuilder;
+import graph.scc.EdgeMergePolicy;
+import graph.scc.SCCResult;
+import graph.scc.StronglyConnectedComponents;
+import graph.topo.TopologicalSorter;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CondensationBuilderTest {
+    @Test
+    void mergesParallelEdgesPerPolicy() {
+        CsrGraph graph = new CsrGraph.Builder()
+                .addEdge(0, 1, 1).addEdge(1, 0, 1)
+                .addEdge(0, 2, 5).addEdge(1, 2, 3).addEdge(1, 3, 4).addEdge(0, 2, 7)
+                .build(4);
+        SCCResult scc = StronglyConnectedComponents.canonical(graph, StronglyConnectedComponents.compute(graph, new BasicMetrics()));
+
+        CsrGraph min = CondensationBuilder.build(graph, scc, EdgeMergePolicy.MIN);
+        assertEquals(2, min.edgeCount());
+        assertArrayEquals(new int[]{1, 2}, min.targets());
+        assertArrayEquals(new double[]{3, 4}, min.weights());
+        assertArrayEquals(new double[]{7, 4}, CondensationBuilder.build(graph, scc, EdgeMergePolicy.MAX).weights());
+        assertArrayEquals(new double[]{15, 4}, CondensationBuilder.build(graph, scc, EdgeMergePolicy.SUM).weights());
+
+        BasicMetrics metrics = new BasicMetrics();
+        CsrGraph all = CondensationBuilder.build(graph, scc, EdgeMergePolicy.KEEP_ALL, metrics);
+        assertEquals(scc.condensationGraph().freeze(), all);
+        assertEquals(4, all.edgeCount());
+        assertEquals(0, metrics.getCounter(CondensationBuilder.COUNTER_MERGED_EDGES));
+    }
+
+    @Test
+    void dedupedCondensationKeepsPathResults() {
+        Random random = new Random(9);
+        int n = 5_000;
+        CsrGraph.Builder builder = new CsrGraph.Builder();
+        for (int i = 0; i < 4 * n; i++) {
+            builder.addEdge(random.nextInt(n), random.nextInt(n), 1 + random.nextInt(20));
+        }
+        CsrGraph graph = builder.build(n);
+        SCCResult scc = StronglyConnectedComponents.compute(graph, new BasicMetrics());
+        CsrGraph all = scc.condensationGraph().freeze();
+        int[] order = TopologicalSorter.order(all, new BasicMetrics());
+
+        BasicMetrics metrics = new BasicMetrics();
+        CsrGraph min = CondensationBuilder.build(graph, scc, EdgeMergePolicy.MIN, metrics);
+        CsrGraph max = CondensationBuilder.build(graph, scc, EdgeMergePolicy.MAX);
+        assertTrue(min.edgeCount() < all.edgeCount());
+        assertEquals(all.edgeCount() - min.edgeCount(), metrics.getCounter(CondensationBuilder.COUNTER_MERGED_EDGES));
+
+        int source = scc.componentOf()[0];
+        assertArrayEquals(DagShortestPath.shortestPaths(all, source, order, new BasicMetrics()).distances(),
+                DagShortestPath.shortestPaths(min, source, order, new BasicMetrics()).distances());
+        assertEquals(DagShortestPath.longestPath(all, order, new BasicMetrics()).length(),
+                DagShortestPath.longestPath(max, order, new BasicMetrics()).length());
+    }
+}
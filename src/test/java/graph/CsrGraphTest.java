@@ -0,0 +1,58 @@
+package graph;
+
+import graph.dagsp.DagShortestPath;
+import graph.metrics.BasicMetrics;
+import graph.model.CsrGraph;
+import graph.model.WeightedDirectedGraph;
+import graph.topo.TopologicalSorter;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsrGraphTest {
+    @Test
+    void freezesAdjacencyIntoCsrArrays() {
+        WeightedDirectedGraph graph = new WeightedDirectedGraph(4);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(0, 2, 2);
+        graph.addEdge(2, 3, 5);
+
+        CsrGraph csr = graph.freeze();
+        assertArrayEquals(new int[]{0, 2, 2, 3, 3}, csr.offsets());
+        assertArrayEquals(new int[]{1, 2, 3}, csr.targets());
+        assertArrayEquals(new double[]{1, 2, 5}, csr.weights());
+        assertEquals(3, csr.edgeCount());
+        assertSame(csr, graph.freeze());
+        assertEquals(graph, csr.toGraph());
+    }
+
+    @Test
+    void addEdgeInvalidatesFrozenSnapshot() {
+        WeightedDirectedGraph graph = new WeightedDirectedGraph(2);
+        CsrGraph before = graph.freeze();
+        graph.addEdge(0, 1, 1);
+        CsrGraph after = graph.freeze();
+        assertNotSame(before, after);
+        assertEquals(1, after.edgeCount());
+    }
+
+    @Test
+    void primitivePathsMatchListPaths() {
+        WeightedDirectedGraph dag = new WeightedDirectedGraph(4);
+        dag.addEdge(0, 1, 1);
+        dag.addEdge(0, 2, 2);
+        dag.addEdge(1, 3, 3);
+        dag.addEdge(2, 3, 1);
+
+        int[] order = TopologicalSorter.order(dag.freeze(), new BasicMetrics());
+        List<Integer> boxed = TopologicalSorter.sort(dag, new BasicMetrics());
+        assertEquals(boxed, Arrays.stream(order).boxed().toList());
+
+        DagShortestPath.ShortestPathResult shortest = DagShortestPath.shortestPaths(dag.freeze(), 0, order, new BasicMetrics());
+        assertArrayEquals(new double[]{0, 1, 2, 3}, shortest.distances());
+        assertEquals(4.0, DagShortestPath.longestPath(dag.freeze(), order, new BasicMetrics()).length());
+    }
+}
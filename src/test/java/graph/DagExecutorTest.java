@@ -0,0 +1,122 @@
+package graph;
+
+import graph.metrics.BasicMetrics;
+import graph.metrics.StripedMetrics;
+import graph.model.CsrGraph;
+import graph.model.WeightedDirectedGraph;
+import graph.scc.SCCResult;
+import graph.scc.StronglyConnectedComponents;
+import graph.schedule.DagExecutor;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DagExecutorTest {
+    @Test
+    void runsEveryTaskAfterItsPredecessorsWithinTheConcurrencyLimit() throws InterruptedException {
+        Random random = new Random(20);
+        int n = 5_000;
+        CsrGraph.Builder builder = new CsrGraph.Builder();
+        for (int i = 0; i < 3 * n; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            if (u != v) {
+                builder.addEdge(Math.min(u, v), Math.max(u, v), 1);
+            }
+        }
+        CsrGraph dag = builder.build(n);
+        AtomicInteger clock = new AtomicInteger();
+        AtomicIntegerArray finishedAt = new AtomicIntegerArray(n);
+        AtomicIntegerArray startedAt = new AtomicIntegerArray(n);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+
+        StripedMetrics metrics = new StripedMetrics();
+        DagExecutor.Report report = DagExecutor.run(dag, vertex -> {
+            int now = active.incrementAndGet();
+            maxActive.accumulateAndGet(now, Math::max);
+            startedAt.set(vertex, clock.incrementAndGet());
+            if (vertex % 97 == 0) {
+                Thread.sleep(1);
+            }
+            finishedAt.set(vertex, clock.incrementAndGet());
+            active.decrementAndGet();
+        }, 4, metrics);
+
+        assertTrue(report.succeeded());
+        assertEquals(n, report.completed());
+        assertEquals(0, report.cancelled());
+        assertEquals(-1, report.failedVertex());
+        assertTrue(maxActive.get() <= 4);
+        for (int u = 0; u < n; u++) {
+            assertTrue(report.taskNanos()[u] >= 0);
+            for (int e = dag.edgeStart(u); e < dag.edgeEnd(u); e++) {
+                assertTrue(startedAt.get(dag.target(e)) > finishedAt.get(u));
+            }
+        }
+        assertEquals(n, metrics.getCounter(DagExecutor.COUNTER_COMPLETED));
+        assertTrue(metrics.getTime(DagExecutor.TIMER_TASK) > 0);
+    }
+
+    @Test
+    void cancelsRemainingTasksAfterAFailure() throws InterruptedException {
+        // 0 fails; 1 depends on it and must never run. 2 is blocked in a long sleep and gets interrupted.
+        CsrGraph dag = new CsrGraph.Builder()
+                .addEdge(0, 1, 0)
+                .build(3);
+        CountDownLatch sleeping = new CountDownLatch(1);
+        AtomicInteger ranDependent = new AtomicInteger();
+        BasicMetrics metrics = new BasicMetrics();
+        DagExecutor.Report report = DagExecutor.run(dag, vertex -> {
+            switch (vertex) {
+                case 0 -> {
+                    assertTrue(sleeping.await(10, TimeUnit.SECONDS));
+                    throw new IllegalArgumentException("boom");
+                }
+                case 1 -> ranDependent.incrementAndGet();
+                default -> {
+                    sleeping.countDown();
+                    Thread.sleep(60_000);
+                }
+            }
+        }, 2, metrics);
+
+        assertFalse(report.succeeded());
+        assertEquals(0, report.failedVertex());
+        assertInstanceOf(IllegalArgumentException.class, report.failure());
+        assertEquals(0, report.completed());
+        assertEquals(2, report.cancelled());
+        assertEquals(0, ranDependent.get());
+        assertEquals(1, metrics.getCounter(DagExecutor.COUNTER_FAILED));
+        assertEquals(2, metrics.getCounter(DagExecutor.COUNTER_CANCELLED));
+    }
+
+    @Test
+    void runsComponentsOfACyclicGraphInDependencyOrder() throws InterruptedException {
+        WeightedDirectedGraph graph = new WeightedDirectedGraph(5);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 0, 1);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(2, 3, 1);
+        graph.addEdge(3, 2, 1);
+        graph.addEdge(4, 2, 1);
+        assertThrows(IllegalStateException.class, () -> DagExecutor.run(graph, vertex -> { }, 2, new BasicMetrics()));
+
+        SCCResult scc = StronglyConnectedComponents.compute(graph, new BasicMetrics());
+        AtomicInteger clock = new AtomicInteger();
+        int[] order = new int[5];
+        DagExecutor.Report report = DagExecutor.runComponents(scc,
+                vertex -> order[vertex] = clock.incrementAndGet(), 3, new BasicMetrics());
+
+        assertTrue(report.succeeded());
+        assertEquals(5, report.completed());
+        assertTrue(order[2] > order[0] && order[2] > order[1] && order[2] > order[4]);
+        assertTrue(order[3] > order[0] && order[3] > order[1] && order[3] > order[4]);
+    }
+}
@@ -3,6 +3,7 @@ package graph;
 import graph.dagsp.DagShortestPath;
 import graph.metrics.BasicMetrics;
 import graph.model.WeightedDirectedGraph;
+import graph.topo.Dag;
 import graph.topo.TopologicalSorter;
 import org.junit.jupiter.api.Test;
 
@@ -30,5 +31,9 @@ class DagShortestPathTest {
         DagShortestPath.CriticalPathResult longest = DagShortestPath.longestPath(dag, order, new BasicMetrics());
         assertEquals(4.0, longest.length());
         assertEquals(List.of(0, 1, 3), longest.path());
+
+        Dag cached = new Dag(dag.freeze());
+        int[] cachedOrder = TopologicalSorter.order(cached, new BasicMetrics());
+        assertEquals(longest, DagShortestPath.longestPath(cached, cachedOrder, new BasicMetrics()));
     }
 }
@@ -0,0 +1,70 @@
+package graph;
+
+import graph.dagsp.DagShortestPath;
+import graph.metrics.BasicMetrics;
+import graph.model.CsrGraph;
+import graph.model.WeightedDirectedGraph;
+import graph.scc.SCCResult;
+import graph.scc.StronglyConnectedComponents;
+import graph.topo.Dag;
+import graph.topo.TopologicalSorter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DagTest {
+    @Test
+    void derivesDegreesSourcesAndSinksFromCondensation() {
+        WeightedDirectedGraph graph = new WeightedDirectedGraph(5);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 0, 1);
+        graph.addEdge(1, 2, 4);
+        graph.addEdge(0, 3, 2);
+        graph.addEdge(3, 2, 1);
+        SCCResult scc = StronglyConnectedComponents.compute(graph, new BasicMetrics());
+        Dag dag = Dag.of(scc);
+
+        int c01 = scc.componentOf()[0];
+        int c2 = scc.componentOf()[2];
+        int c3 = scc.componentOf()[3];
+        int c4 = scc.componentOf()[4];
+        assertEquals(4, dag.vertexCount());
+        assertEquals(2, dag.outdegrees()[c01]);
+        assertEquals(2, dag.indegrees()[c2]);
+        assertArrayEquals(sorted(c01, c4), dag.sources());
+        assertArrayEquals(sorted(c2, c4), dag.sinks());
+        int[] rank = dag.ranks();
+        assertTrue(rank[c01] < rank[c3] && rank[c3] < rank[c2]);
+    }
+
+    @Test
+    void cachesOrderAndMatchesUncachedQueries() {
+        CsrGraph graph = new CsrGraph.Builder()
+                .addEdge(0, 1, 3).addEdge(0, 2, 1).addEdge(2, 1, 1).addEdge(1, 3, 2).addEdge(2, 3, 7)
+                .build(4);
+        Dag dag = new Dag(graph);
+        BasicMetrics metrics = new BasicMetrics();
+        int[] order = TopologicalSorter.order(dag, metrics);
+        assertSame(order, TopologicalSorter.order(dag, metrics));
+        assertEquals(4, metrics.getCounter(TopologicalSorter.COUNTER_QUEUE_POP));
+
+        int[] plainOrder = TopologicalSorter.order(graph, new BasicMetrics());
+        assertArrayEquals(plainOrder, order);
+        assertArrayEquals(DagShortestPath.shortestPaths(graph, 0, plainOrder, new BasicMetrics()).distances(),
+                DagShortestPath.shortestPaths(dag, 0, metrics).distances());
+        assertEquals(DagShortestPath.longestPath(graph, plainOrder, new BasicMetrics()),
+                DagShortestPath.longestPath(dag, metrics));
+        assertEquals(4, metrics.getCounter(TopologicalSorter.COUNTER_QUEUE_POP));
+    }
+
+    @Test
+    void reportsCycleWhenOrderIsRequested() {
+        Dag dag = new Dag(new CsrGraph.Builder().addEdge(0, 1, 1).addEdge(1, 0, 1).build(2));
+        assertEquals(2, dag.edgeCount());
+        assertThrows(IllegalStateException.class, dag::topologicalOrder);
+    }
+
+    private static int[] sorted(int a, int b) {
+        return new int[]{Math.min(a, b), Math.max(a, b)};
+    }
+}
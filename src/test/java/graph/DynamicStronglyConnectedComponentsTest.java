@@ -0,0 +1,93 @@
+package graph;
+
+import graph.metrics.BasicMetrics;
+import graph.model.CsrGraph;
+import graph.model.WeightedDirectedGraph;
+import graph.scc.DynamicStronglyConnectedComponents;
+import graph.scc.SCCResult;
+import graph.scc.StronglyConnectedComponents;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DynamicStronglyConnectedComponentsTest {
+    @Test
+    void mergesOnCycleAndSplitsOnDeletion() {
+        WeightedDirectedGraph graph = new WeightedDirectedGraph(4);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(2, 3, 1);
+        BasicMetrics metrics = new BasicMetrics();
+        DynamicStronglyConnectedComponents dynamic = new DynamicStronglyConnectedComponents(graph.freeze(), metrics);
+        assertEquals(4, dynamic.componentCount());
+
+        dynamic.addEdge(3, 1, 1);
+        assertEquals(2, dynamic.componentCount());
+        assertTrue(dynamic.sameComponent(1, 3));
+        assertEquals(1, dynamic.crossEdgeCount());
+        assertEquals(1, metrics.getCounter(DynamicStronglyConnectedComponents.COUNTER_MERGES));
+
+        assertTrue(dynamic.removeEdge(2, 3));
+        assertEquals(4, dynamic.componentCount());
+        assertFalse(dynamic.sameComponent(1, 3));
+        assertEquals(3, dynamic.crossEdgeCount());
+        assertEquals(1, metrics.getCounter(DynamicStronglyConnectedComponents.COUNTER_SPLITS));
+        assertFalse(dynamic.removeEdge(2, 3));
+    }
+
+    @Test
+    void matchesRecomputationUnderRandomUpdates() {
+        Random random = new Random(11);
+        int n = 300;
+        WeightedDirectedGraph initial = new WeightedDirectedGraph(n);
+        List<int[]> edges = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            initial.addEdge(u, v, 1);
+            edges.add(new int[]{u, v});
+        }
+        DynamicStronglyConnectedComponents dynamic = new DynamicStronglyConnectedComponents(initial.freeze(), new BasicMetrics());
+
+        for (int step = 0; step < 3000; step++) {
+            if (edges.isEmpty() || random.nextInt(3) > 0) {
+                int u = random.nextInt(n);
+                int v = random.nextInt(n);
+                dynamic.addEdge(u, v, step);
+                edges.add(new int[]{u, v});
+            } else {
+                int[] edge = edges.remove(random.nextInt(edges.size()));
+                assertTrue(dynamic.removeEdge(edge[0], edge[1]));
+            }
+            if (step % 50 == 0) {
+                assertConsistent(dynamic);
+            }
+        }
+        assertConsistent(dynamic);
+    }
+
+    private static void assertConsistent(DynamicStronglyConnectedComponents dynamic) {
+        CsrGraph graph = dynamic.graph();
+        SCCResult expected = StronglyConnectedComponents.canonical(graph, StronglyConnectedComponents.compute(graph, new BasicMetrics()));
+        SCCResult actual = dynamic.snapshot();
+        assertEquals(expected.components(), actual.components());
+        assertEquals(expected.components().size(), dynamic.componentCount());
+        assertEquals(expected.condensationGraph().edgeCount(), dynamic.crossEdgeCount());
+
+        int[] position = new int[graph.vertexCount()];
+        int[] order = dynamic.topologicalOrder();
+        assertEquals(dynamic.componentCount(), order.length);
+        for (int i = 0; i < order.length; i++) {
+            position[order[i]] = i;
+        }
+        for (int c : order) {
+            for (int d : dynamic.successors(c)) {
+                assertTrue(position[c] < position[d], "order violates condensation edge");
+            }
+        }
+    }
+}
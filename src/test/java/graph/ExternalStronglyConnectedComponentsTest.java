@@ -0,0 +1,119 @@
+package graph;
+
+import graph.dagsp.DagShortestPath;
+import graph.gen.GeneratorSpec;
+import graph.gen.GraphGenerator;
+import graph.metrics.BasicMetrics;
+import graph.model.CsrGraph;
+import graph.model.ExternalCsrWriter;
+import graph.model.GraphBinaryFormat;
+import graph.model.GraphData;
+import graph.model.GraphLoader;
+import graph.model.MappedCsrGraph;
+import graph.scc.ExternalStronglyConnectedComponents;
+import graph.scc.SCCResult;
+import graph.scc.StronglyConnectedComponents;
+import graph.topo.TopologicalSorter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalStronglyConnectedComponentsTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void sortsShuffledEdgesAcrossRuns() throws IOException {
+        CsrGraph generated = GraphGenerator.generate(GeneratorSpec.defaults(3_000, 24));
+        List<long[]> edges = new ArrayList<>();
+        for (int u = 0; u < generated.vertexCount(); u++) {
+            for (int e = generated.edgeStart(u); e < generated.edgeEnd(u); e++) {
+                edges.add(new long[]{u, generated.target(e), (long) generated.weight(e)});
+            }
+        }
+        Collections.shuffle(edges, new Random(24));
+
+        CsrGraph.Builder expected = new CsrGraph.Builder();
+        Path output = tempDir.resolve("graph.csrg");
+        try (ExternalCsrWriter writer = new ExternalCsrWriter(tempDir, 500)) {
+            for (long[] edge : edges) {
+                expected.addEdge((int) edge[0], (int) edge[1], edge[2]);
+                writer.addEdge((int) edge[0], (int) edge[1], edge[2]);
+            }
+            writer.finish(output, generated.vertexCount(), 7, "edge");
+            assertEquals((edges.size() + 499) / 500, writer.runCount());
+        }
+        MappedCsrGraph mapped = GraphBinaryFormat.map(output);
+        assertEquals(expected.build(generated.vertexCount()), CsrGraph.copyOf(mapped));
+        assertEquals(7, mapped.source());
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(List.of(output), files.toList());
+        }
+    }
+
+    @Test
+    void matchesInMemoryComponentsAndCondensation() throws IOException {
+        Path json = tempDir.resolve("graph.json");
+        GeneratorSpec spec = GeneratorSpec.defaults(20_000, 25);
+        GraphGenerator.writeJson(spec, json);
+        GraphData data = GraphLoader.load(json);
+        MappedCsrGraph binary = GraphLoader.toBinary(json, tempDir.resolve("graph.csrg"), tempDir, 4_096);
+        assertEquals(data.graph().freeze(), CsrGraph.copyOf(binary));
+
+        BasicMetrics metrics = new BasicMetrics();
+        ExternalStronglyConnectedComponents.Result external = ExternalStronglyConnectedComponents.compute(
+                tempDir.resolve("graph.csrg"), tempDir.resolve("condensation.csrg"), tempDir, 1_000, metrics);
+        SCCResult expected = StronglyConnectedComponents.compute(data.graph(), new BasicMetrics());
+        assertEquals(expected.componentCount(), external.componentCount());
+        assertArrayEquals(expected.componentOf(), external.componentOf());
+        assertTrue(metrics.getCounter(ExternalStronglyConnectedComponents.COUNTER_RUNS) > 1);
+
+        MappedCsrGraph condensation = external.mapCondensation();
+        CsrGraph inMemory = expected.condensationGraph().freeze();
+        assertEquals(inMemory, CsrGraph.copyOf(condensation));
+        assertEquals(expected.componentOf()[data.source()], condensation.source());
+
+        int[] order = TopologicalSorter.order(condensation, new BasicMetrics());
+        assertArrayEquals(TopologicalSorter.order(inMemory, new BasicMetrics()), order);
+        assertArrayEquals(DagShortestPath.shortestPaths(inMemory, condensation.source(), order, new BasicMetrics()).distances(),
+                DagShortestPath.shortestPaths(condensation, condensation.source(), order, new BasicMetrics()).distances());
+    }
+
+    @Test
+    void pipelineRunsOnAGraphLargerThanTheHeap() throws IOException, InterruptedException {
+        // A child JVM with a 32 MB heap builds, labels and condenses a 50 MB graph file.
+        Path java = Path.of(System.getProperty("java.home"), "bin", "java");
+        Path log = tempDir.resolve("report.txt");
+        Process process = new ProcessBuilder(java.toString(), "-Xmx32m", "-cp", System.getProperty("java.class.path"),
+                ExternalSccReport.class.getName(), "500000", "8", "131072", tempDir.toString())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        if (!process.waitFor(5, TimeUnit.MINUTES)) {
+            process.destroyForcibly();
+            fail("ExternalSccReport did not finish");
+        }
+        String output = Files.readString(log);
+        assertEquals(0, process.exitValue(), output);
+
+        Matcher maxHeap = Pattern.compile("Max heap (\\d+) MB").matcher(output);
+        assertTrue(maxHeap.find(), output);
+        long graphBytes = Files.size(tempDir.resolve("graph" + GraphBinaryFormat.EXTENSION));
+        assertTrue(graphBytes > Long.parseLong(maxHeap.group(1)) * 1_000_000, output);
+        assertTrue(Files.exists(tempDir.resolve("condensation" + GraphBinaryFormat.EXTENSION)));
+    }
+}
+
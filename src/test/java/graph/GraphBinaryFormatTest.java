@@ -0,0 +1,93 @@
+package graph;
+
+import graph.dagsp.DagShortestPath;
+import graph.gen.GeneratorSpec;
+import graph.gen.GraphGenerator;
+import graph.metrics.BasicMetrics;
+import graph.model.CsrGraph;
+import graph.model.GraphBinaryFormat;
+import graph.model.GraphData;
+import graph.model.GraphLoader;
+import graph.model.MappedCsrGraph;
+import graph.scc.SCCResult;
+import graph.scc.StronglyConnectedComponents;
+import graph.topo.TopologicalSorter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphBinaryFormatTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void roundTripsBundledDatasets() throws IOException {
+        List<Path> datasets;
+        try (Stream<Path> files = Files.list(Path.of("data"))) {
+            datasets = files.filter(p -> p.toString().endsWith(".json")).sorted().toList();
+        }
+        assertFalse(datasets.isEmpty());
+        for (Path dataset : datasets) {
+            GraphData expected = GraphLoader.load(dataset);
+            Path binary = tempDir.resolve(dataset.getFileName() + GraphBinaryFormat.EXTENSION);
+            GraphBinaryFormat.write(expected, binary);
+
+            MappedCsrGraph mapped = GraphBinaryFormat.map(binary);
+            assertEquals(expected.graph().freeze(), CsrGraph.copyOf(mapped), dataset.toString());
+            assertEquals(expected.source(), mapped.source());
+            assertEquals(expected.weightModel(), mapped.weightModel());
+            assertEquals(expected.graph(), mapped.toGraphData().graph());
+            assertEquals(expected.edges(), mapped.toGraphData().edges());
+
+            SCCResult fromHeap = StronglyConnectedComponents.compute(expected.graph(), new BasicMetrics());
+            SCCResult fromMapped = StronglyConnectedComponents.compute(mapped, new BasicMetrics());
+            assertEquals(fromHeap.components(), fromMapped.components());
+            assertEquals(fromHeap.condensationGraph(), fromMapped.condensationGraph());
+        }
+    }
+
+    @Test
+    void algorithmsRunOverMappedView() throws IOException {
+        CsrGraph dag = new CsrGraph.Builder()
+                .addEdge(0, 1, 1)
+                .addEdge(0, 2, 2)
+                .addEdge(1, 3, 3)
+                .addEdge(2, 3, 1)
+                .build(4);
+        Path binary = tempDir.resolve("dag" + GraphBinaryFormat.EXTENSION);
+        GraphBinaryFormat.write(dag, 0, "edge", binary);
+
+        MappedCsrGraph mapped = GraphBinaryFormat.map(binary);
+        int[] order = TopologicalSorter.order(mapped, new BasicMetrics());
+        assertArrayEquals(new double[]{0, 1, 2, 3}, DagShortestPath.shortestPaths(mapped, 0, order, new BasicMetrics()).distances());
+        assertEquals(4.0, DagShortestPath.longestPath(mapped, order, new BasicMetrics()).length());
+    }
+
+    @Test
+    void mapsSectionsInWindows() throws IOException {
+        CsrGraph graph = GraphGenerator.generate(GeneratorSpec.defaults(2_000, 17));
+        Path binary = tempDir.resolve("windows" + GraphBinaryFormat.EXTENSION);
+        GraphBinaryFormat.write(graph, 0, "edge", binary);
+
+        // 16-element windows, so every section spans many mappings.
+        MappedCsrGraph mapped = GraphBinaryFormat.map(binary, 4);
+        assertEquals(graph, CsrGraph.copyOf(mapped));
+        assertArrayEquals(StronglyConnectedComponents.compute(graph, new BasicMetrics()).componentOf(),
+                StronglyConnectedComponents.compute(mapped, new BasicMetrics()).componentOf());
+        assertThrows(IllegalArgumentException.class, () -> GraphBinaryFormat.map(binary, 28));
+    }
+
+    @Test
+    void rejectsForeignFiles() throws IOException {
+        Path bogus = tempDir.resolve("bogus" + GraphBinaryFormat.EXTENSION);
+        Files.write(bogus, new byte[64]);
+        assertThrows(IOException.class, () -> GraphBinaryFormat.map(bogus));
+    }
+}
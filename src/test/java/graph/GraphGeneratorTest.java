@@ -0,0 +1,68 @@
+package graph;
+
+import graph.dagsp.DagShortestPath;
+import graph.gen.Distribution;
+import graph.gen.GeneratorSpec;
+import graph.gen.GraphGenerator;
+import graph.metrics.BasicMetrics;
+import graph.model.CsrGraph;
+import graph.model.GraphData;
+import graph.model.GraphLoader;
+import graph.scc.SCCResult;
+import graph.scc.StronglyConnectedComponents;
+import graph.topo.TopologicalSorter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphGeneratorTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void sameSeedProducesSameGraph() {
+        GeneratorSpec spec = GeneratorSpec.defaults(5_000, 42);
+        assertEquals(GraphGenerator.generate(spec), GraphGenerator.generate(spec));
+        assertNotEquals(GraphGenerator.generate(spec), GraphGenerator.generate(GeneratorSpec.defaults(5_000, 43)));
+    }
+
+    @Test
+    void plantsClustersAsComponentsAcrossAllLevels() {
+        GeneratorSpec spec = GeneratorSpec.defaults(2_000, 7)
+                .withClusterSizes(Distribution.constant(5))
+                .withDepth(40)
+                .withWeights(Distribution.constant(1), true);
+        CsrGraph graph = GraphGenerator.generate(spec);
+
+        SCCResult scc = StronglyConnectedComponents.compute(graph, new BasicMetrics());
+        assertEquals(400, scc.components().size());
+        scc.components().forEach(component -> assertEquals(5, component.size()));
+
+        CsrGraph condensation = scc.condensationGraph().freeze();
+        int[] order = TopologicalSorter.order(condensation, new BasicMetrics());
+        assertEquals(39.0, DagShortestPath.longestPath(condensation, order, new BasicMetrics()).length());
+    }
+
+    @Test
+    void edgeCountFollowsAverageDegree() {
+        GeneratorSpec spec = GeneratorSpec.defaults(50_000, 3).withAverageDegree(4.5);
+        double average = (double) GraphGenerator.generate(spec).edgeCount() / spec.vertices();
+        assertEquals(4.5, average, 0.1);
+    }
+
+    @Test
+    void jsonOutputLoadsAsTheSameGraph() throws IOException {
+        GeneratorSpec spec = GeneratorSpec.defaults(3_000, 11)
+                .withWeights(Distribution.exponential(0.5, 3, 50), false);
+        Path file = tempDir.resolve("generated.json");
+        GraphGenerator.writeJson(spec, file);
+
+        GraphData data = GraphLoader.load(file);
+        assertEquals(GraphGenerator.generate(spec), data.graph().freeze());
+        assertEquals(GraphGenerator.suggestedSource(spec), data.source());
+    }
+}
@@ -0,0 +1,74 @@
+package graph;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graph.model.GraphData;
+import graph.model.GraphLoader;
+import graph.model.WeightedDirectedGraph;
+import graph.model.WeightedEdge;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphLoaderTest {
+    @Test
+    void readsKeysInAnyOrder() throws IOException {
+        String json = """
+                {
+                  "weight_model": "node",
+                  "source": 2,
+                  "meta": {"nested": [1, 2, {"u": 9}]},
+                  "edges": [
+                    {"v": 1, "u": 0},
+                    {"u": 2, "v": 0, "w": 2.5, "label": "x"}
+                  ],
+                  "n": 3
+                }
+                """;
+        GraphData data = GraphLoader.load(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(3, data.graph().vertexCount());
+        assertEquals(2, data.source());
+        assertEquals("node", data.weightModel());
+        assertEquals(List.of(new WeightedEdge(0, 1, 1.0), new WeightedEdge(2, 0, 2.5)), data.edges());
+        assertEquals(List.of(new WeightedEdge(2, 0, 2.5)), data.graph().edgesFrom(2));
+    }
+
+    @Test
+    void rejectsMissingVertexCount() {
+        String json = "{\"edges\": []}";
+        assertThrows(IOException.class,
+                () -> GraphLoader.load(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void matchesTreeModelOnBundledDatasets() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        List<Path> datasets;
+        try (Stream<Path> files = Files.list(Path.of("data"))) {
+            datasets = files.filter(p -> p.toString().endsWith(".json")).toList();
+        }
+        assertFalse(datasets.isEmpty());
+        for (Path dataset : datasets) {
+            JsonNode root = mapper.readTree(dataset.toFile());
+            WeightedDirectedGraph expected = new WeightedDirectedGraph(root.get("n").asInt());
+            for (JsonNode edge : root.withArray("edges")) {
+                expected.addEdge(edge.get("u").asInt(), edge.get("v").asInt(), edge.path("w").asDouble(1.0));
+            }
+
+            GraphData data = GraphLoader.load(dataset);
+            assertEquals(expected, data.graph(), dataset.toString());
+            assertEquals(root.withArray("edges").size(), data.edges().size());
+            assertEquals(root.path("source").asInt(0), data.source());
+            assertEquals(root.path("weight_model").asText("edge"), data.weightModel());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package graph;
+
+import graph.dagsp.DagShortestPath;
+import graph.dagsp.IncrementalDagPaths;
+import graph.metrics.BasicMetrics;
+import graph.model.CsrGraph;
+import graph.topo.DynamicDag;
+import graph.topo.TopologicalSorter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalDagPathsTest {
+    @Test
+    void rejectsCycleAndKeepsGraphUnchanged() {
+        CsrGraph chain = new CsrGraph.Builder().addEdge(0, 1, 2).addEdge(1, 2, 3).build(3);
+        IncrementalDagPaths paths = new IncrementalDagPaths(chain, 0, new BasicMetrics());
+        assertEquals(5.0, paths.criticalPath().length());
+
+        assertThrows(IllegalArgumentException.class, () -> paths.addEdge(2, 0, 1));
+        assertEquals(0, paths.dag().outDegree(2));
+
+        paths.setWeight(0, 1, 10);
+        assertEquals(13.0, paths.criticalPath().length());
+        assertEquals(List.of(0, 1, 2), paths.criticalPath().path());
+        assertEquals(List.of(0, 1, 2), paths.shortestPath(2));
+
+        assertTrue(paths.removeEdge(0, 1));
+        assertEquals(Double.POSITIVE_INFINITY, paths.shortestDistance(2));
+        assertEquals(3.0, paths.criticalPath().length());
+
+        DynamicDag dag = new DynamicDag(chain, new BasicMetrics());
+        assertThrows(IndexOutOfBoundsException.class, () -> dag.removeEdge(3, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> dag.removeEdge(1, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> dag.setWeight(-1, 2, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> dag.setWeight(1, 3, 1));
+    }
+
+    @Test
+    void matchesBatchRecomputationUnderRandomUpdates() {
+        Random random = new Random(5);
+        int n = 400;
+        CsrGraph.Builder builder = new CsrGraph.Builder();
+        for (int i = 0; i < 800; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            if (u < v) {
+                builder.addEdge(u, v, 1 + random.nextInt(9));
+            }
+        }
+        IncrementalDagPaths paths = new IncrementalDagPaths(builder.build(n), 0, new BasicMetrics());
+
+        for (int step = 0; step < 2000; step++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            DynamicDag.View dag = paths.dag();
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    if (dag.outDegree(u) > 0) {
+                        paths.removeEdge(u, dag.outTarget(u, random.nextInt(dag.outDegree(u))));
+                    }
+                }
+                case 1 -> {
+                    if (dag.outDegree(u) > 0) {
+                        paths.setWeight(u, dag.outTarget(u, random.nextInt(dag.outDegree(u))), random.nextInt(20));
+                    }
+                }
+                default -> {
+                    try {
+                        paths.addEdge(u, v, 1 + random.nextInt(9));
+                    } catch (IllegalArgumentException cycle) {
+                        // Expected for edges that close a cycle.
+                    }
+                }
+            }
+            if (step % 100 == 0) {
+                assertMatchesBatch(paths);
+            }
+        }
+        assertMatchesBatch(paths);
+    }
+
+    private static void assertMatchesBatch(IncrementalDagPaths paths) {
+        DynamicDag.View dag = paths.dag();
+        CsrGraph.Builder builder = new CsrGraph.Builder();
+        for (int u = 0; u < dag.vertexCount(); u++) {
+            for (int i = 0; i < dag.outDegree(u); i++) {
+                builder.addEdge(u, dag.outTarget(u, i), dag.outWeight(u, i));
+                assertTrue(dag.rank(u) < dag.rank(dag.outTarget(u, i)), "order violates an edge");
+            }
+        }
+        CsrGraph graph = builder.build(dag.vertexCount());
+        int[] order = TopologicalSorter.order(graph, new BasicMetrics());
+
+        DagShortestPath.CriticalPathResult expected = DagShortestPath.longestPath(graph, order, new BasicMetrics());
+        DagShortestPath.CriticalPathResult actual = paths.criticalPath();
+        assertEquals(expected.length(), actual.length());
+        assertEquals(expected.path().get(expected.path().size() - 1), actual.path().get(actual.path().size() - 1));
+        assertEquals(0.0, paths.longestDistance(actual.path().get(0)));
+
+        DagShortestPath.ShortestPathResult shortest = DagShortestPath.shortestPaths(graph, 0, order, new BasicMetrics());
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            assertEquals(shortest.distances()[v], paths.shortestDistance(v));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package graph;
+
+import graph.metrics.BasicMetrics;
+import graph.model.CsrGraph;
+import graph.schedule.ListScheduler;
+import graph.schedule.Schedule;
+import graph.topo.Dag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListSchedulerTest {
+    @Test
+    void prefersTheCriticalChain() {
+        // 0 -> 1 -> 2 is the long chain; 3 and 4 are short independent tasks.
+        Dag dag = new Dag(new CsrGraph.Builder()
+                .addEdge(0, 1, 0)
+                .addEdge(1, 2, 1)
+                .build(5));
+        double[] duration = {2, 2, 2, 1, 1};
+        BasicMetrics metrics = new BasicMetrics();
+        Schedule schedule = ListScheduler.schedule(dag, duration, 2, metrics);
+
+        assertEquals(7.0, schedule.makespan());
+        assertEquals(0.0, schedule.start()[0]);
+        assertEquals(2.0, schedule.start()[1]);
+        assertEquals(5.0, schedule.start()[2]);
+        // Worker 1 finishes the short tasks and then idles until the hand-off to task 2 is over.
+        assertArrayEquals(new int[]{0, 1}, schedule.tasksOf(0));
+        assertArrayEquals(new int[]{3, 4, 2}, schedule.tasksOf(1));
+        assertEquals(4.0, schedule.busyTime(1));
+        assertEquals(1, metrics.getCounter(ListScheduler.COUNTER_IDLE_WAITS));
+    }
+
+    @Test
+    void respectsDependenciesAndWorkerCapacity() {
+        Random random = new Random(4);
+        int n = 3_000;
+        CsrGraph.Builder builder = new CsrGraph.Builder();
+        for (int i = 0; i < 4 * n; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            if (u != v) {
+                builder.addEdge(Math.min(u, v), Math.max(u, v), random.nextInt(3));
+            }
+        }
+        Dag dag = new Dag(builder.build(n));
+        double[] duration = new double[n];
+        double total = 0;
+        for (int v = 0; v < n; v++) {
+            duration[v] = 1 + random.nextInt(9);
+            total += duration[v];
+        }
+
+        for (int workers : new int[]{1, 4, 16, n}) {
+            Schedule schedule = ListScheduler.schedule(dag, duration, workers, new BasicMetrics());
+            for (int u = 0; u < n; u++) {
+                assertEquals(duration[u], schedule.finish()[u] - schedule.start()[u]);
+                for (int e = dag.edgeStart(u); e < dag.edgeEnd(u); e++) {
+                    assertTrue(schedule.start()[dag.target(e)] >= schedule.finish()[u] + dag.weight(e));
+                }
+            }
+            int placed = 0;
+            for (int k = 0; k < workers; k++) {
+                int[] tasks = schedule.tasksOf(k);
+                placed += tasks.length;
+                for (int i = 1; i < tasks.length; i++) {
+                    assertTrue(schedule.start()[tasks[i]] >= schedule.finish()[tasks[i - 1]]);
+                }
+            }
+            assertEquals(n, placed);
+            assertTrue(schedule.makespan() >= total / workers);
+            assertEquals(Arrays.stream(schedule.finish()).max().orElseThrow(), schedule.makespan());
+        }
+
+        // With a worker per task nothing waits for capacity, so the makespan is the critical path.
+        Schedule unbounded = ListScheduler.schedule(dag, duration, n, new BasicMetrics());
+        double[] earliest = new double[n];
+        double critical = 0;
+        for (int u : dag.topologicalOrder()) {
+            critical = Math.max(critical, earliest[u] + duration[u]);
+            for (int e = dag.edgeStart(u); e < dag.edgeEnd(u); e++) {
+                int v = dag.target(e);
+                earliest[v] = Math.max(earliest[v], earliest[u] + duration[u] + dag.weight(e));
+            }
+        }
+        assertEquals(critical, unbounded.makespan());
+    }
+}
@@ -0,0 +1,69 @@
+package graph;
+
+import graph.metrics.BasicMetrics;
+import graph.metrics.Metrics;
+import graph.metrics.NoopMetrics;
+import graph.metrics.StripedMetrics;
+import graph.model.WeightedDirectedGraph;
+import graph.scc.StronglyConnectedComponents;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsTest {
+    @Test
+    void stripedMetricsAgreesWithBasicMetrics() {
+        WeightedDirectedGraph graph = new WeightedDirectedGraph(4);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 0, 1);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(2, 3, 1);
+
+        Metrics basic = new BasicMetrics();
+        Metrics striped = new StripedMetrics();
+        StronglyConnectedComponents.compute(graph, basic);
+        StronglyConnectedComponents.compute(graph, striped);
+
+        assertEquals(basic.counters(), striped.counters());
+        assertTrue(striped.getTime(StronglyConnectedComponents.TIMER_SCC) > 0);
+    }
+
+    @Test
+    void counterHandlesAreThreadSafe() {
+        StripedMetrics metrics = new StripedMetrics();
+        Metrics.Counter counter = metrics.counter("hits");
+        IntStream.range(0, 100_000).parallel().forEach(i -> counter.increment());
+        metrics.addToCounter("hits", 5);
+        assertEquals(100_005, metrics.getCounter("hits"));
+    }
+
+    @Test
+    void noopMetricsRecordsNothing() {
+        Metrics metrics = NoopMetrics.INSTANCE;
+        metrics.counter("hits").add(10);
+        metrics.incrementCounter("hits");
+        try (Metrics.TimerContext ignored = metrics.time("t")) {
+            metrics.addTime("t", 5);
+        }
+        assertEquals(0, metrics.getCounter("hits"));
+        assertTrue(metrics.counters().isEmpty());
+        assertTrue(metrics.times().isEmpty());
+    }
+
+    @Test
+    void mergeAddsCountersAndTimes() {
+        Metrics total = new BasicMetrics();
+        total.addToCounter("hits", 2);
+        Metrics part = new StripedMetrics();
+        part.addToCounter("hits", 3);
+        part.addToCounter("misses", 1);
+        part.addTime("t", 7);
+        total.merge(part);
+        total.merge(NoopMetrics.INSTANCE);
+        assertEquals(5, total.getCounter("hits"));
+        assertEquals(1, total.getCounter("misses"));
+        assertEquals(7, total.getTime("t"));
+    }
+}
@@ -0,0 +1,70 @@
+package graph;
+
+import graph.dagsp.DagShortestPath;
+import graph.dagsp.MultiSourceShortestPaths;
+import graph.gen.GeneratorSpec;
+import graph.gen.GraphGenerator;
+import graph.metrics.BasicMetrics;
+import graph.model.CsrGraph;
+import graph.scc.StronglyConnectedComponents;
+import graph.topo.TopologicalSorter;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiSourceShortestPathsTest {
+    @Test
+    void matchesSingleSourceSweeps() {
+        CsrGraph dag = StronglyConnectedComponents.compute(GraphGenerator.generate(GeneratorSpec.defaults(4_000, 5)), new BasicMetrics())
+                .condensationGraph().freeze();
+        int[] order = TopologicalSorter.order(dag, new BasicMetrics());
+        int[] sources = {order[0], order[order.length / 2], 3, 17, 3, order[order.length - 1], 250, 799, 1, 0, 42};
+
+        MultiSourceShortestPaths.DistanceMatrix matrix =
+                MultiSourceShortestPaths.shortestPaths(dag, sources, order, new BasicMetrics());
+        for (int i = 0; i < sources.length; i++) {
+            double[] expected = DagShortestPath.shortestPaths(dag, sources[i], order, new BasicMetrics()).distances();
+            assertArrayEquals(expected, matrix.row(i), "source " + sources[i]);
+        }
+    }
+
+    @Test
+    void allSourcesOnSmallDag() {
+        CsrGraph dag = new CsrGraph.Builder()
+                .addEdge(0, 1, 1)
+                .addEdge(0, 2, 2)
+                .addEdge(1, 3, 3)
+                .addEdge(2, 3, 1)
+                .build(4);
+        int[] order = TopologicalSorter.order(dag, new BasicMetrics());
+        MultiSourceShortestPaths.DistanceMatrix matrix = MultiSourceShortestPaths.allSources(dag, order, new BasicMetrics());
+
+        assertEquals(3.0, matrix.distance(0, 3));
+        assertEquals(3.0, matrix.distance(1, 3));
+        assertEquals(Double.POSITIVE_INFINITY, matrix.distance(3, 0));
+        assertEquals(0.0, matrix.distance(2, 2));
+    }
+
+    @Test
+    void streamsEverySourceOnceFromAnyPool() {
+        CsrGraph dag = StronglyConnectedComponents.compute(GraphGenerator.generate(GeneratorSpec.defaults(2_000, 9)), new BasicMetrics())
+                .condensationGraph().freeze();
+        int[] order = TopologicalSorter.order(dag, new BasicMetrics());
+        int[] sources = order.clone();
+        AtomicInteger calls = new AtomicInteger();
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            MultiSourceShortestPaths.forEachSource(dag, sources, order, new BasicMetrics(), (index, source, distances) -> {
+                assertEquals(sources[index], source);
+                assertEquals(0.0, distances[source]);
+                calls.incrementAndGet();
+            }, pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(sources.length, calls.get());
+    }
+}
@@ -0,0 +1,159 @@
+package graph;
+
+import graph.dagsp.DagShortestPath;
+import graph.gen.GeneratorSpec;
+import graph.gen.GraphGenerator;
+import graph.metrics.BasicMetrics;
+import graph.model.CsrGraph;
+import graph.model.LongGraphView;
+import graph.model.OffHeapCsrGraph;
+import graph.scc.CondensationBuilder;
+import graph.scc.EdgeMergePolicy;
+import graph.scc.SCCResult;
+import graph.scc.StronglyConnectedComponents;
+import graph.topo.TopologicalSorter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapCsrGraphTest {
+    @Test
+    void storesEdgesAcrossChunks() {
+        // Chunks of 4 elements, so every array spans several buffers.
+        OffHeapCsrGraph.Writer writer = OffHeapCsrGraph.allocate(new int[]{3, 0, 5, 1}, 2);
+        writer.addEdge(0, 1, 0.5).addEdge(0, 2, 1.5).addEdge(0, 3, 2.5);
+        for (int i = 0; i < 5; i++) {
+            writer.addEdge(2, i % 4, i);
+        }
+        assertThrows(IllegalArgumentException.class, () -> writer.addEdge(1, 0, 1));
+        writer.addEdge(3, 0, 9);
+        OffHeapCsrGraph graph = writer.build();
+
+        assertEquals(9, graph.edgeCount());
+        assertEquals(9L, graph.edgeCountLong());
+        assertEquals(3L, graph.edgeOffset(2));
+        assertEquals(8, graph.edgeEnd(2));
+        assertEquals(5, graph.outDegree(2));
+        assertEquals(0, graph.outDegree(1));
+        assertEquals(2, graph.target(5));
+        assertEquals(0, graph.target(7));
+        assertEquals(4.0, graph.weightAt(7L));
+        assertEquals(0, graph.targetAt(8L));
+        assertEquals(9.0, graph.weight(8));
+        assertEquals(5 * 8 + 9 * 4 + 9 * 8, graph.offHeapBytes());
+
+        OffHeapCsrGraph.Writer incomplete = OffHeapCsrGraph.allocate(new int[]{2, 1});
+        incomplete.addEdge(0, 1, 1);
+        assertThrows(IllegalArgumentException.class, () -> incomplete.addEdge(1, 0, 1));
+        assertThrows(IllegalStateException.class, incomplete::build);
+    }
+
+    @Test
+    void algorithmsMatchTheHeapGraph() {
+        GeneratorSpec spec = GeneratorSpec.defaults(5_000, 23);
+        CsrGraph heap = GraphGenerator.generate(spec);
+        OffHeapCsrGraph offHeap = GraphGenerator.generateOffHeap(spec);
+        assertEquals(heap, CsrGraph.copyOf(offHeap));
+
+        SCCResult expected = StronglyConnectedComponents.compute(heap, new BasicMetrics());
+        SCCResult actual = StronglyConnectedComponents.compute(offHeap, new BasicMetrics());
+        assertArrayEquals(expected.componentOf(), actual.componentOf());
+        assertArrayEquals(expected.members(), actual.members());
+
+        CsrGraph dag = expected.condensationGraph().freeze();
+        OffHeapCsrGraph offHeapDag = OffHeapCsrGraph.copyOf(dag);
+        int[] order = TopologicalSorter.order(offHeapDag, new BasicMetrics());
+        assertArrayEquals(TopologicalSorter.order(dag, new BasicMetrics()), order);
+        int source = order[0];
+        assertArrayEquals(DagShortestPath.shortestPaths(dag, source, order, new BasicMetrics()).distances(),
+                DagShortestPath.shortestPaths(offHeapDag, source, order, new BasicMetrics()).distances());
+        assertEquals(DagShortestPath.longestPath(dag, order, new BasicMetrics()),
+                DagShortestPath.longestPath(offHeapDag, order, new BasicMetrics()));
+    }
+
+    @Test
+    void longIndexedAlgorithmsMatchTheIntOnes() {
+        // Edge ids start past 2^31 and the int accessors throw, so only the long paths can pass.
+        CsrGraph heap = GraphGenerator.generate(GeneratorSpec.defaults(4_000, 31));
+        LongGraphView shifted = new ShiftedView(heap, 3L << 30);
+
+        SCCResult expected = StronglyConnectedComponents.compute(heap, new BasicMetrics());
+        int[] componentOf = StronglyConnectedComponents.componentLabels(shifted, new BasicMetrics());
+        assertArrayEquals(expected.componentOf(), componentOf);
+
+        int count = expected.componentCount();
+        for (EdgeMergePolicy policy : EdgeMergePolicy.values()) {
+            CsrGraph want = CondensationBuilder.build(heap, expected, policy, new BasicMetrics());
+            OffHeapCsrGraph got = CondensationBuilder.buildOffHeap(shifted, componentOf, count, policy,
+                    new BasicMetrics());
+            assertEquals(want, CsrGraph.copyOf(got), policy.name());
+        }
+
+        CsrGraph dag = CondensationBuilder.build(heap, expected, EdgeMergePolicy.KEEP_ALL, new BasicMetrics());
+        LongGraphView shiftedDag = new ShiftedView(dag, 5L << 30);
+        int[] order = TopologicalSorter.order(shiftedDag, new BasicMetrics());
+        assertArrayEquals(TopologicalSorter.order(dag, new BasicMetrics()), order);
+        int source = order[0];
+        assertArrayEquals(DagShortestPath.shortestPaths(dag, source, order, new BasicMetrics()).distances(),
+                DagShortestPath.shortestPaths(shiftedDag, source, order, new BasicMetrics()).distances());
+        assertEquals(DagShortestPath.longestPath(dag, order, new BasicMetrics()),
+                DagShortestPath.longestPath(shiftedDag, order, new BasicMetrics()));
+    }
+
+    private record ShiftedView(CsrGraph graph, long base) implements LongGraphView {
+        @Override
+        public int vertexCount() {
+            return graph.vertexCount();
+        }
+
+        @Override
+        public long edgeCountLong() {
+            return graph.edgeCount();
+        }
+
+        @Override
+        public long edgeOffset(int vertex) {
+            return base + (vertex == graph.vertexCount() ? graph.edgeCount() : graph.edgeStart(vertex));
+        }
+
+        @Override
+        public int targetAt(long edge) {
+            return graph.target(Math.toIntExact(edge - base));
+        }
+
+        @Override
+        public double weightAt(long edge) {
+            return graph.weight(Math.toIntExact(edge - base));
+        }
+
+        @Override
+        public int edgeCount() {
+            throw new IllegalStateException("int edge ids used");
+        }
+
+        @Override
+        public int edgeStart(int vertex) {
+            throw new IllegalStateException("int edge ids used");
+        }
+
+        @Override
+        public int edgeEnd(int vertex) {
+            throw new IllegalStateException("int edge ids used");
+        }
+
+        @Override
+        public int target(int edge) {
+            throw new IllegalStateException("int edge ids used");
+        }
+
+        @Override
+        public double weight(int edge) {
+            throw new IllegalStateException("int edge ids used");
+        }
+
+        @Override
+        public int outDegree(int vertex) {
+            throw new IllegalStateException("int edge ids used");
+        }
+    }
+}
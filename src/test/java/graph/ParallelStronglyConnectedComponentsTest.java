@@ -0,0 +1,83 @@
+package graph;
+
+import graph.metrics.BasicMetrics;
+import graph.model.CsrGraph;
+import graph.model.WeightedDirectedGraph;
+import graph.scc.ParallelStronglyConnectedComponents;
+import graph.scc.SCCEngine;
+import graph.scc.SCCResult;
+import graph.scc.StronglyConnectedComponents;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelStronglyConnectedComponentsTest {
+    @Test
+    void matchesCanonicalTarjanOnSmallGraph() {
+        WeightedDirectedGraph graph = new WeightedDirectedGraph(6);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(2, 0, 1);
+        graph.addEdge(2, 3, 1);
+        graph.addEdge(3, 4, 1);
+        graph.addEdge(4, 3, 1);
+        graph.addEdge(5, 5, 1);
+
+        SCCResult parallel = StronglyConnectedComponents.compute(graph, new BasicMetrics(), SCCEngine.FORWARD_BACKWARD);
+        assertEquals(List.of(List.of(0, 1, 2), List.of(3, 4), List.of(5)), parallel.components());
+        assertSameResult(StronglyConnectedComponents.canonical(graph.freeze(), StronglyConnectedComponents.compute(graph, new BasicMetrics())), parallel);
+    }
+
+    @Test
+    void trimsLongChainAgainstVertexOrderInLinearTime() {
+        // The chain hangs off a 2-cycle, so it can only be trimmed from its tail, one vertex per
+        // level; repeated full sweeps over ascending ids would need n passes.
+        int n = 200_000;
+        CsrGraph.Builder builder = new CsrGraph.Builder();
+        for (int v = 0; v + 1 < n; v++) {
+            builder.addEdge(v, v + 1, 1);
+        }
+        builder.addEdge(n, n + 1, 1).addEdge(n + 1, n, 1).addEdge(n + 1, 0, 1);
+        CsrGraph graph = builder.build(n + 2);
+
+        BasicMetrics metrics = new BasicMetrics();
+        SCCResult parallel = assertTimeoutPreemptively(Duration.ofSeconds(20),
+                () -> StronglyConnectedComponents.compute(graph, metrics, SCCEngine.FORWARD_BACKWARD));
+        assertEquals(n, metrics.getCounter(ParallelStronglyConnectedComponents.COUNTER_TRIMMED));
+        assertSameResult(StronglyConnectedComponents.canonical(graph, StronglyConnectedComponents.compute(graph, new BasicMetrics())), parallel);
+    }
+
+    @Test
+    void matchesCanonicalTarjanOnRandomGraphs() {
+        Random random = new Random(42);
+        for (int round = 0; round < 5; round++) {
+            int n = 20_000 + random.nextInt(20_000);
+            WeightedDirectedGraph graph = new WeightedDirectedGraph(n);
+            for (int i = 0, m = n + random.nextInt(n); i < m; i++) {
+                graph.addEdge(random.nextInt(n), random.nextInt(n), random.nextInt(10));
+            }
+            CsrGraph csr = graph.freeze();
+
+            SCCResult expected = StronglyConnectedComponents.canonical(csr, StronglyConnectedComponents.compute(csr, new BasicMetrics()));
+            for (int threads : new int[]{1, 4}) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                try {
+                    assertSameResult(expected, ParallelStronglyConnectedComponents.compute(csr, new BasicMetrics(), pool));
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        }
+    }
+
+    private static void assertSameResult(SCCResult expected, SCCResult actual) {
+        assertEquals(expected.components(), actual.components());
+        assertArrayEquals(expected.componentOf(), actual.componentOf());
+        assertEquals(expected.condensationGraph(), actual.condensationGraph());
+    }
+}
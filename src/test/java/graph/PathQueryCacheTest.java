@@ -0,0 +1,127 @@
+package graph;
+
+import graph.dagsp.DagShortestPath;
+import graph.dagsp.PathQueryCache;
+import graph.metrics.BasicMetrics;
+import graph.model.CsrGraph;
+import graph.topo.Dag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PathQueryCacheTest {
+    @Test
+    void countsHitsAndMissesAndInvalidatesOnNewVersion() {
+        Dag dag = new Dag(new CsrGraph.Builder()
+                .addEdge(0, 1, 2)
+                .addEdge(1, 2, 3)
+                .addEdge(0, 2, 10)
+                .build(3));
+        BasicMetrics metrics = new BasicMetrics();
+        PathQueryCache cache = new PathQueryCache(dag, 1 << 20, metrics);
+
+        assertEquals(5.0, cache.distance(0, 2));
+        assertEquals(List.of(0, 1, 2), cache.path(0, 2));
+        assertSame(cache.shortestPaths(0), cache.shortestPaths(0));
+        assertEquals(10.0, cache.longestPath().length());
+        cache.longestPath();
+        assertEquals(2, metrics.getCounter(PathQueryCache.COUNTER_MISSES));
+        assertEquals(4, metrics.getCounter(PathQueryCache.COUNTER_HITS));
+        assertEquals(2, cache.size());
+
+        long version = cache.update(new Dag(new CsrGraph.Builder()
+                .addEdge(0, 1, 2)
+                .addEdge(0, 2, 1)
+                .build(3)));
+        assertEquals(1, version);
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.bytes());
+        assertEquals(2, metrics.getCounter(PathQueryCache.COUNTER_INVALIDATIONS));
+        assertEquals(1.0, cache.distance(0, 2));
+        assertEquals(2.0, cache.longestPath().length());
+        assertEquals(4, metrics.getCounter(PathQueryCache.COUNTER_MISSES));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedWithinBudget() {
+        CsrGraph.Builder builder = new CsrGraph.Builder();
+        for (int v = 0; v < 999; v++) {
+            builder.addEdge(v, v + 1, 1);
+        }
+        Dag dag = new Dag(builder.build(1_000));
+        BasicMetrics metrics = new BasicMetrics();
+        // Each single-source result holds 12 KB of arrays, so three fit and a fourth does not.
+        PathQueryCache cache = new PathQueryCache(dag, 40_000, metrics);
+
+        DagShortestPath.ShortestPathResult first = cache.shortestPaths(0);
+        cache.shortestPaths(1);
+        cache.shortestPaths(2);
+        assertSame(first, cache.shortestPaths(0));
+        cache.shortestPaths(3);
+
+        assertEquals(3, cache.size());
+        assertTrue(cache.bytes() <= cache.maxBytes());
+        assertEquals(1, metrics.getCounter(PathQueryCache.COUNTER_EVICTIONS));
+        assertSame(first, cache.shortestPaths(0));
+        cache.shortestPaths(1);
+        assertEquals(5, metrics.getCounter(PathQueryCache.COUNTER_MISSES));
+        assertEquals(2, metrics.getCounter(PathQueryCache.COUNTER_EVICTIONS));
+        assertEquals(990.0, cache.distance(9, 999));
+    }
+
+    @Test
+    void hitsDoNotWaitForAMissInProgress() throws Exception {
+        CsrGraph.Builder builder = new CsrGraph.Builder();
+        for (int v = 0; v < 99; v++) {
+            builder.addEdge(v, v + 1, 1);
+        }
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean gate = new AtomicBoolean();
+        // Parks the first shortest-path run after the gate opens until the test releases it.
+        BasicMetrics metrics = new BasicMetrics() {
+            @Override
+            public TimerContext time(String name) {
+                if (name.equals(DagShortestPath.TIMER_SHORTEST) && gate.getAndSet(false)) {
+                    entered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.time(name);
+            }
+        };
+        PathQueryCache cache = new PathQueryCache(new Dag(builder.build(100)), 1 << 20, metrics);
+        DagShortestPath.ShortestPathResult cached = cache.shortestPaths(0);
+
+        gate.set(true);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<DagShortestPath.ShortestPathResult> computing = executor.submit(() -> cache.shortestPaths(5));
+            assertTrue(entered.await(10, TimeUnit.SECONDS));
+            Future<DagShortestPath.ShortestPathResult> waiting = executor.submit(() -> cache.shortestPaths(5));
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> assertSame(cached, cache.shortestPaths(0)));
+            assertFalse(computing.isDone());
+
+            release.countDown();
+            assertSame(computing.get(10, TimeUnit.SECONDS), waiting.get(10, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+        assertEquals(2, metrics.getCounter(PathQueryCache.COUNTER_MISSES));
+        assertEquals(2, metrics.getCounter(PathQueryCache.COUNTER_HITS));
+        assertEquals(94.0, cache.distance(5, 99));
+    }
+}
@@ -0,0 +1,77 @@
+package graph;
+
+import graph.dagsp.DagShortestPath;
+import graph.dagsp.PathWorkspace;
+import graph.metrics.BasicMetrics;
+import graph.metrics.NoopMetrics;
+import graph.model.CsrGraph;
+import graph.topo.TopologicalSorter;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PathWorkspaceTest {
+    @Test
+    void matchesDagShortestPathAcrossRepeatedQueries() {
+        CsrGraph dag = TestGraphs.randomDag(2_000, 4, 3);
+        int[] order = TopologicalSorter.order(dag, new BasicMetrics());
+        PathWorkspace workspace = new PathWorkspace(16);
+        int[] buffer = new int[dag.vertexCount()];
+
+        int sink = order[order.length - 1];
+        for (int rank : new int[]{0, 17, 999, 0}) {
+            int source = order[rank];
+            BasicMetrics expectedMetrics = new BasicMetrics();
+            BasicMetrics actualMetrics = new BasicMetrics();
+            DagShortestPath.ShortestPathResult expected = DagShortestPath.shortestPaths(dag, source, order, expectedMetrics);
+            workspace.shortestPaths(dag, source, order, actualMetrics);
+            for (int v = 0; v < dag.vertexCount(); v++) {
+                assertEquals(expected.distances()[v], workspace.distance(v));
+                assertEquals(expected.predecessors()[v], workspace.predecessor(v));
+            }
+            List<Integer> path = expected.buildPath(sink);
+            int length = workspace.copyPath(sink, buffer);
+            assertEquals(path.size(), length);
+            for (int i = 0; i < length; i++) {
+                assertEquals(path.get(i), buffer[i]);
+            }
+            assertEquals(expectedMetrics.getCounter(DagShortestPath.COUNTER_RELAXATIONS),
+                    actualMetrics.getCounter(DagShortestPath.COUNTER_RELAXATIONS));
+        }
+
+        DagShortestPath.CriticalPathResult critical = DagShortestPath.longestPath(dag, order, new BasicMetrics());
+        assertEquals(critical.length(), workspace.longestPaths(dag, order, new BasicMetrics()));
+        assertArrayEquals(critical.path().stream().mapToInt(Integer::intValue).toArray(), workspace.path(workspace.criticalEnd()));
+    }
+
+    @Test
+    void steadyStateQueriesDoNotAllocate() {
+        CsrGraph dag = TestGraphs.randomDag(10_000, 4, 5);
+        int[] order = TopologicalSorter.order(dag, new BasicMetrics());
+        PathWorkspace workspace = new PathWorkspace(dag.vertexCount());
+        int[] buffer = new int[dag.vertexCount()];
+        for (int i = 0; i < 200; i++) {
+            runQueries(workspace, dag, order, buffer, i);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < 1_000; i++) {
+            runQueries(workspace, dag, order, buffer, i);
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        // A single distance array of the non-reusing API is 80 KB; 2000 queries must stay far below that.
+        assertTrue(allocated < 8 * 1024, "allocated " + allocated + " bytes");
+    }
+
+    private static void runQueries(PathWorkspace workspace, CsrGraph dag, int[] order, int[] buffer, int i) {
+        workspace.shortestPaths(dag, i % 100, order, NoopMetrics.INSTANCE);
+        workspace.copyPath(dag.vertexCount() - 1, buffer);
+        workspace.longestPaths(dag, order, NoopMetrics.INSTANCE);
+        workspace.copyPath(workspace.criticalEnd(), buffer);
+    }
+}
@@ -0,0 +1,86 @@
+package graph;
+
+import graph.dagsp.DagShortestPath;
+import graph.dagsp.PointToPointShortestPath;
+import graph.metrics.BasicMetrics;
+import graph.model.CsrGraph;
+import graph.scc.SCCResult;
+import graph.scc.StronglyConnectedComponents;
+import graph.topo.Dag;
+import graph.topo.ReachabilityIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointToPointShortestPathTest {
+    @Test
+    void intervalLabelsAgreeWithTransitiveClosure() {
+        Dag dag = new Dag(TestGraphs.randomDag(1_500, 2, 11));
+        ReachabilityIndex closure = ReachabilityIndex.closure(dag);
+        ReachabilityIndex intervals = ReachabilityIndex.intervals(dag, 2, 7L);
+        assertTrue(closure.isExact());
+        assertFalse(intervals.isExact());
+        Random random = new Random(3);
+        for (int i = 0; i < 20_000; i++) {
+            int u = random.nextInt(dag.vertexCount());
+            int v = random.nextInt(dag.vertexCount());
+            boolean expected = closure.reaches(u, v);
+            assertEquals(expected, intervals.reaches(u, v), u + " -> " + v);
+            if (expected) {
+                assertTrue(intervals.mayReach(u, v));
+            }
+        }
+    }
+
+    @Test
+    void matchesFullShortestPaths() {
+        Dag dag = new Dag(TestGraphs.randomDag(2_000, 4, 5));
+        BasicMetrics metrics = new BasicMetrics();
+        PointToPointShortestPath engine = new PointToPointShortestPath(dag, ReachabilityIndex.intervals(dag, 3, 1L), metrics);
+        int[] buffer = new int[dag.vertexCount()];
+        Random random = new Random(9);
+        for (int i = 0; i < 50; i++) {
+            int source = random.nextInt(dag.vertexCount());
+            DagShortestPath.ShortestPathResult full = DagShortestPath.shortestPaths(dag, source, new BasicMetrics());
+            for (int j = 0; j < 40; j++) {
+                int target = random.nextInt(dag.vertexCount());
+                assertEquals(full.distances()[target], engine.distance(source, target));
+                List<Integer> expected = full.buildPath(target);
+                int length = engine.copyPath(source, target, buffer);
+                assertEquals(expected.size(), length);
+                for (int k = 0; k < length; k++) {
+                    assertEquals(expected.get(k), buffer[k]);
+                }
+            }
+        }
+        assertEquals(4_000, metrics.getCounter(PointToPointShortestPath.COUNTER_QUERIES));
+        assertTrue(metrics.getCounter(PointToPointShortestPath.COUNTER_INDEX_REJECTS) > 0);
+    }
+
+    @Test
+    void answersVertexQueriesThroughComponents() {
+        CsrGraph graph = new CsrGraph.Builder()
+                .addEdge(0, 1, 1)
+                .addEdge(1, 0, 1)
+                .addEdge(1, 2, 5)
+                .addEdge(0, 2, 3)
+                .addEdge(2, 3, 2)
+                .addEdge(4, 3, 1)
+                .build(5);
+        SCCResult scc = StronglyConnectedComponents.compute(graph, new BasicMetrics());
+        BasicMetrics metrics = new BasicMetrics();
+        PointToPointShortestPath engine = PointToPointShortestPath.forComponents(graph, scc, metrics);
+        int[] componentOf = scc.componentOf();
+
+        assertEquals(5.0, engine.vertexDistance(1, 3));
+        assertEquals(0.0, engine.vertexDistance(0, 1));
+        assertArrayEquals(new int[]{componentOf[0], componentOf[2], componentOf[3]}, engine.vertexPath(1, 3));
+        assertEquals(Double.POSITIVE_INFINITY, engine.vertexDistance(3, 0));
+        assertEquals(Double.POSITIVE_INFINITY, engine.vertexDistance(4, 2));
+        assertArrayEquals(new int[0], engine.vertexPath(4, 0));
+        assertEquals(3, metrics.getCounter(PointToPointShortestPath.COUNTER_INDEX_REJECTS));
+    }
+}
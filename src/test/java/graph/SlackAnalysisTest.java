@@ -0,0 +1,117 @@
+package graph;
+
+import graph.dagsp.DagShortestPath;
+import graph.dagsp.DagShortestPath.CriticalPathResult;
+import graph.dagsp.SlackAnalysis;
+import graph.metrics.BasicMetrics;
+import graph.model.CsrGraph;
+import graph.topo.Dag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlackAnalysisTest {
+    @Test
+    void computesEarliestLatestAndSlack() {
+        // 0 -> 1 -> 3 is critical (5 + 4); 0 -> 2 -> 3 has 9 - 3 = 6 units of slack.
+        Dag dag = new Dag(new CsrGraph.Builder()
+                .addEdge(0, 1, 5)
+                .addEdge(0, 2, 1)
+                .addEdge(1, 3, 4)
+                .addEdge(2, 3, 2)
+                .addEdge(4, 2, 1)
+                .build(5));
+        SlackAnalysis analysis = SlackAnalysis.compute(dag, new BasicMetrics());
+
+        assertEquals(9.0, analysis.projectLength());
+        assertEquals(1.0, analysis.earliest(2));
+        assertEquals(7.0, analysis.latest(2));
+        assertEquals(6.0, analysis.slack(2));
+        assertEquals(6.0, analysis.slack(4));
+        assertArrayEquals(new int[]{0, 1, 3}, analysis.nearCritical(0.0));
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, analysis.nearCritical(6.0));
+        int edge02 = dag.edgeStart(0) + 1;
+        assertEquals(6.0, analysis.edgeSlack(0, edge02));
+
+        SlackAnalysis.RankedPaths paths = analysis.longestPaths(10, new BasicMetrics());
+        assertEquals(3, paths.size());
+        assertEquals(new CriticalPathResult(9.0, List.of(0, 1, 3)), paths.get(0));
+        assertArrayEquals(new int[]{0, 1, 3}, paths.path(0));
+        // Equal lengths come in no particular order.
+        assertEquals(Set.of(new CriticalPathResult(3.0, List.of(0, 2, 3)), new CriticalPathResult(3.0, List.of(4, 2, 3))),
+                Set.of(paths.get(1), paths.get(2)));
+    }
+
+    @Test
+    void enumeratesPathsInOrderLikeBruteForce() {
+        Random random = new Random(21);
+        for (int round = 0; round < 20; round++) {
+            int n = 6 + random.nextInt(10);
+            CsrGraph.Builder builder = new CsrGraph.Builder();
+            Set<Long> edges = new HashSet<>();
+            for (int i = 0; i < 2 * n; i++) {
+                int u = random.nextInt(n);
+                int v = random.nextInt(n);
+                if (u != v && edges.add((long) Math.min(u, v) * n + Math.max(u, v))) {
+                    builder.addEdge(Math.min(u, v), Math.max(u, v), random.nextInt(6));
+                }
+            }
+            Dag dag = new Dag(builder.build(n));
+            List<Double> expected = allPathLengths(dag);
+            expected.sort((a, b) -> Double.compare(b, a));
+
+            SlackAnalysis analysis = SlackAnalysis.compute(dag, new BasicMetrics());
+            assertEquals(DagShortestPath.longestPath(dag, new BasicMetrics()).length(), analysis.projectLength());
+            SlackAnalysis.RankedPaths paths = analysis.longestPaths(expected.size() + 5, new BasicMetrics());
+            assertEquals(expected.size(), paths.size());
+            Set<List<Integer>> seen = new HashSet<>();
+            for (int i = 0; i < paths.size(); i++) {
+                CriticalPathResult path = paths.get(i);
+                assertEquals(expected.get(i), paths.length(i), 1e-9);
+                assertEquals(path.length(), pathLength(dag, path.path()), 1e-9);
+                assertTrue(seen.add(path.path()));
+                assertEquals(0, dag.indegrees()[path.path().get(0)]);
+                assertEquals(0, dag.outDegree(path.path().get(path.path().size() - 1)));
+            }
+            for (int v : paths.path(0)) {
+                assertEquals(0.0, analysis.slack(v), 1e-9);
+            }
+        }
+    }
+
+    private static List<Double> allPathLengths(Dag dag) {
+        List<Double> lengths = new ArrayList<>();
+        for (int source : dag.sources()) {
+            collect(dag, source, 0.0, lengths);
+        }
+        return lengths;
+    }
+
+    private static void collect(Dag dag, int vertex, double sofar, List<Double> lengths) {
+        if (dag.outDegree(vertex) == 0) {
+            lengths.add(sofar);
+            return;
+        }
+        for (int e = dag.edgeStart(vertex); e < dag.edgeEnd(vertex); e++) {
+            collect(dag, dag.target(e), sofar + dag.weight(e), lengths);
+        }
+    }
+
+    private static double pathLength(Dag dag, List<Integer> path) {
+        double total = 0;
+        for (int i = 0; i + 1 < path.size(); i++) {
+            for (int e = dag.edgeStart(path.get(i)); e < dag.edgeEnd(path.get(i)); e++) {
+                if (dag.target(e) == path.get(i + 1)) {
+                    total += dag.weight(e);
+                }
+            }
+        }
+        return total;
+    }
+}
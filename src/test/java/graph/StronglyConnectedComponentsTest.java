@@ -33,4 +33,45 @@ class StronglyConnectedComponentsTest {
         List<Integer> topoOrder = TopologicalSorter.sort(result.condensationGraph(), new BasicMetrics());
         assertEquals(3, topoOrder.size());
     }
+
+    @Test
+    void handlesLongChainsWithoutRecursion() {
+        int n = 500_000;
+        WeightedDirectedGraph chain = new WeightedDirectedGraph(n);
+        for (int v = 0; v + 1 < n; v++) {
+            chain.addEdge(v, v + 1, 1);
+        }
+
+        SCCResult acyclic = StronglyConnectedComponents.compute(chain, new BasicMetrics());
+        assertEquals(n, acyclic.components().size());
+        assertEquals(n - 1, acyclic.condensationGraph().edgeCount());
+
+        chain.addEdge(n - 1, 0, 1);
+        SCCResult cycle = StronglyConnectedComponents.compute(chain, new BasicMetrics());
+        assertEquals(1, cycle.components().size());
+        assertEquals(n, cycle.components().get(0).size());
+    }
+
+    @Test
+    void emitsComponentsInTarjanOrder() {
+        WeightedDirectedGraph graph = new WeightedDirectedGraph(5);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(2, 0, 1);
+        graph.addEdge(2, 3, 1);
+        graph.addEdge(3, 4, 1);
+
+        SCCResult result = StronglyConnectedComponents.compute(graph, new BasicMetrics());
+        assertEquals(List.of(List.of(4), List.of(3), List.of(2, 1, 0)), result.components());
+        assertArrayEquals(new int[]{2, 2, 2, 1, 0}, result.componentOf());
+        assertArrayEquals(new int[]{0, 1, 2, 5}, result.componentStart());
+        assertArrayEquals(new int[]{4, 3, 2, 1, 0}, result.members());
+        assertArrayEquals(new int[]{2, 1, 0}, result.membersOf(2));
+        assertEquals(3, result.componentSize(2));
+
+        SCCResult canonical = StronglyConnectedComponents.canonical(graph.freeze(), result);
+        assertEquals(List.of(List.of(0, 1, 2), List.of(3), List.of(4)), canonical.components());
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, TopologicalSorter.expandOrder(new int[]{0, 1, 2}, canonical));
+        assertArrayEquals(new int[]{2, 1, 0, 3, 4}, TopologicalSorter.expandOrder(new int[]{2, 1, 0}, result));
+    }
 }
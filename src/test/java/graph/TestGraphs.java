@@ -0,0 +1,23 @@
+package graph;
+
+import graph.gen.Distribution;
+import graph.gen.GeneratorSpec;
+import graph.gen.GraphGenerator;
+import graph.model.CsrGraph;
+
+/**
+ * Seeded fixtures shared by the tests.
+ */
+final class TestGraphs {
+    private TestGraphs() {
+    }
+
+    /**
+     * Generated DAG with shuffled ids: singleton clusters leave only edges to later levels.
+     */
+    static CsrGraph randomDag(int vertices, double averageDegree, long seed) {
+        return GraphGenerator.generate(GeneratorSpec.defaults(vertices, seed)
+                .withClusterSizes(Distribution.constant(1))
+                .withAverageDegree(averageDegree));
+    }
+}
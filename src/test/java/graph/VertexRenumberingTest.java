@@ -0,0 +1,75 @@
+package graph;
+
+import graph.dagsp.DagShortestPath;
+import graph.dagsp.DagShortestPath.ShortestPathResult;
+import graph.gen.GeneratorSpec;
+import graph.gen.GraphGenerator;
+import graph.metrics.BasicMetrics;
+import graph.model.CsrGraph;
+import graph.model.VertexRenumbering;
+import graph.scc.SCCResult;
+import graph.scc.StronglyConnectedComponents;
+import graph.topo.Dag;
+import graph.topo.TopologicalSorter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VertexRenumberingTest {
+    @Test
+    void relabelsEdgesAndKeepsBothPermutations() {
+        CsrGraph graph = new CsrGraph.Builder()
+                .addEdge(3, 1, 1)
+                .addEdge(3, 0, 2)
+                .addEdge(1, 2, 3)
+                .build(4);
+        VertexRenumbering renumbering = VertexRenumbering.of(graph, new int[]{3, 1, 0, 2});
+
+        assertArrayEquals(new int[]{2, 1, 3, 0}, renumbering.newId());
+        assertArrayEquals(new int[]{3, 1, 0, 2}, renumbering.originalId());
+        CsrGraph renumbered = renumbering.graph();
+        assertArrayEquals(new int[]{0, 2, 3, 3, 3}, renumbered.offsets());
+        assertArrayEquals(new int[]{1, 2, 3}, renumbered.targets());
+        assertArrayEquals(new double[]{1, 2, 3}, renumbered.weights());
+        assertArrayEquals(new int[]{3, 1, 2}, renumbering.toOriginal(new int[]{0, 1, 3}));
+        assertEquals(List.of(3, 1, 2), renumbering.toOriginal(List.of(0, 1, 3)));
+        assertThrows(IllegalArgumentException.class, () -> VertexRenumbering.of(graph, new int[]{0, 1, 1, 2}));
+    }
+
+    @Test
+    void mapsResultsBackToOriginalIds() {
+        CsrGraph graph = GraphGenerator.generate(GeneratorSpec.defaults(5_000, 22));
+        SCCResult expected = StronglyConnectedComponents.canonical(graph, StronglyConnectedComponents.compute(graph, new BasicMetrics()));
+        for (VertexRenumbering renumbering : List.of(VertexRenumbering.breadthFirst(graph), VertexRenumbering.reverseCuthillMcKee(graph))) {
+            assertEquals(graph.edgeCount(), renumbering.graph().edgeCount());
+            SCCResult mapped = StronglyConnectedComponents.compute(renumbering.graph(), new BasicMetrics()).toOriginal(renumbering);
+            assertEquals(expected.components(), StronglyConnectedComponents.canonical(graph, mapped).components());
+            for (int c = 0; c < mapped.componentCount(); c++) {
+                for (int v : mapped.membersOf(c)) {
+                    assertEquals(c, mapped.componentOf()[v]);
+                }
+            }
+        }
+
+        Dag dag = Dag.of(StronglyConnectedComponents.compute(graph, new BasicMetrics()));
+        VertexRenumbering topological = VertexRenumbering.of(dag, TopologicalSorter.order(dag, new BasicMetrics()));
+        Dag renumbered = new Dag(topological.graph());
+        int source = dag.vertexCount() - 1;
+        ShortestPathResult direct = DagShortestPath.shortestPaths(dag, source, new BasicMetrics());
+        ShortestPathResult mapped = DagShortestPath.shortestPaths(renumbered, topological.toNew(source), new BasicMetrics())
+                .toOriginal(topological);
+        assertArrayEquals(direct.distances(), mapped.distances());
+        assertEquals(source, mapped.source());
+        for (int v = 0; v < dag.vertexCount(); v++) {
+            List<Integer> path = mapped.buildPath(v);
+            if (!path.isEmpty()) {
+                assertEquals(source, path.get(0));
+                assertEquals(v, path.get(path.size() - 1));
+            }
+        }
+        assertEquals(DagShortestPath.longestPath(dag, new BasicMetrics()).length(),
+                DagShortestPath.longestPath(renumbered, new BasicMetrics()).toOriginal(topological).length());
+    }
+}
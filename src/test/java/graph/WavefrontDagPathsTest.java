@@ -0,0 +1,69 @@
+package graph;
+
+import graph.dagsp.DagShortestPath;
+import graph.dagsp.WavefrontDagPaths;
+import graph.gen.Distribution;
+import graph.gen.GeneratorSpec;
+import graph.gen.GraphGenerator;
+import graph.metrics.BasicMetrics;
+import graph.model.CsrGraph;
+import graph.scc.StronglyConnectedComponents;
+import graph.topo.ParallelTopologicalSorter;
+import graph.topo.TopologicalLayers;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WavefrontDagPathsTest {
+    @Test
+    void layersRespectEveryEdge() {
+        CsrGraph dag = new CsrGraph.Builder()
+                .addEdge(0, 1, 1)
+                .addEdge(0, 2, 1)
+                .addEdge(1, 3, 1)
+                .addEdge(2, 3, 1)
+                .addEdge(4, 3, 1)
+                .build(5);
+        TopologicalLayers layers = ParallelTopologicalSorter.layers(dag, new BasicMetrics());
+        assertArrayEquals(new int[]{0, 4, 1, 2, 3}, layers.order());
+        assertArrayEquals(new int[]{0, 2, 4, 5}, layers.layerStart());
+    }
+
+    @Test
+    void rejectsCycles() {
+        CsrGraph cycle = new CsrGraph.Builder().addEdge(0, 1, 1).addEdge(1, 0, 1).build(2);
+        assertThrows(IllegalStateException.class, () -> ParallelTopologicalSorter.layers(cycle, new BasicMetrics()));
+    }
+
+    @Test
+    void matchesSequentialDpOnWideDags() {
+        GeneratorSpec spec = GeneratorSpec.defaults(60_000, 21)
+                .withDepth(4)
+                .withAverageDegree(3)
+                .withWeights(Distribution.uniform(1, 3), true);
+        CsrGraph dag = StronglyConnectedComponents.compute(GraphGenerator.generate(spec), new BasicMetrics())
+                .condensationGraph().freeze();
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            TopologicalLayers layers = ParallelTopologicalSorter.layers(dag, new BasicMetrics(), pool);
+            assertEquals(dag.vertexCount(), layers.order().length);
+            int[] order = layers.order();
+
+            for (int source : new int[]{order[0], order[order.length / 3], order[order.length - 1]}) {
+                DagShortestPath.ShortestPathResult expected = DagShortestPath.shortestPaths(dag, source, order, new BasicMetrics());
+                DagShortestPath.ShortestPathResult actual = WavefrontDagPaths.shortestPaths(dag, source, layers, new BasicMetrics(), pool);
+                assertArrayEquals(expected.distances(), actual.distances());
+                assertArrayEquals(expected.predecessors(), actual.predecessors());
+            }
+
+            DagShortestPath.CriticalPathResult expected = DagShortestPath.longestPath(dag, order, new BasicMetrics());
+            DagShortestPath.CriticalPathResult actual = WavefrontDagPaths.longestPath(dag, layers, new BasicMetrics(), pool);
+            assertEquals(expected, actual);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}